@@ -0,0 +1,21 @@
+package com.cleanSweep;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Command-line entry point that runs one cleaning mission without the JavaFX window
+ * and prints the run statistics. Properties can be overridden with arguments,
+ * e.g. --clean-sweep.floor-grid-size=512.
+ */
+public class HeadlessSimulation {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(CleanSweepApplication.class)
+                .profiles("headless")
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .run(args)
+                .close();
+    }
+}
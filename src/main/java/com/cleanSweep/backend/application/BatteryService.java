@@ -7,6 +7,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 @Service
 public class BatteryService {
 
@@ -23,6 +27,24 @@ public class BatteryService {
     @Autowired
     private ActivityLogger activityLogger;
 
+    @Getter
+    private double energyConsumed;
+
+    @Getter
+    private int rechargeCount;
+
+    /**
+     * Creates a battery for a standalone world, charged to full capacity.
+     */
+    static BatteryService create(ActivityLogger activityLogger, int lowBatteryThreshold, int fullChargeValue) {
+        BatteryService batteryService = new BatteryService();
+        batteryService.activityLogger = activityLogger;
+        batteryService.lowBatteryThreshold = lowBatteryThreshold;
+        batteryService.fullChargeValue = fullChargeValue;
+        batteryService.init();
+        return batteryService;
+    }
+
     @PostConstruct
     public void init() {
         this.battery = fullChargeValue;  // Initialize after dependency injection is completed
@@ -35,6 +57,7 @@ public class BatteryService {
     public void consumePower(double units) {
         if (battery > units) {
             battery -= units;
+            energyConsumed += units;
             activityLogger.logBatteryUsage(battery);
         } else {
             System.out.println("Battery depleted. Returning to charging station.");
@@ -69,7 +92,26 @@ public class BatteryService {
      */
     public void recharge() {
         battery = fullChargeValue;
+        rechargeCount++;
         activityLogger.logRecharge();
     }
-}
 
+    /**
+     * Writes the battery settings, charge and counters.
+     */
+    void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(lowBatteryThreshold);
+        out.writeInt(fullChargeValue);
+        out.writeDouble(battery);
+        out.writeDouble(energyConsumed);
+        out.writeInt(rechargeCount);
+    }
+
+    void readState(DataInputStream in) throws IOException {
+        lowBatteryThreshold = in.readInt();
+        fullChargeValue = in.readInt();
+        battery = in.readDouble();
+        energyConsumed = in.readDouble();
+        rechargeCount = in.readInt();
+    }
+}
@@ -1,6 +1,6 @@
 package com.cleanSweep.backend.application;
 
-import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorGrid;
 import com.cleanSweep.backend.domain.FloorMap;
 import com.cleanSweep.backend.infrastructure.ActivityLogger;
 import lombok.Getter;
@@ -8,6 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 @Service
 @Getter
 public class DirtService {
@@ -33,16 +37,30 @@ public class DirtService {
 
     private int cleanedDirtCellCount = 0;
 
+    /**
+     * Creates a dirt container for a standalone world.
+     */
+    static DirtService create(SensorSimulatorService sensorSimulatorService, FloorMap floorMap,
+                              BatteryService batteryService, ActivityLogger activityLogger, int dirtCapacity) {
+        DirtService dirtService = new DirtService();
+        dirtService.sensorSimulatorService = sensorSimulatorService;
+        dirtService.floorMap = floorMap;
+        dirtService.batteryService = batteryService;
+        dirtService.activityLogger = activityLogger;
+        dirtService.dirtCapacity = dirtCapacity;
+        return dirtService;
+    }
+
     /**
      * Cleans dirt at the specified coordinates if dirt is present and capacity allows.
      */
     public void cleanDirt(int x, int y) {
-        Cell cell = floorMap.getCells()[x][y];
-        int dirtLevel = cell.getDirtLevel();
+        FloorGrid grid = floorMap.getGrid();
+        int dirtLevel = grid.getDirtLevel(x, y);
 
         if (dirtLevel > 0 && currentCapacity < dirtCapacity) {
             // Reduce dirt
-            cell.reduceDirtLevel();  // Clean up dirt
+            grid.setDirtLevel(x, y, 0);  // Clean up dirt
             currentCapacity++;
             cleanedDirtCellCount++;
             activityLogger.logCleaning(x, y);
@@ -94,6 +112,21 @@ public class DirtService {
     public boolean isDirtPresent(int x, int y) {
         return sensorSimulatorService.isDirtPresent(x, y);
     }
-}
 
+    /**
+     * Writes the container capacity, load, mode and cleaned cell count.
+     */
+    void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(dirtCapacity);
+        out.writeInt(currentCapacity);
+        out.writeInt(mode);
+        out.writeInt(cleanedDirtCellCount);
+    }
 
+    void readState(DataInputStream in) throws IOException {
+        dirtCapacity = in.readInt();
+        currentCapacity = in.readInt();
+        mode = in.readInt();
+        cleanedDirtCellCount = in.readInt();
+    }
+}
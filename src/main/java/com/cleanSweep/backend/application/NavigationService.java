@@ -1,57 +1,47 @@
 package com.cleanSweep.backend.application;
 
-import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.application.coverage.CoverageMode;
+import com.cleanSweep.backend.application.pathfinding.CellInts;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.IncrementalStationPlanner;
+import com.cleanSweep.backend.application.pathfinding.PathEngineType;
+import com.cleanSweep.backend.application.pathfinding.PathPlanner;
+import com.cleanSweep.backend.application.pathfinding.PathPlannerType;
+import com.cleanSweep.backend.application.pathfinding.PlanningMemory;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import com.cleanSweep.backend.domain.FloorGrid;
 import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
 import com.cleanSweep.backend.common.Direction;
 import com.cleanSweep.backend.infrastructure.ActivityLogger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayDeque;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
- * This service implements a modified DFS (Depth-First Search) algorithm for robot navigation
- * combined with Dijkstra's algorithm for finding optimal paths to charging stations.
+ * This service implements a modified DFS (Depth-First Search) algorithm for robot navigation,
+ * or follows a precomputed boustrophedon coverage tour when configured, combined with a
+ * shortest-path engine (Dial's bucket queue by default, Dijkstra's algorithm as reference)
+ * for finding optimal paths to charging stations.
  * It handles the robot's movement, cleaning operations, and charging station navigation
  * while maintaining efficient path planning and battery management.
  */
 
-/**
- * Helper class to store coordinates and minimum distance
- */
-class Node {
-    double dist;
-    int x;
-    int y;
-
-    public Node(double dist, int x, int y) {
-        this.dist = dist;
-        this.x = x;
-        this.y = y;
-    }
-}
-
-/**
- * Helper class to store coordinates for path reconstruction.
- */
-class Point {
-    int x, y;
-
-    Point(int x, int y) {
-        this.x = x;
-        this.y = y;
-    }
-}
-
 @Service
 public class NavigationService {
 
+    // Upper bound on the planning state per cell: cost grid, station field, repair and
+    // search scratch, DFS stack and coverage planner scratch
+    private static final long PLANNING_BYTES_PER_CELL = 64;
+    private static final long PLANNING_SLACK_BYTES = 16L << 20; // room for a partly used page per structure
+
     @Autowired
     private FloorMap floorMap;
 
@@ -67,7 +57,29 @@ public class NavigationService {
     @Autowired
     private ActivityLogger activityLogger;
 
-    private Deque<Cell[]> stack = new ArrayDeque<>();
+    @Value("${clean-sweep.navigation.path-engine:bucket-queue}")
+    private PathEngineType pathEngine = PathEngineType.BUCKET_QUEUE;
+
+    @Value("${clean-sweep.navigation.coverage:dfs}")
+    private CoverageMode coverageMode = CoverageMode.DFS;
+
+    @Value("${clean-sweep.navigation.path-planner:astar}")
+    private PathPlannerType pathPlannerType = PathPlannerType.ASTAR;
+
+    @Value("${clean-sweep.navigation.cluster-size:32}")
+    private int clusterSize = 32;
+
+    // DFS stack of packed cell indices. Each cell was entered from the one below it; the
+    // bottom cell was entered from stackBase, which is -1 at the start.
+    private CellInts stack = PlanningMemory.heap().ints(0, 0);
+    private int stackSize;
+    private int stackBase = -1;
+    private int[] tour;
+    private int tourIdx;
+    private CostGrid costGrid;
+    private StationDistanceField distanceField;
+    private IncrementalStationPlanner incrementalPlanner;
+    private PathPlanner pathPlanner;
     private List<int[]> stationPath = new ArrayList<>();
     private int stationIdx;
 
@@ -78,6 +90,21 @@ public class NavigationService {
     private int lastCleaningX;
     private int lastCleaningY;
     private boolean isReturningFromStation = false;
+    private long moveCount;
+
+    /**
+     * Creates a navigator for a standalone world, using the default planners.
+     */
+    static NavigationService create(FloorMap floorMap, DirtService dirtService, BatteryService batteryService,
+                                    SensorSimulatorService sensorSimulatorService, ActivityLogger activityLogger) {
+        NavigationService navigationService = new NavigationService();
+        navigationService.floorMap = floorMap;
+        navigationService.dirtService = dirtService;
+        navigationService.batteryService = batteryService;
+        navigationService.sensorSimulatorService = sensorSimulatorService;
+        navigationService.activityLogger = activityLogger;
+        return navigationService;
+    }
 
     /**
      * Initializes the navigation process from a starting position.
@@ -85,16 +112,20 @@ public class NavigationService {
      * operation.
      */
     public void startNavigation(int startX, int startY) {
-        if (!isNavigationCompleted && stack.isEmpty()) {
+        if (!isNavigationCompleted && stackSize == 0) {
             startX = 0;
             startY = 0;
 
             // Initialize paths from all charging stations before starting navigation
-            initializeAllPaths();
+            initializeAllPaths(createPlanningMemory());
+            if (coverageMode != CoverageMode.DFS) {
+                tour = coverageMode.createPlanner().planTour(costGrid, costGrid.index(startX, startY));
+                tourIdx = 0;
+            }
 
-            Cell startCell = floorMap.getCells()[startX][startY];
-            stack.push(new Cell[] { null, startCell });
-            startCell.setVisited(true);
+            stack = costGrid.getMemory().ints(costGrid.size(), 0);
+            pushMove(-1, costGrid.index(startX, startY));
+            floorMap.getGrid().setVisited(startX, startY, true);
 
             currentX = startX;
             currentY = startY;
@@ -102,40 +133,6 @@ public class NavigationService {
         }
     }
 
-    /**
-     * Initializes the shortest paths from a charging station to all cells using
-     * BFS.
-     * This method is used to pre-compute paths for efficient navigation.
-     */
-    public void initializeWayToChargingStation(int startX, int startY) {
-        Cell startCell = floorMap.getCells()[startX][startY];
-        List<int[]> startPath = new ArrayList<>();
-        startPath.add(new int[] { startX, startY });
-        startCell.setWayToChargingStation(startPath);
-        boolean[][] visit = new boolean[floorMap.getCells().length][floorMap.getCells()[0].length];
-        visit[startX][startY] = true;
-        Deque<Cell> queue = new ArrayDeque<>();
-        queue.add(startCell);
-        while (!queue.isEmpty()) {
-            Cell cell = queue.poll();
-            int x = cell.getX();
-            int y = cell.getY();
-            List<int[]> path = cell.getWayToChargingStation();
-            for (Direction direction : Direction.values()) {
-                int newX = x + direction.getXOffset();
-                int newY = y + direction.getYOffset();
-                if (isValidMove(newX, newY) && !visit[newX][newY] && !sensorSimulatorService.isObstacle(newX, newY)) {
-                    Cell neighborCell = floorMap.getCells()[newX][newY];
-                    visit[newX][newY] = true;
-                    List<int[]> newPath = new ArrayList<>(path);
-                    newPath.add(new int[] { newX, newY });
-                    neighborCell.setWayToChargingStation(newPath);
-                    queue.add(neighborCell);
-                }
-            }
-        }
-    }
-
     /**
      * Handles the robot's movement to and from charging stations.
      * Manages charging, dirt removal, and return path navigation.
@@ -152,13 +149,11 @@ public class NavigationService {
         
         // Reduce the battery if the current cell is not the lastest cell because the lastest cell is overlapped
         if (currentX != lastCleaningX || currentY != lastCleaningY) {
-            Cell currentCell = floorMap.getCells()[currentX][currentY];
-            Cell previousCell = null;
+            double movingPowerCost = 0;
             if (stationIdx > 0) {
                 int[] preCell = stationPath.get(stationIdx - 1);
-                previousCell = floorMap.getCells()[preCell[0]][preCell[1]];
+                movingPowerCost = sensorSimulatorService.getMovingPowerCost(preCell[0], preCell[1], currentX, currentY);
             }
-            double movingPowerCost = sensorSimulatorService.getMovingPowerCost(previousCell, currentCell);
             batteryService.consumePower(movingPowerCost);
         }
 
@@ -170,17 +165,19 @@ public class NavigationService {
             dirtService.removeDirt();
             batteryService.recharge();
 
-            if (stack.isEmpty()) {
+            if (stackSize == 0) {
                 isNavigationCompleted = true;
                 stationPath = null;
                 stationIdx = 0;
             } else {
                 // Prepare to return to the final cleaning location
                 dirtService.setCleaningMode();
-                Cell lastCleaningCell = floorMap.getCells()[lastCleaningX][lastCleaningY];
-                stationPath = new ArrayList<>(lastCleaningCell.getWayToChargingStation());
+                stationPath = findPath(currentX, currentY, lastCleaningX, lastCleaningY);
                 stationIdx = 0;
                 isReturningFromStation = true;
+                if (stationPath == null) {
+                    stopStranded("Cleaning position unreachable, navigation stopped");
+                }
             }
         } else if (isReturningFromStation && currentX == lastCleaningX && currentY == lastCleaningY) {
             // Returned to the last cleaning position
@@ -197,11 +194,17 @@ public class NavigationService {
      * or handle charging station navigation.
      */
     public void stepNavigation() {
+        activityLogger.setStep(moveCount);
+        int previousX = currentX;
+        int previousY = currentY;
         if (stationPath != null && !stationPath.isEmpty()) {
             stationNavigation();
         } else if (dirtService.isCleaningActive()) {
             cleaningNavigation();
         }
+        if (currentX != previousX || currentY != previousY) {
+            moveCount++;
+        }
     }
 
     /**
@@ -210,102 +213,183 @@ public class NavigationService {
      * stations.
      */
     private void cleaningNavigation() {
-        if (stack.isEmpty() || isNavigationCompleted) {
+        if (stackSize == 0 || isNavigationCompleted) {
             return;
         }
 
-        Cell[] cellPair = stack.peek();
-        Cell previousCell = cellPair[0]; // This could be null
-        Cell currentCell = cellPair[1];
-        currentX = currentCell.getX();
-        currentY = currentCell.getY();
+        FloorGrid grid = floorMap.getGrid();
+        int cols = grid.getCols();
+        int previousCell = previousOnStack(stackSize - 1); // This could be -1
+        int currentCell = stack.get(stackSize - 1);
+        currentX = currentCell / cols;
+        currentY = currentCell % cols;
 
         if (sensorSimulatorService.isObstacle(currentX, currentY)) {
             activityLogger.logObstacle(currentX, currentY);
-            stack.pop();
+            stackSize--;
+            if (tour != null && previousCell != -1) {
+                // The tour keeps only the current move, so carry on along the tour from the previous cell
+                currentX = previousCell / cols;
+                currentY = previousCell % cols;
+                int nextCell = getNextTourCell();
+                if (nextCell != -1) {
+                    pushMove(previousCell, nextCell);
+                    grid.setVisited(nextCell / cols, nextCell % cols, true);
+                } else {
+                    finishTraversal();
+                }
+            }
             return;
         }
 
-        double movingPowerCost = sensorSimulatorService.getMovingPowerCost(previousCell, currentCell);
-        double cleaningPowerCost = sensorSimulatorService.getCleaningPowerCost(currentCell);
+        double movingPowerCost = previousCell == -1 ? 0
+                : sensorSimulatorService.getMovingPowerCost(previousCell / cols, previousCell % cols, currentX, currentY);
+        double cleaningPowerCost = sensorSimulatorService.getCleaningPowerCost(currentX, currentY);
         batteryService.consumePower(movingPowerCost + cleaningPowerCost);
 
-        if (currentCell.getDirtLevel() > 0) {
+        if (grid.getDirtLevel(currentX, currentY) > 0) {
             dirtService.cleanDirt(currentX, currentY);
         }
 
         boolean isCleanAll = sensorSimulatorService.isCleanAll(dirtService.getCleanedDirtCellCount());
 
         // Check if returning to the charging station is needed
-        if (isCleanAll || dirtService.isFullDirt() || batteryService.isRechargeNeeded(currentCell.getDistanceToStation())) {
+        if (isCleanAll || dirtService.isFullDirt() || batteryService.isRechargeNeeded(getDistanceToStation(currentX, currentY))) {
             // Store the last cleaning position
             lastCleaningX = currentX;
             lastCleaningY = currentY;
             // If all dirts cells are cleaned, robot stops cleaning and comes back the best station
             if (isCleanAll){
-                stack.clear();
+                stackSize = 0;
             }
             dirtService.stopCleaningMode();
-            if (currentCell.getWayToChargingStation() != null) {
-                stationPath = new ArrayList<>(currentCell.getWayToChargingStation());
-                Collections.reverse(stationPath); // Reverse the path to reach the charging station
-                stationIdx = 0;
-                isReturningFromStation = false;
-                return;
-            }
+            startStationTrip();
+            return;
         }
 
         activityLogger.logMovement(currentX, currentY, "Visiting");
 
-        Cell nextCell = getNeighborCell();
-        if (nextCell != null) {
-            stack.push(new Cell[] { currentCell, nextCell });
-            nextCell.setVisited(true);
-        } else {
-            stack.pop();
-        }
-
-        if (stack.isEmpty()) {
-            if (!isAtAnyChargingStation()) {
-                lastCleaningX = currentX;
-                lastCleaningY = currentY;
-                dirtService.stopCleaningMode();
-                if (currentCell.getWayToChargingStation() != null) {
-                    stationPath = new ArrayList<>(currentCell.getWayToChargingStation());
-                    Collections.reverse(stationPath);
-                    stationIdx = 0;
-                    isReturningFromStation = false;
-                }
-            } else {
-                activityLogger.logMovement(currentX, currentY, "All cells visited, navigation completed");
-                isNavigationCompleted = true;
+        int nextCell = tour != null ? getNextTourCell() : getNeighborCell();
+        if (nextCell != -1) {
+            if (tour != null) {
+                stackSize--; // The tour already contains the backtracking moves, so only the current move is kept
             }
+            pushMove(currentCell, nextCell);
+            grid.setVisited(nextCell / cols, nextCell % cols, true);
+        } else {
+            stackSize--;
+        }
+
+        if (stackSize == 0) {
+            finishTraversal();
+        }
+    }
+
+    /**
+     * Ends the traversal once every reachable cell was visited: the robot heads for a
+     * station, or completes the mission if it is already at one.
+     */
+    private void finishTraversal() {
+        if (!isAtAnyChargingStation()) {
+            lastCleaningX = currentX;
+            lastCleaningY = currentY;
+            dirtService.stopCleaningMode();
+            startStationTrip();
+        } else {
+            activityLogger.logMovement(currentX, currentY, "All cells visited, navigation completed");
+            isNavigationCompleted = true;
+        }
+    }
+
+    /**
+     * Starts a trip from the current cell to the nearest charging station. If no
+     * station can be reached any more, the robot stops where it is.
+     */
+    private void startStationTrip() {
+        stationPath = distanceField.pathToStation(currentX, currentY);
+        stationIdx = 0;
+        isReturningFromStation = false;
+        if (stationPath == null) {
+            stopStranded("No charging station reachable, navigation stopped");
         }
     }
 
+    /**
+     * Ends the mission because obstacles cut the robot off from where it has to go.
+     */
+    private void stopStranded(String reason) {
+        activityLogger.logMovement(currentX, currentY, reason);
+        stationPath = null;
+        stationIdx = 0;
+        isReturningFromStation = false;
+        isNavigationCompleted = true;
+    }
+
+    /**
+     * Pushes a move onto the DFS stack. Apart from the bottom entry, the previous cell
+     * must be the cell on top of the stack.
+     */
+    private void pushMove(int previousCell, int cell) {
+        if (stackSize == 0) {
+            stackBase = previousCell;
+        }
+        stack.set(stackSize++, cell);
+    }
+
+    /**
+     * Returns the cell the robot entered the i-th stack entry from, or -1 at the start.
+     */
+    private int previousOnStack(int i) {
+        return i == 0 ? stackBase : stack.get(i - 1);
+    }
+
     /**
      * Finds an unvisited neighboring cell for DFS navigation.
-     * Returns null if no valid neighbors are available.
+     * Returns the packed index of the cell, or -1 if no valid neighbors are available.
      */
-    private Cell getNeighborCell() {
+    private int getNeighborCell() {
+        FloorGrid grid = floorMap.getGrid();
         for (Direction direction : Direction.values()) {
             int newX = currentX + direction.getXOffset();
             int newY = currentY + direction.getYOffset();
-            if (isValidMove(newX, newY)) {
-                Cell neighborCell = floorMap.getCells()[newX][newY];
-                if (!neighborCell.isVisited() && !sensorSimulatorService.isObstacle(newX, newY)) {
-                    return neighborCell;
+            if (grid.contains(newX, newY)) {
+                if (!grid.isVisited(newX, newY) && !sensorSimulatorService.isObstacle(newX, newY)) {
+                    return newX * grid.getCols() + newY;
                 }
             }
         }
-        return null;
+        return -1;
     }
 
     /**
-     * Validates if a move to the specified coordinates is within bounds.
+     * Returns the next cell of the precomputed coverage tour, or -1 when the tour is done.
+     * Cells that became obstacles are skipped, and the gap they leave is bridged with
+     * a detour from the point-to-point planner.
      */
-    private boolean isValidMove(int x, int y) {
-        return x >= 0 && y >= 0 && x < floorMap.getCells().length && y < floorMap.getCells()[0].length;
+    private int getNextTourCell() {
+        int here = costGrid.index(currentX, currentY);
+        while (++tourIdx < tour.length) {
+            int next = tour[tourIdx];
+            if (costGrid.isBlocked(next) || next == here) {
+                continue;
+            }
+            int distance = Math.abs(next / costGrid.getCols() - currentX)
+                    + Math.abs(next % costGrid.getCols() - currentY);
+            if (distance == 1) {
+                return next;
+            }
+            int[] detour = pathPlanner.findPath(here, next);
+            if (detour != null && detour.length > 2) {
+                // Insert the intermediate detour cells in front of the next tour cell
+                int[] spliced = new int[tour.length + detour.length - 2];
+                System.arraycopy(tour, 0, spliced, 0, tourIdx);
+                System.arraycopy(detour, 1, spliced, tourIdx, detour.length - 2);
+                System.arraycopy(tour, tourIdx, spliced, tourIdx + detour.length - 2, tour.length - tourIdx);
+                tour = spliced;
+                return tour[tourIdx];
+            }
+        }
+        return -1;
     }
 
     /**
@@ -315,6 +399,13 @@ public class NavigationService {
         return new int[] { currentX, currentY };
     }
 
+    /**
+     * Returns the number of steps in which the robot changed cells.
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
     /**
      * Checks if the navigation process is completed.
      */
@@ -323,148 +414,236 @@ public class NavigationService {
     }
 
     /**
-     * Initializes optimal paths from all charging stations to all cells
-     * using Dijkstra's algorithm.
+     * Returns the cost of the cheapest route from a cell to a charging station,
+     * or 0 if no station is reachable or navigation has not started.
      */
-    private void initializeAllPaths() {
-        // Find paths from all charging stations and update each cell with the shortest
-        // path
-        List<int[]> chargingStations = findAllChargingStations();
-        for (Cell[] row : floorMap.getCells()) {
-            for (Cell cell : row) {
-                List<int[]> shortestPath = null;
-                double shortestDistance = Double.MAX_VALUE;
-
-                // Find shortest path from each charging station
-                for (int[] station : chargingStations) {
-                    Object[] pathFromStationAndDistance = findPathWithLowestPower(station[0], station[1], cell.getX(),
-                            cell.getY());
-                    @SuppressWarnings("unchecked")
-                    List<int[]> pathFromStation = (List<int[]>) pathFromStationAndDistance[0];
-                    double distance = (double) pathFromStationAndDistance[1];
-                    if (pathFromStation != null && distance < shortestDistance) {
-                        shortestDistance = distance;
-                        shortestPath = pathFromStation;
-                    }
-                }
+    public double getDistanceToStation(int x, int y) {
+        if (distanceField == null || !distanceField.isReachable(x, y)) {
+            return 0;
+        }
+        return distanceField.getDistance(x, y);
+    }
 
-                if (shortestPath != null) {
-                    cell.setWayToChargingStation(shortestPath);
-                    cell.setDistanceToStation(shortestDistance);
-                }
-            }
+    /**
+     * Chooses where the planning state of a mission lives. With off-heap floor storage it
+     * follows the floor out of the heap: into direct memory, or into a scratch file next
+     * to clean-sweep.floor-map.file if one is set, so that neither the floor nor its
+     * routes count towards the heap and garbage collection pauses do not grow with the map.
+     */
+    private PlanningMemory createPlanningMemory() {
+        if (floorMap.getStorage() != FloorStorage.OFF_HEAP) {
+            return PlanningMemory.heap();
         }
+        String file = floorMap.getStorageFile();
+        if (file == null || file.isBlank()) {
+            return PlanningMemory.direct();
+        }
+        FloorGrid grid = floorMap.getGrid();
+        return PlanningMemory.mapped(Path.of(file + ".planning"),
+                (long) grid.getRows() * grid.getCols() * PLANNING_BYTES_PER_CELL + PLANNING_SLACK_BYTES);
     }
 
     /**
-     * Returns a list of all charging station coordinates in the floor map.
+     * Initializes optimal paths from all charging stations to all cells
+     * using a single multi-source Dijkstra pass. Only the next step towards the
+     * nearest station is kept per cell; full routes are walked when a trip starts.
      */
-    private List<int[]> findAllChargingStations() {
-        List<int[]> stations = new ArrayList<>();
-        int size = floorMap.getCells().length;
+    private void initializeAllPaths(PlanningMemory memory) {
+        costGrid = CostGrid.of(floorMap, sensorSimulatorService, memory);
+        List<int[]> stations = findAllChargingStations();
+        int[] sources = new int[stations.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = costGrid.index(stations.get(i)[0], stations.get(i)[1]);
+        }
+        distanceField = new StationDistanceField(costGrid.getRows(), costGrid.getCols(), memory);
+        pathEngine.create().compute(costGrid, sources, distanceField);
+        incrementalPlanner = new IncrementalStationPlanner(costGrid, distanceField, sources);
+        pathPlanner = pathPlannerType.create(costGrid, clusterSize);
+    }
 
-        // Add the four corner charging stations
-        stations.add(new int[] { 0, 0 }); // Top-left
-        stations.add(new int[] { 0, size - 1 }); // Top-right
-        stations.add(new int[] { size - 1, 0 }); // Bottom-left
-        stations.add(new int[] { size - 1, size - 1 }); // Bottom-right
+    /**
+     * Applies an obstacle that appeared or disappeared during the run.
+     * Only the part of the station distance field whose routes change is repaired,
+     * and a trip to or from a station is rerouted if the obstacle blocks it.
+     * Returns the number of cells whose route to a station was updated.
+     */
+    public int updateObstacle(int x, int y, boolean isObstacle) {
+        sensorSimulatorService.setObstacle(x, y, isObstacle);
+        if (incrementalPlanner == null) {
+            return 0;
+        }
 
-        return stations;
+        int touchedCells = isObstacle ? incrementalPlanner.addObstacle(x, y) : incrementalPlanner.removeObstacle(x, y);
+        pathPlanner.onCellChanged(costGrid.index(x, y));
+        activityLogger.logObstacleChange(x, y, isObstacle, touchedCells);
+
+        if (isObstacle && isOnRemainingStationPath(x, y)) {
+            rerouteStationPath();
+        }
+        return touchedCells;
     }
 
     /**
-     * Implements Dijkstra's algorithm to find the path with lowest power between
-     * two points.
-     * Avoids obstacles and considers valid moves only.
+     * Checks if the remaining part of the current station trip passes through the given cell.
      */
-    private Object[] findPathWithLowestPower(int startX, int startY, int targetX, int targetY) {
-        int rows = floorMap.getCells().length;
-        int cols = floorMap.getCells()[0].length;
-
-        // Initialize distances and visited array
-        double[][] distances = new double[rows][cols];
-        boolean[][] visited = new boolean[rows][cols];
-        // Change to store parent coordinates as a 2D array of Point objects
-        Point[][] parent = new Point[rows][cols];
-
-        // Initialize distances to infinity
-        for (int i = 0; i < rows; i++) {
-            Arrays.fill(distances[i], Integer.MAX_VALUE);
-        }
-
-        // Priority queue to store cells to visit (distance, x, y)
-        PriorityQueue<Node> pq = new PriorityQueue<>((a, b) -> Double.compare(a.dist, b.dist));
-
-        // Start from charging station
-        distances[startX][startY] = 0;
-        pq.offer(new Node(0, startX, startY));
-        while (!pq.isEmpty()) {
-            Node current = pq.poll();
-            double currentCost = current.dist;
-            int x = current.x;
-            int y = current.y;
-            Cell currentCell = floorMap.getCells()[x][y];
-            if (visited[x][y])
-                continue;
-            visited[x][y] = true;
-            // If we reached the target cell
-            if (x == targetX && y == targetY) {
-                return reconstructPath(parent, startX, startY, targetX, targetY);
+    private boolean isOnRemainingStationPath(int x, int y) {
+        if (stationPath == null) {
+            return false;
+        }
+        for (int i = stationIdx; i < stationPath.size(); i++) {
+            if (stationPath.get(i)[0] == x && stationPath.get(i)[1] == y) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // Check all four directions
-            for (Direction direction : Direction.values()) {
-                int newX = x + direction.getXOffset();
-                int newY = y + direction.getYOffset();
-
-                if (isValidMove(newX, newY) && !visited[newX][newY] && !sensorSimulatorService.isObstacle(newX, newY)) {
-                    Cell nextCell = floorMap.getCells()[newX][newY];
-                    // weight is moving power cost
-                    double newDist = currentCost + sensorSimulatorService.getMovingPowerCost(currentCell, nextCell);
-                    if (newDist < distances[newX][newY]) {
-                        distances[newX][newY] = newDist;
-                        parent[newX][newY] = new Point(x, y); // Store parent coordinates as Point
-                        pq.offer(new Node(newDist, newX, newY));
-                    }
-                }
-            }
+    /**
+     * Rebuilds the current station trip from the robot's position, using the repaired
+     * field towards a station or a point-to-point query back to the cleaning position.
+     * The mission stops if the obstacle leaves no route.
+     */
+    private void rerouteStationPath() {
+        if (!isReturningFromStation) {
+            startStationTrip();
+            return;
+        }
+        stationPath = findPath(currentX, currentY, lastCleaningX, lastCleaningY);
+        stationIdx = 0;
+        if (stationPath == null) {
+            stopStranded("Cleaning position unreachable, navigation stopped");
         }
+    }
 
-        return new Object[] { null, 0.0 }; // No path found
+    /**
+     * Queries the point-to-point planner and converts the route to coordinates.
+     * Returns null if the goal cannot be reached.
+     */
+    private List<int[]> findPath(int startX, int startY, int goalX, int goalY) {
+        int[] route = pathPlanner.findPath(costGrid.index(startX, startY), costGrid.index(goalX, goalY));
+        if (route == null) {
+            return null;
+        }
+        List<int[]> path = new ArrayList<>(route.length);
+        for (int index : route) {
+            path.add(new int[] { index / costGrid.getCols(), index % costGrid.getCols() });
+        }
+        return path;
     }
 
     /**
-     * Reconstructs the path from parent pointers after pathfinding.
+     * Writes the mutable navigation state: position, DFS stack, station trip and tour.
+     * Cells are written as packed indices.
      */
-    private Object[] reconstructPath(Point[][] parent, int startX, int startY, int targetX, int targetY) {
-        List<int[]> path = new ArrayList<>();
-        int currentX = targetX;
-        int currentY = targetY;
-        double distance = 0.0;
-
-        // Build path from target back to start
-        while (currentX != startX || currentY != startY) {
-            path.add(0, new int[] { currentX, currentY });
-            Point p = parent[currentX][currentY];
-            if (p == null) {
-                return null; // No valid path exists
+    void writeState(DataOutputStream out) throws IOException {
+        int cols = floorMap.getGrid().getCols();
+        out.writeBoolean(costGrid != null);
+        out.writeBoolean(isNavigationCompleted);
+        out.writeInt(currentX);
+        out.writeInt(currentY);
+        out.writeInt(lastCleaningX);
+        out.writeInt(lastCleaningY);
+        out.writeBoolean(isReturningFromStation);
+        out.writeLong(moveCount);
+
+        out.writeInt(stackSize);
+        for (int i = 0; i < stackSize; i++) {
+            out.writeInt(previousOnStack(i));
+            out.writeInt(stack.get(i));
+        }
+        out.writeInt(stationPath == null ? -1 : stationPath.size());
+        if (stationPath != null) {
+            for (int[] cell : stationPath) {
+                out.writeInt(cell[0] * cols + cell[1]);
             }
-            Cell curCell = floorMap.getCells()[currentX][currentY];
-            Cell nxtCell = floorMap.getCells()[p.x][p.y];
-            distance = distance + sensorSimulatorService.getMovingPowerCost(curCell, nxtCell);
-            currentX = p.x;
-            currentY = p.y;
+        }
+        out.writeInt(stationIdx);
+        out.writeInt(tour == null ? -1 : tour.length);
+        if (tour != null) {
+            for (int cell : tour) {
+                out.writeInt(cell);
+            }
+        }
+        out.writeInt(tourIdx);
+    }
+
+    /**
+     * Restores the state written by writeState. The floor map and obstacle sensor must
+     * already hold the restored cells; the station distances are recomputed from them.
+     */
+    void readState(DataInputStream in) throws IOException {
+        FloorGrid grid = floorMap.getGrid();
+        int cols = grid.getCols();
+        int cellCount = grid.getRows() * cols;
+        boolean isStarted = in.readBoolean();
+        isNavigationCompleted = in.readBoolean();
+        currentX = in.readInt();
+        currentY = in.readInt();
+        lastCleaningX = in.readInt();
+        lastCleaningY = in.readInt();
+        if (!grid.contains(currentX, currentY) || !grid.contains(lastCleaningX, lastCleaningY)) {
+            throw new IllegalArgumentException("Robot position outside the floor in simulation snapshot");
+        }
+        isReturningFromStation = in.readBoolean();
+        moveCount = in.readLong();
+
+        stackSize = 0;
+        int moves = SimulationSnapshot.readLength(in, 8, false);
+        if (moves > cellCount) {
+            throw new IllegalArgumentException("DFS stack deeper than the floor in simulation snapshot");
+        }
+        PlanningMemory memory = createPlanningMemory();
+        stack = memory.ints(cellCount, 0);
+        for (int i = 0; i < moves; i++) {
+            int previous = SimulationSnapshot.readCell(in, cellCount, true);
+            pushMove(previous, SimulationSnapshot.readCell(in, cellCount, false));
+        }
+        int pathSize = SimulationSnapshot.readLength(in, 4, true);
+        stationPath = pathSize == -1 ? null : new ArrayList<>(pathSize);
+        for (int i = 0; i < pathSize; i++) {
+            int cell = SimulationSnapshot.readCell(in, cellCount, false);
+            stationPath.add(new int[] { cell / cols, cell % cols });
+        }
+        stationIdx = in.readInt();
+        if (stationIdx < 0 || stationIdx > Math.max(pathSize, 0)) {
+            throw new IllegalArgumentException("Invalid station path position in simulation snapshot");
+        }
+        int tourLength = SimulationSnapshot.readLength(in, 4, true);
+        tour = tourLength == -1 ? null : new int[tourLength];
+        for (int i = 0; i < tourLength; i++) {
+            tour[i] = SimulationSnapshot.readCell(in, cellCount, false);
+        }
+        tourIdx = in.readInt();
+        if (tourIdx < 0 || tourIdx > Math.max(tourLength, 0)) {
+            throw new IllegalArgumentException("Invalid tour position in simulation snapshot");
         }
 
-        // Add the starting point
-        path.add(0, new int[] { startX, startY });
-        return new Object[] { path, distance };
+        costGrid = null;
+        if (isStarted) {
+            initializeAllPaths(memory);
+        }
+    }
+
+    /**
+     * Returns a list of all charging station coordinates in the floor map.
+     */
+    private List<int[]> findAllChargingStations() {
+        List<int[]> stations = new ArrayList<>();
+        FloorGrid grid = floorMap.getGrid();
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
+                if (grid.isChargingStation(x, y)) {
+                    stations.add(new int[] { x, y });
+                }
+            }
+        }
+        return stations;
     }
 
     /**
      * Checks if the robot is currently at any charging station.
      */
     private boolean isAtAnyChargingStation() {
-        return floorMap.getCells()[currentX][currentY].isChargingStation();
+        return floorMap.getGrid().isChargingStation(currentX, currentY);
     }
 }
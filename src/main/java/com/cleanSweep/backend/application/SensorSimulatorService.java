@@ -2,22 +2,22 @@ package com.cleanSweep.backend.application;
 
 import com.cleanSweep.backend.domain.FloorMap;
 import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorGrid;
 import com.cleanSweep.backend.common.FloorType;
 import com.cleanSweep.backend.infrastructure.ActivityLogger;
+import com.cleanSweep.backend.infrastructure.FloorPlanLoader;
 import com.cleanSweep.backend.application.interfaces.Sensor;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.util.Random;
 
 @Service
 public class SensorSimulatorService implements Sensor {
 
-    private boolean[][] obstacleGrid;
-    private boolean[][] chargingStationGrid;
-
     @Autowired
     private FloorMap floorMap;
 
@@ -27,39 +27,71 @@ public class SensorSimulatorService implements Sensor {
     @Value("${clean-sweep.floor-grid-size}")
     private int gridSize;
 
+    @Autowired
+    private FloorPlanLoader floorPlanLoader;
+
+    @Value("${clean-sweep.floor-plan:}")
+    private String floorPlanPath;
+
+    @Value("${clean-sweep.seed:#{null}}")
+    private Long seed;
+
     private int numberOfDirtCell;
 
+    private Random random = new Random();
+
+    /**
+     * Creates a sensor for a standalone world, with a seeded generator so that the
+     * floor layout can be reproduced. Call initializeObstacleAndDirt to generate it.
+     */
+    static SensorSimulatorService create(FloorMap floorMap, ActivityLogger activityLogger, int gridSize, long seed) {
+        SensorSimulatorService sensor = new SensorSimulatorService();
+        sensor.floorMap = floorMap;
+        sensor.activityLogger = activityLogger;
+        sensor.gridSize = gridSize;
+        sensor.seed = seed;
+        sensor.random = new Random(seed);
+        return sensor;
+    }
+
     @PostConstruct
     public void initializeObstacleAndDirt() {
+        if (seed != null) {
+            random = new Random(seed);
+        }
+        if (floorPlanPath != null && !floorPlanPath.isBlank()) {
+            floorPlanLoader.load(Path.of(floorPlanPath), floorMap);
+            initializeFromFloorMap();
+            return;
+        }
         floorMap.initializeGrid(gridSize);
-        this.obstacleGrid = generateObstacles(gridSize, gridSize);
-        this.chargingStationGrid = generateChargingStations(gridSize, gridSize);
+        FloorGrid grid = floorMap.getGrid();
+        boolean[][] obstacleGrid = generateObstacles(gridSize, gridSize);
+        boolean[][] chargingStationGrid = generateChargingStations(gridSize, gridSize);
         this.numberOfDirtCell = 0;
 
-        Random random = new Random();
         for (int x = 0; x < gridSize; x++) {
             for (int y = 0; y < gridSize; y++) {
-                Cell cell = floorMap.getCells()[x][y];
                 if (obstacleGrid[x][y]) {
-                    cell.setObstacle(true);
+                    grid.setObstacle(x, y, true);
                 } else if (chargingStationGrid[x][y]) {
-                    cell.setChargingStation(true);
+                    grid.setChargingStation(x, y, true);
                 } else {
                     int floorTypeRandom = random.nextInt(4);
                     switch (floorTypeRandom) {
                         case 0:
                         case 1: // 50% chance for BARE_FLOOR
-                            cell.setFloorType(FloorType.BARE_FLOOR);
+                            grid.setFloorType(x, y, FloorType.BARE_FLOOR);
                             break;
                         case 2:
-                            cell.setFloorType(FloorType.LOW_PILE_CARPET);
+                            grid.setFloorType(x, y, FloorType.LOW_PILE_CARPET);
                             break;
                         case 3:
-                            cell.setFloorType(FloorType.HIGH_PILE_CARPET);
+                            grid.setFloorType(x, y, FloorType.HIGH_PILE_CARPET);
                             break;
                     }
                     if (random.nextInt(3) != 0){
-                        cell.setDirtLevel(1);
+                        grid.setDirtLevel(x, y, 1);
                         numberOfDirtCell++;
                     }
                 }
@@ -67,6 +99,51 @@ public class SensorSimulatorService implements Sensor {
         }
     }
 
+    /**
+     * Takes the layout from the cells already in the floor map, e.g. from a loaded
+     * floor plan, instead of generating one. Stairs are treated as obstacles. Dirt
+     * given by the plan is kept; a plan without any dirt gets dirt scattered over its
+     * floor with the usual odds. Only cells that actually change are written, so a
+     * tiled or mapped floor does not copy the tiles of plain floor.
+     */
+    public void initializeFromFloorMap() {
+        FloorGrid grid = floorMap.getGrid();
+        this.gridSize = grid.getRows();
+        this.numberOfDirtCell = 0;
+        boolean scatterDirt = true;
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
+                boolean isDirty = grid.getDirtLevel(x, y) > 0;
+                scatterDirt &= !isDirty;
+                if (grid.isObstacle(x, y) || grid.isStairs(x, y)) {
+                    if (!grid.isObstacle(x, y)) {
+                        grid.setObstacle(x, y, true);
+                    }
+                    if (isDirty) {
+                        grid.setDirtLevel(x, y, 0);
+                    }
+                } else if (grid.isChargingStation(x, y)) {
+                    if (isDirty) {
+                        grid.setDirtLevel(x, y, 0);
+                    }
+                } else if (isDirty) {
+                    numberOfDirtCell++;
+                }
+            }
+        }
+        if (scatterDirt) {
+            numberOfDirtCell = grid.scatterDirt(random.nextLong());
+        }
+    }
+
+    /**
+     * Adopts restored cells, keeping their dirt.
+     */
+    void restoreFromFloorMap(int numberOfDirtCell) {
+        this.gridSize = floorMap.getGrid().getRows();
+        this.numberOfDirtCell = numberOfDirtCell;
+    }
+
     /**
      * Randomly generates obstacle grids.
      * @param width  Width of the grid
@@ -75,7 +152,6 @@ public class SensorSimulatorService implements Sensor {
      */
     private boolean[][] generateObstacles(int width, int height) {
         boolean[][] grid = new boolean[width][height];
-        Random random = new Random();
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
                 if ((x == 0 && y == 0) || (x == 0 && y == width - 1) || (x == height - 1 && y == 0)
@@ -107,19 +183,34 @@ public class SensorSimulatorService implements Sensor {
 
     @Override
     public boolean isDirtPresent(int x, int y) {
-        return floorMap.getCells()[x][y].getDirtLevel() > 0;
+        return floorMap.getGrid().getDirtLevel(x, y) > 0;
     }
 
     @Override
     public boolean isObstacle(int x, int y) {
-        return obstacleGrid[x][y] == true;
+        return floorMap.getGrid().isObstacle(x, y);
+    }
+
+    /**
+     * Places or removes an obstacle reported during the run.
+     * Dirt covered by an obstacle no longer counts towards the cells left to clean.
+     */
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        FloorGrid grid = floorMap.getGrid();
+        if (grid.isObstacle(x, y) == isObstacle) {
+            return;
+        }
+        grid.setObstacle(x, y, isObstacle);
+        if (grid.getDirtLevel(x, y) > 0) {
+            numberOfDirtCell += isObstacle ? -1 : 1;
+        }
     }
 
     @Override
     public void cleanDirt(int x, int y) {
-        Cell cell = floorMap.getCells()[x][y];
-        if (cell.getDirtLevel() > 0) {
-            cell.reduceDirtLevel();
+        FloorGrid grid = floorMap.getGrid();
+        if (grid.getDirtLevel(x, y) > 0) {
+            grid.setDirtLevel(x, y, 0);
             activityLogger.logCleaning(x, y);
         } else {
             activityLogger.logNoDirtAtPosition(x, y);
@@ -128,7 +219,7 @@ public class SensorSimulatorService implements Sensor {
 
     @Override
     public String getSurfaceType(int x, int y) {
-        return floorMap.getCells()[x][y].getFloorType().toString();
+        return floorMap.getGrid().getFloorType(x, y).toString();
     }
 
     /**
@@ -146,6 +237,13 @@ public class SensorSimulatorService implements Sensor {
         return Math.round(result * 10) / 10.0; // Round to 1 decimal place
     }
 
+    /**
+     * Same as {@link #getMovingPowerCost(Cell, Cell)}, for cells given by coordinates.
+     */
+    public double getMovingPowerCost(int previousX, int previousY, int x, int y) {
+        return (getSurfaceUnit(previousX, previousY) + getSurfaceUnit(x, y)) / 2.0;
+    }
+
     /**
      * Costs the same amount of surface unit to clean the current location
      */
@@ -158,8 +256,22 @@ public class SensorSimulatorService implements Sensor {
         }
     }
 
+    /**
+     * Same as {@link #getCleaningPowerCost(Cell)}, for a cell given by coordinates.
+     */
+    public double getCleaningPowerCost(int x, int y) {
+        return floorMap.getGrid().getDirtLevel(x, y) > 0 ? getSurfaceUnit(x, y) : 0;
+    }
+
     public int getSurfaceUnit(Cell cell) {
-        FloorType floorType = cell.getFloorType();
+        return getSurfaceUnit(cell.getFloorType());
+    }
+
+    public int getSurfaceUnit(int x, int y) {
+        return getSurfaceUnit(floorMap.getGrid().getFloorType(x, y));
+    }
+
+    private int getSurfaceUnit(FloorType floorType) {
         switch (floorType) {
             case BARE_FLOOR:
                 return 1;
@@ -172,6 +284,13 @@ public class SensorSimulatorService implements Sensor {
         }
     }
 
+    /**
+     * Returns the number of reachable dirty cells the robot is expected to clean.
+     */
+    public int getNumberOfDirtCell() {
+        return numberOfDirtCell;
+    }
+
     /**
      * Checks if all dirt cells are cleaned
      */
@@ -183,6 +302,6 @@ public class SensorSimulatorService implements Sensor {
      * Checks if the specified coordinates are a charging station.
      */
     public boolean isChargingStation(int x, int y) {
-        return chargingStationGrid[x][y];
+        return floorMap.getGrid().isChargingStation(x, y);
     }
 }
@@ -0,0 +1,165 @@
+package com.cleanSweep.backend.application;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.FloorGrid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact binary snapshot of the complete mutable state of a world, used to fork a
+ * mission or to resume it later without replaying it from the first step.
+ * <p>
+ * Layout: a header (magic, version, rows, columns), two bytes per cell, then the
+ * sensor, battery, dirt and navigation state in that order. The first cell byte holds
+ * the floor type ordinal in bits 0-1 and the obstacle, charging station, stairs and
+ * visited flags in bits 2-5; the second holds the dirt level. Derived data such as
+ * station distances is recomputed on restore rather than stored.
+ */
+public final class SimulationSnapshot {
+
+    private static final int MAGIC = 0x43535753; // "CSWS"
+    private static final short VERSION = 2;
+
+    private static final int OBSTACLE = 1 << 2;
+    private static final int CHARGING_STATION = 1 << 3;
+    private static final int STAIRS = 1 << 4;
+    private static final int VISITED = 1 << 5;
+    private static final int MAX_DIRT_LEVEL = 255;
+    private static final FloorType[] FLOOR_TYPES = FloorType.values();
+
+    private SimulationSnapshot() {
+    }
+
+    /**
+     * Captures the state of the world. The world must not be stepping meanwhile.
+     * Throws IllegalStateException if a dirt level does not fit in its byte.
+     */
+    public static byte[] write(SimulationWorld world) {
+        FloorGrid grid = world.getFloorMap().getGrid();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(2 * grid.getRows() * grid.getCols() + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(grid.getRows());
+            out.writeInt(grid.getCols());
+            for (int x = 0; x < grid.getRows(); x++) {
+                for (int y = 0; y < grid.getCols(); y++) {
+                    out.writeByte(encode(grid, x, y));
+                    out.writeByte(dirtLevel(grid, x, y));
+                }
+            }
+            out.writeInt(world.getSensorSimulatorService().getNumberOfDirtCell());
+            world.getBatteryService().writeState(out);
+            world.getDirtService().writeState(out);
+            world.getNavigationService().writeState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replaces the state of the world, including its floor, with a snapshot.
+     * Throws IllegalArgumentException if the bytes are not a snapshot.
+     */
+    public static void restore(SimulationWorld world, byte[] snapshot) {
+        restore(world, snapshot, Long.MAX_VALUE);
+    }
+
+    /**
+     * Replaces the state of the world with a snapshot of at most maxCells cells.
+     * Snapshots may come from clients, so every size is checked against the bytes
+     * that follow it and every cell index against the grid before anything is
+     * allocated. Throws IllegalArgumentException if the bytes are not a valid snapshot.
+     */
+    public static void restore(SimulationWorld world, byte[] snapshot, long maxCells) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IllegalArgumentException("Not a simulation snapshot of version " + VERSION);
+            }
+            int rows = in.readInt();
+            int cols = in.readInt();
+            if (rows < 1 || cols < 1) {
+                throw new IllegalArgumentException("Invalid floor size " + rows + "x" + cols + " in simulation snapshot");
+            }
+            long cells = (long) rows * cols;
+            if (cells > maxCells) {
+                throw new IllegalArgumentException("Snapshot floor of " + cells + " cells exceeds the limit of " + maxCells);
+            }
+            if (2 * cells > in.available()) {
+                throw new IllegalArgumentException("Truncated simulation snapshot");
+            }
+            world.getFloorMap().initializeGrid(rows, cols);
+            FloorGrid grid = world.getFloorMap().getGrid();
+            for (int x = 0; x < rows; x++) {
+                for (int y = 0; y < cols; y++) {
+                    decode(in.readUnsignedByte(), in.readUnsignedByte(), grid, x, y);
+                }
+            }
+            world.getSensorSimulatorService().restoreFromFloorMap(in.readInt());
+            world.getBatteryService().readState(in);
+            world.getDirtService().readState(in);
+            world.getNavigationService().readState(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated simulation snapshot", e);
+        }
+    }
+
+    /**
+     * Reads the length of a sequence, -1 for an absent one if optional, and checks that
+     * its elements fit in the remaining bytes.
+     */
+    static int readLength(DataInputStream in, int elementBytes, boolean optional) throws IOException {
+        int length = in.readInt();
+        if (length < (optional ? -1 : 0) || (long) length * elementBytes > in.available()) {
+            throw new IllegalArgumentException("Invalid length " + length + " in simulation snapshot");
+        }
+        return length;
+    }
+
+    /**
+     * Reads a packed cell index and checks that it lies on a floor of cellCount cells.
+     * If noneAllowed, -1 is accepted as well.
+     */
+    static int readCell(DataInputStream in, int cellCount, boolean noneAllowed) throws IOException {
+        int cell = in.readInt();
+        if (cell < (noneAllowed ? -1 : 0) || cell >= cellCount) {
+            throw new IllegalArgumentException("Cell " + cell + " outside the floor in simulation snapshot");
+        }
+        return cell;
+    }
+
+    private static int encode(FloorGrid grid, int x, int y) {
+        return grid.getFloorType(x, y).ordinal()
+                | (grid.isObstacle(x, y) ? OBSTACLE : 0)
+                | (grid.isChargingStation(x, y) ? CHARGING_STATION : 0)
+                | (grid.isStairs(x, y) ? STAIRS : 0)
+                | (grid.isVisited(x, y) ? VISITED : 0);
+    }
+
+    private static int dirtLevel(FloorGrid grid, int x, int y) {
+        int dirtLevel = grid.getDirtLevel(x, y);
+        if (dirtLevel < 0 || dirtLevel > MAX_DIRT_LEVEL) {
+            throw new IllegalStateException(
+                    String.format("Dirt level %d at (%d, %d) cannot be stored in a snapshot", dirtLevel, x, y));
+        }
+        return dirtLevel;
+    }
+
+    private static void decode(int bits, int dirtLevel, FloorGrid grid, int x, int y) {
+        if ((bits & 3) >= FLOOR_TYPES.length) {
+            throw new IllegalArgumentException("Invalid floor type in simulation snapshot");
+        }
+        grid.setFloorType(x, y, FLOOR_TYPES[bits & 3]);
+        grid.setObstacle(x, y, (bits & OBSTACLE) != 0);
+        grid.setChargingStation(x, y, (bits & CHARGING_STATION) != 0);
+        grid.setStairs(x, y, (bits & STAIRS) != 0);
+        grid.setDirtLevel(x, y, dirtLevel);
+        grid.setVisited(x, y, (bits & VISITED) != 0);
+    }
+}
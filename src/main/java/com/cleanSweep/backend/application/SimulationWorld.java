@@ -0,0 +1,152 @@
+package com.cleanSweep.backend.application;
+
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.infrastructure.ActivityLogger;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import lombok.Getter;
+
+/**
+ * One self-contained simulation: a floor and the services that clean it.
+ * The Spring beans form the world shown in the window, while worlds created with
+ * {@link #create} own private instances, so many of them can run side by side.
+ */
+@Getter
+public class SimulationWorld {
+
+    private final FloorMap floorMap;
+    private final SensorSimulatorService sensorSimulatorService;
+    private final BatteryService batteryService;
+    private final DirtService dirtService;
+    private final NavigationService navigationService;
+
+    public SimulationWorld(FloorMap floorMap, SensorSimulatorService sensorSimulatorService,
+                           BatteryService batteryService, DirtService dirtService,
+                           NavigationService navigationService) {
+        this.floorMap = floorMap;
+        this.sensorSimulatorService = sensorSimulatorService;
+        this.batteryService = batteryService;
+        this.dirtService = dirtService;
+        this.navigationService = navigationService;
+    }
+
+    /**
+     * Creates a world with a random floor generated from the given seed. Activity
+     * logging is disabled, since standalone worlds have no log repository.
+     */
+    public static SimulationWorld create(int gridSize, int lowBatteryThreshold, int fullCharge, int dirtCapacity,
+                                         long seed) {
+        return create(gridSize, lowBatteryThreshold, fullCharge, dirtCapacity, seed, FloorStorage.CELLS);
+    }
+
+    /**
+     * Creates a world with a random floor generated from the given seed, stored as given.
+     */
+    public static SimulationWorld create(int gridSize, int lowBatteryThreshold, int fullCharge, int dirtCapacity,
+                                         long seed, FloorStorage storage) {
+        ActivityLogger activityLogger = ActivityLogger.silent();
+        FloorMap floorMap = new FloorMap();
+        floorMap.setStorage(storage);
+        SensorSimulatorService sensor = SensorSimulatorService.create(floorMap, activityLogger, gridSize, seed);
+        sensor.initializeObstacleAndDirt();
+        return assemble(floorMap, sensor, activityLogger, lowBatteryThreshold, fullCharge, dirtCapacity);
+    }
+
+    /**
+     * Creates a world with the layout of a floor plan and dirt scattered from the given seed.
+     */
+    public static SimulationWorld create(FloorMap.FloorPlanData floorPlan, int lowBatteryThreshold, int fullCharge,
+                                         int dirtCapacity, long seed) {
+        FloorMap floorMap = new FloorMap();
+        floorMap.applyFloorPlan(floorPlan);
+        return create(floorMap, lowBatteryThreshold, fullCharge, dirtCapacity, seed);
+    }
+
+    /**
+     * Creates a world around a floor that is already laid out, e.g. one built cell by cell.
+     * If the floor has no dirt yet, dirt is scattered from the given seed.
+     */
+    public static SimulationWorld create(FloorMap floorMap, int lowBatteryThreshold, int fullCharge,
+                                         int dirtCapacity, long seed) {
+        ActivityLogger activityLogger = ActivityLogger.silent();
+        SensorSimulatorService sensor = SensorSimulatorService.create(floorMap, activityLogger,
+                floorMap.getGrid().getRows(), seed);
+        sensor.initializeFromFloorMap();
+        return assemble(floorMap, sensor, activityLogger, lowBatteryThreshold, fullCharge, dirtCapacity);
+    }
+
+    /**
+     * Creates a world from a snapshot taken with {@link #snapshot}, e.g. to fork a mission.
+     */
+    public static SimulationWorld fromSnapshot(byte[] snapshot) {
+        return fromSnapshot(snapshot, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a world from a snapshot, rejecting floors of more than maxCells cells.
+     */
+    public static SimulationWorld fromSnapshot(byte[] snapshot, long maxCells) {
+        ActivityLogger activityLogger = ActivityLogger.silent();
+        FloorMap floorMap = new FloorMap();
+        SensorSimulatorService sensor = SensorSimulatorService.create(floorMap, activityLogger, 0, 0);
+        SimulationWorld world = assemble(floorMap, sensor, activityLogger, 0, 0, 0);
+        SimulationSnapshot.restore(world, snapshot, maxCells);
+        return world;
+    }
+
+    private static SimulationWorld assemble(FloorMap floorMap, SensorSimulatorService sensor,
+                                            ActivityLogger activityLogger, int lowBatteryThreshold, int fullCharge,
+                                            int dirtCapacity) {
+        BatteryService battery = BatteryService.create(activityLogger, lowBatteryThreshold, fullCharge);
+        DirtService dirt = DirtService.create(sensor, floorMap, battery, activityLogger, dirtCapacity);
+        NavigationService navigation = NavigationService.create(floorMap, dirt, battery, sensor, activityLogger);
+        return new SimulationWorld(floorMap, sensor, battery, dirt, navigation);
+    }
+
+    /**
+     * Captures the complete mutable state of this world, see {@link SimulationSnapshot}.
+     */
+    public byte[] snapshot() {
+        return SimulationSnapshot.write(this);
+    }
+
+    /**
+     * Replaces the state of this world with a snapshot.
+     */
+    public void restore(byte[] snapshot) {
+        SimulationSnapshot.restore(this, snapshot);
+    }
+
+    /**
+     * Runs the cleaning mission until navigation completes or maxSteps steps were taken.
+     */
+    public SimulationStatistics run(long maxSteps) {
+        navigationService.startNavigation(0, 0);
+        long start = System.nanoTime();
+        long steps = advance(maxSteps);
+        return statistics(steps, System.nanoTime() - start);
+    }
+
+    /**
+     * Takes up to the given number of steps, stopping early when navigation completes.
+     * Returns the number of steps taken.
+     */
+    public long advance(long maxSteps) {
+        long steps = 0;
+        while (!navigationService.isNavigationCompleted() && steps < maxSteps) {
+            navigationService.stepNavigation();
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Collects the statistics of the mission so far.
+     */
+    public SimulationStatistics statistics(long steps, long elapsed) {
+        return new SimulationStatistics(steps, elapsed, navigationService.getMoveCount(),
+                batteryService.getEnergyConsumed(), batteryService.getRechargeCount(),
+                dirtService.getCleanedDirtCellCount(), sensorSimulatorService.getNumberOfDirtCell(),
+                navigationService.isNavigationCompleted());
+    }
+}
@@ -0,0 +1,142 @@
+package com.cleanSweep.backend.application.coverage;
+
+import com.cleanSweep.backend.application.pathfinding.CellBytes;
+import com.cleanSweep.backend.application.pathfinding.CellInts;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.PlanningMemory;
+import com.cleanSweep.backend.common.Direction;
+
+/**
+ * Boustrophedon coverage over the obstacle grid. The free space of every row is
+ * decomposed into maximal obstacle-free segments. The robot sweeps one segment end to
+ * end, then takes the shortest transit to the nearest end of an uncovered segment,
+ * which on open floors is the adjacent end in the next row. This produces the
+ * familiar back-and-forth pattern, and cells are only revisited during transits
+ * around obstacles. Its scratch pages are taken from the grid's memory and released
+ * once the tour is built.
+ */
+public class BoustrophedonCoveragePlanner implements CoveragePlanner {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public int[] planTour(CostGrid grid, int start) {
+        if (grid.isBlocked(start)) {
+            return new int[] { start };
+        }
+        int cols = grid.getCols();
+        int size = grid.size();
+        PlanningMemory memory = grid.getMemory();
+
+        // Decompose each row into segments of consecutive free cells
+        CellInts segmentOf = memory.ints(size, -1);
+        CellInts segmentStart = memory.ints(size, 0);
+        CellInts segmentEnd = memory.ints(size, 0);
+        int segmentCount = 0;
+        for (int cell = 0; cell < size; cell++) {
+            if (grid.isBlocked(cell)) {
+                continue;
+            }
+            if (cell % cols > 0 && segmentOf.get(cell - 1) != -1) {
+                segmentOf.set(cell, segmentOf.get(cell - 1));
+                segmentEnd.set(segmentOf.get(cell), cell);
+            } else {
+                segmentOf.set(cell, segmentCount);
+                segmentStart.set(segmentCount, cell);
+                segmentEnd.set(segmentCount, cell);
+                segmentCount++;
+            }
+        }
+
+        RouteBuilder route = new RouteBuilder();
+        CellBytes covered = memory.bytes(segmentCount, 0);
+        CellInts parent = memory.ints(size, -1);
+        CellInts queue = memory.ints(size, 0);
+        CellInts seen = memory.ints(size, 0);
+        int search = 0;
+
+        // Sweep the start segment from its nearer end to its farther end
+        route.add(start);
+        int segment = segmentOf.get(start);
+        boolean leftFirst = start - segmentStart.get(segment) <= segmentEnd.get(segment) - start;
+        walk(route, start, leftFirst ? segmentStart.get(segment) : segmentEnd.get(segment));
+        walk(route, route.last(), leftFirst ? segmentEnd.get(segment) : segmentStart.get(segment));
+        covered.set(segment, 1);
+
+        while (true) {
+            // Breadth-first search for the nearest end of an uncovered segment
+            search++;
+            int head = 0;
+            int tail = 0;
+            int target = -1;
+            queue.set(tail++, route.last());
+            seen.set(route.last(), search);
+            parent.set(route.last(), -1);
+            while (head < tail && target == -1) {
+                int current = queue.get(head++);
+                for (Direction direction : DIRECTIONS) {
+                    int next = grid.neighbor(current, direction);
+                    if (next == -1 || grid.isBlocked(next) || seen.get(next) == search) {
+                        continue;
+                    }
+                    seen.set(next, search);
+                    parent.set(next, current);
+                    queue.set(tail++, next);
+                    int nextSegment = segmentOf.get(next);
+                    if (covered.get(nextSegment) == 0
+                            && (next == segmentStart.get(nextSegment) || next == segmentEnd.get(nextSegment))) {
+                        target = next;
+                        break;
+                    }
+                }
+            }
+            if (target == -1) {
+                break;
+            }
+
+            appendTransit(route, parent, target);
+            segment = segmentOf.get(target);
+            int end = target == segmentStart.get(segment) ? segmentEnd.get(segment) : segmentStart.get(segment);
+            walk(route, target, end);
+            covered.set(segment, 1);
+        }
+        segmentOf.clear();
+        segmentStart.clear();
+        segmentEnd.clear();
+        covered.clear();
+        parent.clear();
+        queue.clear();
+        seen.clear();
+        return route.toArray();
+    }
+
+    /**
+     * Appends the moves along a row from one cell to another, excluding the first cell.
+     */
+    private void walk(RouteBuilder route, int from, int to) {
+        int step = to > from ? 1 : -1;
+        for (int cell = from; cell != to; ) {
+            cell += step;
+            route.add(cell);
+        }
+    }
+
+    /**
+     * Appends the search path that ends at target, excluding the cell the robot is on.
+     */
+    private void appendTransit(RouteBuilder route, CellInts parent, int target) {
+        int length = 0;
+        for (int cell = target; parent.get(cell) != -1; cell = parent.get(cell)) {
+            length++;
+        }
+        int[] transit = new int[length];
+        int cell = target;
+        for (int i = length - 1; i >= 0; i--) {
+            transit[i] = cell;
+            cell = parent.get(cell);
+        }
+        for (int step : transit) {
+            route.add(step);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.cleanSweep.backend.application.coverage;
+
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import lombok.Getter;
+
+/**
+ * Summary of a coverage tour: how many moves it takes, how many of them land on a
+ * cell that was already visited, and the moving power it consumes.
+ */
+@Getter
+public class CoverageMetrics {
+
+    private final int moves;
+    private final int revisits;
+    private final int cellsCovered;
+    private final double energy;
+
+    private CoverageMetrics(int moves, int revisits, int cellsCovered, double energy) {
+        this.moves = moves;
+        this.revisits = revisits;
+        this.cellsCovered = cellsCovered;
+        this.energy = energy;
+    }
+
+    /**
+     * Measures a tour as produced by {@link CoveragePlanner#planTour}.
+     */
+    public static CoverageMetrics of(CostGrid grid, int[] tour) {
+        boolean[] visited = new boolean[grid.size()];
+        int revisits = 0;
+        int cellsCovered = 0;
+        int halfUnits = 0;
+        for (int i = 0; i < tour.length; i++) {
+            if (visited[tour[i]]) {
+                revisits++;
+            } else {
+                visited[tour[i]] = true;
+                cellsCovered++;
+            }
+            if (i > 0) {
+                halfUnits += grid.moveCost(tour[i - 1], tour[i]);
+            }
+        }
+        return new CoverageMetrics(Math.max(0, tour.length - 1), revisits, cellsCovered, halfUnits / 2.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("moves=%d, revisits=%d, cells=%d, energy=%.1f", moves, revisits, cellsCovered, energy);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cleanSweep.backend.application.coverage;
+
+/**
+ * Available coverage strategies, selected with clean-sweep.navigation.coverage.
+ */
+public enum CoverageMode {
+    DFS,
+    BOUSTROPHEDON;
+
+    /**
+     * Creates the planner used to precompute the tour for this mode.
+     */
+    public CoveragePlanner createPlanner() {
+        switch (this) {
+            case BOUSTROPHEDON:
+                return new BoustrophedonCoveragePlanner();
+            default:
+                return new DfsCoveragePlanner();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cleanSweep.backend.application.coverage;
+
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+
+/**
+ * Plans a cleaning tour that visits every free cell reachable from the start.
+ */
+public interface CoveragePlanner {
+
+    /**
+     * Returns the packed indices of every position the robot occupies, in order,
+     * starting with the start cell. Consecutive entries are always adjacent cells.
+     */
+    int[] planTour(CostGrid grid, int start);
+}
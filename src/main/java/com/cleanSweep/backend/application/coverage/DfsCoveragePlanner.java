@@ -0,0 +1,50 @@
+package com.cleanSweep.backend.application.coverage;
+
+import com.cleanSweep.backend.application.pathfinding.CellBytes;
+import com.cleanSweep.backend.application.pathfinding.CellInts;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.common.Direction;
+
+/**
+ * Replays the depth-first exploration of NavigationService offline: neighbours are
+ * tried in {@link Direction} order, and every backtrack to the parent cell is a move.
+ * It serves as the baseline the other coverage planners are measured against.
+ * Its scratch pages are taken from the grid's memory and released once the tour is built.
+ */
+public class DfsCoveragePlanner implements CoveragePlanner {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public int[] planTour(CostGrid grid, int start) {
+        RouteBuilder route = new RouteBuilder();
+        CellBytes visited = grid.getMemory().bytes(grid.size(), 0);
+        CellInts stack = grid.getMemory().ints(grid.size(), 0);
+        int top = 0;
+
+        stack.set(top++, start);
+        visited.set(start, 1);
+        route.add(start);
+        while (top > 0) {
+            int current = stack.get(top - 1);
+            int next = -1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = grid.neighbor(current, direction);
+                if (neighbor != -1 && visited.get(neighbor) == 0 && !grid.isBlocked(neighbor)) {
+                    next = neighbor;
+                    break;
+                }
+            }
+            if (next != -1) {
+                visited.set(next, 1);
+                stack.set(top++, next);
+                route.add(next);
+            } else if (--top > 0) {
+                route.add(stack.get(top - 1));
+            }
+        }
+        visited.clear();
+        stack.clear();
+        return route.toArray();
+    }
+}
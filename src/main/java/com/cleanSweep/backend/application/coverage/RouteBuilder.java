@@ -0,0 +1,27 @@
+package com.cleanSweep.backend.application.coverage;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of packed cell indices used while a tour is being built.
+ */
+class RouteBuilder {
+
+    private int[] cells = new int[64];
+    private int size;
+
+    void add(int cell) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+    }
+
+    int last() {
+        return cells[size - 1];
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(cells, size);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cleanSweep.backend.application.fleet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free ownership of floor cells. A robot must claim a cell before cleaning it,
+ * and a claim is a single compare-and-set from free to the robot's id, so exactly one
+ * robot wins every cell no matter how many try at once. Claims are never released,
+ * which makes a claimed cell one that is covered or about to be.
+ */
+public class CellClaims {
+
+    private static final int FREE = 0;
+
+    private final AtomicIntegerArray owners;
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    public CellClaims(int size) {
+        this.owners = new AtomicIntegerArray(size);
+    }
+
+    /**
+     * Claims the cell for the robot. Returns true if the cell was free or already
+     * owned by this robot.
+     */
+    public boolean tryClaim(int cell, int robotId) {
+        int owner = robotId + 1;
+        if (owners.get(cell) == owner) {
+            return true;
+        }
+        if (owners.compareAndSet(cell, FREE, owner)) {
+            claimed.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isClaimed(int cell) {
+        return owners.get(cell) != FREE;
+    }
+
+    /**
+     * Returns the id of the robot owning the cell, or -1 if it is free.
+     */
+    public int getOwner(int cell) {
+        return owners.get(cell) - 1;
+    }
+
+    public int getClaimedCount() {
+        return claimed.get();
+    }
+}
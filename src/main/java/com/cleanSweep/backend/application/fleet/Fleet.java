@@ -0,0 +1,112 @@
+package com.cleanSweep.backend.application.fleet;
+
+import com.cleanSweep.backend.application.SensorSimulatorService;
+import com.cleanSweep.backend.application.pathfinding.BucketQueueEngine;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorMap;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several robots cleaning one shared floor. In every time step all robots move
+ * concurrently; cells are divided through lock-free {@link CellClaims}, and each
+ * charging station serves one robot at a time through a {@link StationQueue}.
+ * Robots may share a cell while passing, since only cleaning is exclusive.
+ * The floor map must use the cells storage: robots update different cells at the
+ * same time, which the bit sets of the arrays storage do not allow.
+ */
+@Getter
+public class Fleet {
+
+    private final Cell[][] cells;
+    private final CostGrid grid;
+    private final StationDistanceField distanceField;
+    private final CellClaims claims;
+    private final Map<Integer, StationQueue> stationQueues = new HashMap<>();
+    private final List<FleetRobot> robots = new ArrayList<>();
+    private final int fullCharge;
+    private final int dirtCapacity;
+    private final int chargeSteps;
+    private long steps;
+
+    public Fleet(FloorMap floorMap, SensorSimulatorService sensor, int robotCount, int fullCharge, int dirtCapacity,
+                 int chargeSteps) {
+        this.cells = floorMap.getCells();
+        this.grid = CostGrid.of(floorMap, sensor);
+        this.fullCharge = fullCharge;
+        this.dirtCapacity = dirtCapacity;
+        this.chargeSteps = chargeSteps;
+
+        List<Integer> stations = new ArrayList<>();
+        for (Cell[] row : cells) {
+            for (Cell cell : row) {
+                int index = grid.index(cell.getX(), cell.getY());
+                if (cell.isChargingStation() && !grid.isBlocked(index)) {
+                    stations.add(index);
+                    stationQueues.put(index, new StationQueue());
+                }
+            }
+        }
+        if (stations.isEmpty()) {
+            throw new IllegalArgumentException("The floor has no charging station");
+        }
+        int[] sources = stations.stream().mapToInt(Integer::intValue).toArray();
+        this.distanceField = new StationDistanceField(grid.getRows(), grid.getCols());
+        new BucketQueueEngine().compute(grid, sources, distanceField);
+
+        this.claims = new CellClaims(grid.size());
+        for (int id = 0; id < robotCount; id++) {
+            robots.add(new FleetRobot(id, this, sources[id % sources.length]));
+        }
+    }
+
+    /**
+     * Advances every robot by one time step, in parallel when there are several.
+     */
+    public void step() {
+        if (robots.size() == 1) {
+            robots.get(0).step();
+        } else {
+            robots.parallelStream().forEach(FleetRobot::step);
+        }
+        steps++;
+    }
+
+    /**
+     * Checks if every robot has run out of cells to claim and returned to a station,
+     * or is stranded.
+     */
+    public boolean isCompleted() {
+        for (FleetRobot robot : robots) {
+            if (robot.getMode() != FleetRobot.Mode.FINISHED && robot.getMode() != FleetRobot.Mode.STRANDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Steps the fleet until it completes or maxSteps steps were taken.
+     */
+    public FleetStatistics run(long maxSteps) {
+        long start = System.nanoTime();
+        while (!isCompleted() && steps < maxSteps) {
+            step();
+        }
+        return new FleetStatistics(this, System.nanoTime() - start);
+    }
+
+    Cell getCell(int index) {
+        return cells[index / grid.getCols()][index % grid.getCols()];
+    }
+
+    StationQueue getStationQueue(int station) {
+        return stationQueues.get(station);
+    }
+}
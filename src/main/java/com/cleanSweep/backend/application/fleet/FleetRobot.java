@@ -0,0 +1,261 @@
+package com.cleanSweep.backend.application.fleet;
+
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import com.cleanSweep.backend.common.Direction;
+import com.cleanSweep.backend.domain.Cell;
+import lombok.Getter;
+
+/**
+ * One robot of a fleet. Its position, battery and dirt load are private to it; the
+ * floor is shared, and a cell is only entered into the robot's cleaning work after
+ * winning its claim, so no two robots ever clean the same cell.
+ */
+public class FleetRobot {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int BATTERY_MARGIN = 7; // Same reserve as BatteryService.isRechargeNeeded
+
+    /**
+     * What the robot is doing in the current step.
+     */
+    public enum Mode {
+        CLEANING,
+        TO_STATION,
+        QUEUED,
+        CHARGING,
+        FINISHED,
+        // Stopped with a flat battery or without a reachable station
+        STRANDED
+    }
+
+    @Getter
+    private final int id;
+    private final Fleet fleet;
+    @Getter
+    private int position;
+    @Getter
+    private double battery;
+    @Getter
+    private int dirtLoad;
+    @Getter
+    private Mode mode = Mode.CLEANING;
+
+    @Getter
+    private long moves;
+    @Getter
+    private long waitSteps;
+    @Getter
+    private double energy;
+    @Getter
+    private int recharges;
+    @Getter
+    private int cellsCovered;
+    @Getter
+    private int cellsCleaned;
+
+    // Route to the claimed target cell, and the charging state
+    private int target = -1;
+    private int[] route;
+    private int routeIdx;
+    private boolean isOutOfWork;
+    private StationQueue stationQueue;
+    private int ticket;
+    private int chargeLeft;
+
+    // Breadth-first search buffers, stamped per search
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] frontier;
+    private int search;
+
+    FleetRobot(int id, Fleet fleet, int start) {
+        this.id = id;
+        this.fleet = fleet;
+        this.position = start;
+        this.battery = fleet.getFullCharge();
+        int size = fleet.getGrid().size();
+        this.parent = new int[size];
+        this.seen = new int[size];
+        this.frontier = new int[size];
+        cover(start);
+    }
+
+    /**
+     * Advances the robot by one time step.
+     */
+    void step() {
+        switch (mode) {
+            case CLEANING:
+                stepCleaning();
+                break;
+            case TO_STATION:
+                stepToStation();
+                break;
+            case QUEUED:
+                if (stationQueue.isServing(ticket)) {
+                    mode = Mode.CHARGING;
+                    chargeLeft = fleet.getChargeSteps();
+                } else {
+                    waitSteps++;
+                }
+                break;
+            case CHARGING:
+                if (--chargeLeft <= 0) {
+                    battery = fleet.getFullCharge();
+                    dirtLoad = 0;
+                    recharges++;
+                    stationQueue.leave();
+                    stationQueue = null;
+                    route = null; // Replan from the station
+                    mode = isOutOfWork ? Mode.FINISHED : Mode.CLEANING;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void stepCleaning() {
+        CostGrid grid = fleet.getGrid();
+        StationDistanceField field = fleet.getDistanceField();
+        if (dirtLoad >= fleet.getDirtCapacity()
+                || battery <= field.getDistance(position / grid.getCols(), position % grid.getCols()) + BATTERY_MARGIN) {
+            mode = Mode.TO_STATION;
+            stepToStation();
+            return;
+        }
+        if (route == null || routeIdx >= route.length) {
+            if (!planRoute()) {
+                // Everything reachable is claimed; empty the bin and charge before stopping
+                isOutOfWork = true;
+                mode = Mode.TO_STATION;
+                stepToStation();
+                return;
+            }
+        }
+        moveTo(route[routeIdx++]);
+        if (mode == Mode.STRANDED) {
+            return;
+        }
+        cover(position);
+        if (position == target) {
+            target = -1;
+        }
+    }
+
+    private void stepToStation() {
+        CostGrid grid = fleet.getGrid();
+        Direction direction = fleet.getDistanceField()
+                .getDirectionToStation(position / grid.getCols(), position % grid.getCols());
+        if (direction == null) {
+            stationQueue = fleet.getStationQueue(position);
+            if (stationQueue == null) {
+                strand();
+                return;
+            }
+            ticket = stationQueue.takeTicket();
+            mode = Mode.QUEUED;
+            return;
+        }
+        moveTo(grid.neighbor(position, direction));
+    }
+
+    private void moveTo(int next) {
+        double cost = fleet.getGrid().moveCost(position, next) / 2.0;
+        battery -= cost;
+        energy += cost;
+        position = next;
+        moves++;
+        if (battery <= 0) {
+            strand();
+        }
+    }
+
+    /**
+     * Stops the robot for good, as NavigationService does when it has no way back.
+     */
+    private void strand() {
+        battery = Math.max(battery, 0);
+        route = null;
+        target = -1;
+        mode = Mode.STRANDED;
+    }
+
+    /**
+     * Claims the cell if it is free and cleans it if it is this robot's and not yet covered.
+     */
+    private void cover(int cell) {
+        if (!fleet.getClaims().tryClaim(cell, id)) {
+            return;
+        }
+        Cell floorCell = fleet.getCell(cell);
+        if (floorCell.isVisited()) {
+            return;
+        }
+        floorCell.setVisited(true);
+        cellsCovered++;
+        if (floorCell.getDirtLevel() > 0) {
+            int cost = fleet.getGrid().getSurfaceUnit(cell);
+            battery -= cost;
+            energy += cost;
+            floorCell.reduceDirtLevel();
+            dirtLoad++;
+            cellsCleaned++;
+            if (battery <= 0) {
+                strand();
+            }
+        }
+    }
+
+    /**
+     * Plans a shortest route in moves to the claimed target, or, without one, to the
+     * nearest free cell that this robot manages to claim. Returns false if there is none.
+     */
+    private boolean planRoute() {
+        CostGrid grid = fleet.getGrid();
+        CellClaims claims = fleet.getClaims();
+        search++;
+        int head = 0;
+        int tail = 0;
+        frontier[tail++] = position;
+        seen[position] = search;
+        parent[position] = -1;
+        int found = -1;
+        while (head < tail && found == -1) {
+            int current = frontier[head++];
+            for (Direction direction : DIRECTIONS) {
+                int next = grid.neighbor(current, direction);
+                if (next == -1 || grid.isBlocked(next) || seen[next] == search) {
+                    continue;
+                }
+                seen[next] = search;
+                parent[next] = current;
+                frontier[tail++] = next;
+                boolean isFound = target != -1 ? next == target : !claims.isClaimed(next) && claims.tryClaim(next, id);
+                if (isFound) {
+                    found = next;
+                    break;
+                }
+            }
+        }
+        if (found == -1) {
+            target = -1;
+            return false;
+        }
+        target = found;
+
+        int length = 0;
+        for (int cell = found; cell != position; cell = parent[cell]) {
+            length++;
+        }
+        route = new int[length];
+        int cell = found;
+        for (int i = length - 1; i >= 0; i--) {
+            route[i] = cell;
+            cell = parent[cell];
+        }
+        routeIdx = 0;
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cleanSweep.backend.application.fleet;
+
+import lombok.Getter;
+
+/**
+ * Totals over all robots of a fleet run.
+ */
+@Getter
+public class FleetStatistics {
+
+    private final int robots;
+    private final long steps;
+    private final long elapsedNanos;
+    private final long moves;
+    private final long waitSteps;
+    private final double energy;
+    private final int recharges;
+    private final int cellsCovered;
+    private final int cellsCleaned;
+    private final int strandedRobots;
+    private final boolean completed;
+
+    FleetStatistics(Fleet fleet, long elapsedNanos) {
+        long moves = 0;
+        long waitSteps = 0;
+        double energy = 0;
+        int recharges = 0;
+        int cellsCovered = 0;
+        int cellsCleaned = 0;
+        int strandedRobots = 0;
+        for (FleetRobot robot : fleet.getRobots()) {
+            moves += robot.getMoves();
+            waitSteps += robot.getWaitSteps();
+            energy += robot.getEnergy();
+            recharges += robot.getRecharges();
+            cellsCovered += robot.getCellsCovered();
+            cellsCleaned += robot.getCellsCleaned();
+            if (robot.getMode() == FleetRobot.Mode.STRANDED) {
+                strandedRobots++;
+            }
+        }
+        this.robots = fleet.getRobots().size();
+        this.steps = fleet.getSteps();
+        this.elapsedNanos = elapsedNanos;
+        this.moves = moves;
+        this.waitSteps = waitSteps;
+        this.energy = energy;
+        this.recharges = recharges;
+        this.cellsCovered = cellsCovered;
+        this.cellsCleaned = cellsCleaned;
+        this.strandedRobots = strandedRobots;
+        this.completed = fleet.isCompleted();
+    }
+
+    /**
+     * Returns the robot steps simulated per second of wall time.
+     */
+    public double getRobotStepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (double) steps * robots * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cleanSweep.backend.application.fleet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * First-come, first-served queue in front of one charging station with a single dock.
+ * Arriving robots draw a ticket and charge when their ticket is served, like a ticket
+ * lock, so the queue needs no lock and robots are served in arrival order.
+ */
+public class StationQueue {
+
+    private final AtomicInteger nextTicket = new AtomicInteger();
+    private final AtomicInteger nowServing = new AtomicInteger();
+
+    /**
+     * Enters the queue and returns the robot's ticket.
+     */
+    public int takeTicket() {
+        return nextTicket.getAndIncrement();
+    }
+
+    /**
+     * Checks if the ticket holder may use the dock.
+     */
+    public boolean isServing(int ticket) {
+        return nowServing.get() == ticket;
+    }
+
+    /**
+     * Frees the dock for the next ticket, called by the robot being served.
+     */
+    public void leave() {
+        nowServing.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of robots queued or docked.
+     */
+    public int getLength() {
+        return nextTicket.get() - nowServing.get();
+    }
+}
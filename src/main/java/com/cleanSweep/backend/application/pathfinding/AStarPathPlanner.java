@@ -0,0 +1,100 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+/**
+ * On-demand A* search between two cells. Edge weights are the moving power costs of
+ * the {@link CostGrid}, i.e. twice {@code Sensor.getMovingPowerCost}. The heuristic is
+ * the Manhattan distance times the cheapest possible move, which never overestimates
+ * and is consistent, so the f-values popped are non-decreasing and a bucket queue can
+ * be used. Scratch state is kept in pages of the grid's memory that are released at the
+ * start of every query, so memory follows the area the last query searched rather than
+ * the size of the grid.
+ */
+public class AStarPathPlanner implements PathPlanner {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int UNSEEN = Integer.MAX_VALUE;
+
+    private final CostGrid grid;
+    private final int minMoveCost;
+    private final BucketQueue open;
+    private final CellInts g;
+    private final CellBytes cameFrom;
+    private final CellBytes closed;
+
+    public AStarPathPlanner(CostGrid grid) {
+        this.grid = grid;
+        this.minMoveCost = grid.minSurfaceUnit() * 2;
+        this.open = new BucketQueue(grid.maxMoveCost() + minMoveCost + 1);
+        this.g = grid.getMemory().ints(grid.size(), UNSEEN);
+        this.cameFrom = grid.getMemory().bytes(grid.size(), -1);
+        this.closed = grid.getMemory().bytes(grid.size(), 0);
+    }
+
+    @Override
+    public int[] findPath(int start, int goal) {
+        if (grid.isBlocked(start) || grid.isBlocked(goal)) {
+            return null;
+        }
+        open.clear();
+        g.clear();
+        cameFrom.clear();
+        closed.clear();
+        g.set(start, 0);
+        open.insert(start, heuristic(start, goal));
+
+        int current;
+        while ((current = open.poll()) != -1) {
+            if (closed.get(current) != 0) {
+                continue; // Queued again with a lower f-value, which was already expanded
+            }
+            if (current == goal) {
+                open.clear();
+                return reconstruct(start, goal);
+            }
+            closed.set(current, 1);
+            for (Direction direction : DIRECTIONS) {
+                int next = grid.neighbor(current, direction);
+                if (next == -1 || grid.isBlocked(next) || closed.get(next) != 0) {
+                    continue;
+                }
+                int tentative = g.get(current) + grid.moveCost(current, next);
+                if (tentative < g.get(next)) {
+                    g.set(next, tentative);
+                    cameFrom.set(next, direction.opposite().ordinal());
+                    open.insert(next, tentative + heuristic(next, goal));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the power needed by the route found by the last successful query ending at goal.
+     */
+    public double getPathCost(int goal) {
+        return g.get(goal) / 2.0;
+    }
+
+    private int heuristic(int from, int to) {
+        int cols = grid.getCols();
+        return (Math.abs(from / cols - to / cols) + Math.abs(from % cols - to % cols)) * minMoveCost;
+    }
+
+    private int[] reconstruct(int start, int goal) {
+        int length = 1;
+        for (int cell = goal; cell != start; cell = grid.neighbor(cell, DIRECTIONS[cameFrom.get(cell)])) {
+            length++;
+        }
+        int[] path = new int[length];
+        int cell = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            if (i > 0) {
+                cell = grid.neighbor(cell, DIRECTIONS[cameFrom.get(cell)]);
+            }
+        }
+        return path;
+    }
+}
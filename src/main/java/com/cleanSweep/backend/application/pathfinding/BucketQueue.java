@@ -0,0 +1,86 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Monotone priority queue for small non-negative integer priorities (Dial's algorithm).
+ * Items are cell indices kept in circular buckets of growable primitive arrays, so the
+ * queue holds nothing per cell and its memory follows the search frontier rather than
+ * the grid. An item whose priority drops is simply inserted again: its old entry is
+ * still returned later with the old priority, and callers skip an entry when
+ * {@link #currentPriority()} is above the best distance they have for the item.
+ * All queued priorities must lie within {@code bucketCount - 1} of the smallest queued one.
+ */
+public class BucketQueue {
+
+    private static final int NONE = -1;
+
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private long size;
+    private int cursor = Integer.MAX_VALUE;
+
+    public BucketQueue(int bucketCount) {
+        this.buckets = new int[bucketCount][];
+        this.bucketSizes = new int[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            buckets[bucket] = new int[16];
+        }
+    }
+
+    public int bucketCount() {
+        return buckets.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Queues the item with the given priority. An entry queued earlier for the same item is kept.
+     */
+    public void insert(int item, int priority) {
+        if (priority < cursor) {
+            cursor = priority;
+        }
+        int bucket = priority % buckets.length;
+        int[] items = buckets[bucket];
+        if (bucketSizes[bucket] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            buckets[bucket] = items;
+        }
+        items[bucketSizes[bucket]++] = item;
+        size++;
+    }
+
+    /**
+     * Removes and returns an item with the smallest priority, or -1 if the queue is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            return NONE;
+        }
+        while (bucketSizes[cursor % buckets.length] == 0) {
+            cursor++;
+        }
+        int bucket = cursor % buckets.length;
+        size--;
+        return buckets[bucket][--bucketSizes[bucket]];
+    }
+
+    /**
+     * Returns the priority of the item returned by the last poll.
+     */
+    public int currentPriority() {
+        return cursor;
+    }
+
+    /**
+     * Removes every queued item so the queue can be reused after an early exit.
+     */
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        size = 0;
+        cursor = Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+/**
+ * Shortest-path engine based on Dial's algorithm. Moving costs are small integers in
+ * half power units, so a circular bucket queue replaces the binary heap and every
+ * cell is settled in constant time. Besides the field itself, the engine only keeps
+ * the queue, which is reused between runs and grows with the search frontier.
+ */
+public class BucketQueueEngine implements ShortestPathEngine {
+
+    private BucketQueue queue;
+
+    @Override
+    public void compute(CostGrid grid, int[] sources, StationDistanceField field) {
+        field.reset();
+        BucketQueue queue = queueFor(grid);
+
+        for (int source : sources) {
+            if (!grid.isBlocked(source)) {
+                field.update(source, 0, -1);
+                queue.insert(source, 0);
+            }
+        }
+
+        int current;
+        while ((current = queue.poll()) != -1) {
+            int dist = field.getHalfUnits(current);
+            if (queue.currentPriority() > dist) {
+                continue; // Queued again with a shorter distance, which was already settled
+            }
+            for (Direction direction : CostGrid.directions()) {
+                int next = grid.neighbor(current, direction);
+                if (next == -1 || grid.isBlocked(next)) {
+                    continue;
+                }
+                int newDist = dist + grid.moveCost(current, next);
+                if (newDist < field.getHalfUnits(next)) {
+                    field.update(next, newDist, direction.opposite().ordinal());
+                    queue.insert(next, newDist);
+                }
+            }
+        }
+    }
+
+    private BucketQueue queueFor(CostGrid grid) {
+        int bucketCount = grid.maxMoveCost() + 1;
+        if (queue == null || queue.bucketCount() < bucketCount) {
+            queue = new BucketQueue(bucketCount);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,141 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Signed byte value per cell, addressed by packed cell index. Values are kept in pages
+ * that are allocated on the first write of a value other than the fill value, so
+ * planning state costs memory only in the part of the grid a search reaches.
+ * Unallocated cells read as the fill value. Created by a {@link PlanningMemory}, which
+ * decides where pages live.
+ */
+public abstract class CellBytes {
+
+    public abstract int get(int index);
+
+    public abstract void set(int index, int value);
+
+    /**
+     * Resets every cell to the fill value and releases the pages.
+     */
+    public abstract void clear();
+
+    /**
+     * Returns the number of bytes held by allocated pages.
+     */
+    public abstract long allocatedBytes();
+
+    /**
+     * Pages of 4096 cells in byte arrays on the heap.
+     */
+    static final class OnHeap extends CellBytes {
+
+        private static final int PAGE_SHIFT = 12;
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final byte fill;
+        private final byte[][] pages;
+        private int allocatedPages;
+
+        OnHeap(int size, int fill) {
+            this.fill = (byte) fill;
+            this.pages = new byte[(int) (((long) size + PAGE_MASK) >>> PAGE_SHIFT)][];
+        }
+
+        @Override
+        public int get(int index) {
+            byte[] page = pages[index >>> PAGE_SHIFT];
+            return page == null ? fill : page[index & PAGE_MASK];
+        }
+
+        @Override
+        public void set(int index, int value) {
+            byte[] page = pages[index >>> PAGE_SHIFT];
+            if (page == null) {
+                if ((byte) value == fill) {
+                    return;
+                }
+                page = new byte[PAGE_SIZE];
+                if (fill != 0) {
+                    Arrays.fill(page, fill);
+                }
+                pages[index >>> PAGE_SHIFT] = page;
+                allocatedPages++;
+            }
+            page[index & PAGE_MASK] = (byte) value;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(pages, null);
+            allocatedPages = 0;
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return (long) allocatedPages * PAGE_SIZE;
+        }
+    }
+
+    /**
+     * Pages of 65536 cells in buffers handed out by an off-heap memory.
+     */
+    static final class OffHeap extends CellBytes {
+
+        private static final int PAGE_SHIFT = 16;
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final PlanningMemory memory;
+        private final byte fill;
+        private final ByteBuffer[] pages;
+        private int allocatedPages;
+
+        OffHeap(PlanningMemory memory, int size, int fill) {
+            this.memory = memory;
+            this.fill = (byte) fill;
+            this.pages = new ByteBuffer[(int) (((long) size + PAGE_MASK) >>> PAGE_SHIFT)];
+        }
+
+        @Override
+        public int get(int index) {
+            ByteBuffer page = pages[index >>> PAGE_SHIFT];
+            return page == null ? fill : page.get(index & PAGE_MASK);
+        }
+
+        @Override
+        public void set(int index, int value) {
+            ByteBuffer page = pages[index >>> PAGE_SHIFT];
+            if (page == null) {
+                if ((byte) value == fill) {
+                    return;
+                }
+                page = memory.allocatePage(PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    page.put(i, fill);
+                }
+                pages[index >>> PAGE_SHIFT] = page;
+                allocatedPages++;
+            }
+            page.put(index & PAGE_MASK, (byte) value);
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < pages.length; i++) {
+                if (pages[i] != null) {
+                    memory.releasePage(pages[i]);
+                    pages[i] = null;
+                }
+            }
+            allocatedPages = 0;
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return (long) allocatedPages * PAGE_SIZE;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Int value per cell, addressed by packed cell index. Values are kept in pages that are
+ * allocated on the first write of a value other than the fill value, so planning state
+ * costs memory only in the part of the grid a search reaches. Unallocated cells read as
+ * the fill value. Created by a {@link PlanningMemory}, which decides where pages live.
+ */
+public abstract class CellInts {
+
+    public abstract int get(int index);
+
+    public abstract void set(int index, int value);
+
+    /**
+     * Resets every cell to the fill value and releases the pages.
+     */
+    public abstract void clear();
+
+    /**
+     * Returns the number of bytes held by allocated pages.
+     */
+    public abstract long allocatedBytes();
+
+    /**
+     * Pages of 4096 cells in int arrays on the heap.
+     */
+    static final class OnHeap extends CellInts {
+
+        private static final int PAGE_SHIFT = 12;
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final int fill;
+        private final int[][] pages;
+        private int allocatedPages;
+
+        OnHeap(int size, int fill) {
+            this.fill = fill;
+            this.pages = new int[(int) (((long) size + PAGE_MASK) >>> PAGE_SHIFT)][];
+        }
+
+        @Override
+        public int get(int index) {
+            int[] page = pages[index >>> PAGE_SHIFT];
+            return page == null ? fill : page[index & PAGE_MASK];
+        }
+
+        @Override
+        public void set(int index, int value) {
+            int[] page = pages[index >>> PAGE_SHIFT];
+            if (page == null) {
+                if (value == fill) {
+                    return;
+                }
+                page = new int[PAGE_SIZE];
+                if (fill != 0) {
+                    Arrays.fill(page, fill);
+                }
+                pages[index >>> PAGE_SHIFT] = page;
+                allocatedPages++;
+            }
+            page[index & PAGE_MASK] = value;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(pages, null);
+            allocatedPages = 0;
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return (long) allocatedPages * PAGE_SIZE * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Pages of 65536 cells in buffers handed out by an off-heap memory.
+     */
+    static final class OffHeap extends CellInts {
+
+        private static final int PAGE_SHIFT = 16;
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final PlanningMemory memory;
+        private final int fill;
+        private final ByteBuffer[] pages;
+        private int allocatedPages;
+
+        OffHeap(PlanningMemory memory, int size, int fill) {
+            this.memory = memory;
+            this.fill = fill;
+            this.pages = new ByteBuffer[(int) (((long) size + PAGE_MASK) >>> PAGE_SHIFT)];
+        }
+
+        @Override
+        public int get(int index) {
+            ByteBuffer page = pages[index >>> PAGE_SHIFT];
+            return page == null ? fill : page.getInt((index & PAGE_MASK) << 2);
+        }
+
+        @Override
+        public void set(int index, int value) {
+            ByteBuffer page = pages[index >>> PAGE_SHIFT];
+            if (page == null) {
+                if (value == fill) {
+                    return;
+                }
+                page = memory.allocatePage(PAGE_SIZE * Integer.BYTES);
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    page.putInt(i << 2, fill);
+                }
+                pages[index >>> PAGE_SHIFT] = page;
+                allocatedPages++;
+            }
+            page.putInt((index & PAGE_MASK) << 2, value);
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < pages.length; i++) {
+                if (pages[i] != null) {
+                    memory.releasePage(pages[i]);
+                    pages[i] = null;
+                }
+            }
+            allocatedPages = 0;
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return (long) allocatedPages * PAGE_SIZE * Integer.BYTES;
+        }
+    }
+}
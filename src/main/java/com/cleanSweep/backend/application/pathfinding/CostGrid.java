@@ -0,0 +1,170 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.application.SensorSimulatorService;
+import com.cleanSweep.backend.common.Direction;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorMap;
+
+/**
+ * Primitive snapshot of the floor used by the path finding engines.
+ * Cells are addressed by the packed index x * cols + y. Moving power costs are
+ * kept in integer half-units: the cost of a move is the sum of the two surface
+ * units, which is exactly twice the average returned by
+ * {@link SensorSimulatorService#getMovingPowerCost}. Cells are kept in
+ * {@link CellBytes} pages, so stretches of free bare floor take no memory. The grid's
+ * {@link PlanningMemory} also holds the scratch state of the planners built on it.
+ */
+public class CostGrid {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int MAX_UNIT = Byte.MAX_VALUE;
+    private static final int BLOCK_SIZE = 64;
+
+    private final int rows;
+    private final int cols;
+    private final PlanningMemory memory;
+    private final CellBytes surfaceUnit;
+    private final CellBytes blocked;
+    private final long[] unitCounts = new long[MAX_UNIT + 1];
+
+    public CostGrid(int rows, int cols) {
+        this(rows, cols, PlanningMemory.heap());
+    }
+
+    public CostGrid(int rows, int cols, PlanningMemory memory) {
+        this.rows = rows;
+        this.cols = cols;
+        this.memory = memory;
+        this.surfaceUnit = memory.bytes(rows * cols, 1);
+        this.blocked = memory.bytes(rows * cols, 0);
+        unitCounts[1] = (long) rows * cols;
+    }
+
+    /**
+     * Builds a cost grid on the heap from the current floor map and obstacle sensor.
+     */
+    public static CostGrid of(FloorMap floorMap, SensorSimulatorService sensor) {
+        return of(floorMap, sensor, PlanningMemory.heap());
+    }
+
+    /**
+     * Builds a cost grid in the given memory from the current floor map and obstacle sensor.
+     * The floor is read in blocks of 64x64 cells, and blocks the floor knows to be open
+     * bare floor are skipped, since they match the defaults of a new grid.
+     */
+    public static CostGrid of(FloorMap floorMap, SensorSimulatorService sensor, PlanningMemory memory) {
+        FloorGrid floorGrid = floorMap.getGrid();
+        CostGrid grid = new CostGrid(floorGrid.getRows(), floorGrid.getCols(), memory);
+        for (int firstX = 0; firstX < grid.rows; firstX += BLOCK_SIZE) {
+            for (int firstY = 0; firstY < grid.cols; firstY += BLOCK_SIZE) {
+                if (floorGrid.isOpenBareFloor(firstX, firstY, BLOCK_SIZE)) {
+                    continue;
+                }
+                for (int x = firstX; x < Math.min(firstX + BLOCK_SIZE, grid.rows); x++) {
+                    for (int y = firstY; y < Math.min(firstY + BLOCK_SIZE, grid.cols); y++) {
+                        grid.setSurfaceUnit(x, y, sensor.getSurfaceUnit(x, y));
+                        grid.setBlocked(x, y, sensor.isObstacle(x, y));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the memory that holds this grid and the planning state built on it.
+     */
+    public PlanningMemory getMemory() {
+        return memory;
+    }
+
+    public int size() {
+        return rows * cols;
+    }
+
+    public int index(int x, int y) {
+        return x * cols + y;
+    }
+
+    public void setSurfaceUnit(int x, int y, int unit) {
+        if (unit < 0 || unit > MAX_UNIT) {
+            throw new IllegalArgumentException("Surface unit out of range: " + unit);
+        }
+        int index = index(x, y);
+        unitCounts[surfaceUnit.get(index)]--;
+        unitCounts[unit]++;
+        surfaceUnit.set(index, unit);
+    }
+
+    public int getSurfaceUnit(int index) {
+        return surfaceUnit.get(index);
+    }
+
+    public void setBlocked(int x, int y, boolean isBlocked) {
+        blocked.set(index(x, y), isBlocked ? 1 : 0);
+    }
+
+    public boolean isBlocked(int index) {
+        return blocked.get(index) != 0;
+    }
+
+    /**
+     * Returns the cost in half power units of moving between two adjacent cells.
+     */
+    public int moveCost(int from, int to) {
+        return surfaceUnit.get(from) + surfaceUnit.get(to);
+    }
+
+    /**
+     * Returns the index of the neighbour in the given direction, or -1 if it is outside the grid.
+     */
+    public int neighbor(int index, Direction direction) {
+        int x = index / cols + direction.getXOffset();
+        int y = index % cols + direction.getYOffset();
+        if (x < 0 || y < 0 || x >= rows || y >= cols) {
+            return -1;
+        }
+        return x * cols + y;
+    }
+
+    /**
+     * Returns the largest cost in half units a single move can have on this grid.
+     */
+    public int maxMoveCost() {
+        int max = MAX_UNIT;
+        while (max > 0 && unitCounts[max] == 0) {
+            max--;
+        }
+        return max * 2;
+    }
+
+    /**
+     * Returns the smallest surface unit of any cell of this grid.
+     */
+    public int minSurfaceUnit() {
+        int min = 0;
+        while (min < MAX_UNIT && unitCounts[min] == 0) {
+            min++;
+        }
+        return min;
+    }
+
+    /**
+     * Returns the number of bytes held by the pages of this grid.
+     */
+    public long allocatedBytes() {
+        return surfaceUnit.allocatedBytes() + blocked.allocatedBytes();
+    }
+
+    static Direction[] directions() {
+        return DIRECTIONS;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Reference shortest-path engine using Dijkstra's algorithm with a binary heap and
+ * floating point distances. It is kept to check the faster engines against.
+ */
+public class DijkstraEngine implements ShortestPathEngine {
+
+    /**
+     * Helper class to store a packed cell index and its tentative distance.
+     */
+    private static class Node {
+        final double dist;
+        final int index;
+
+        Node(double dist, int index) {
+            this.dist = dist;
+            this.index = index;
+        }
+    }
+
+    @Override
+    public void compute(CostGrid grid, int[] sources, StationDistanceField field) {
+        field.reset();
+        double[] distances = new double[grid.size()];
+        boolean[] settled = new boolean[grid.size()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        PriorityQueue<Node> pq = new PriorityQueue<>((a, b) -> Double.compare(a.dist, b.dist));
+        for (int source : sources) {
+            if (!grid.isBlocked(source)) {
+                distances[source] = 0;
+                field.update(source, 0, -1);
+                pq.offer(new Node(0, source));
+            }
+        }
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll();
+            if (settled[current.index]) {
+                continue;
+            }
+            settled[current.index] = true;
+
+            for (Direction direction : CostGrid.directions()) {
+                int next = grid.neighbor(current.index, direction);
+                if (next == -1 || settled[next] || grid.isBlocked(next)) {
+                    continue;
+                }
+                // weight is moving power cost
+                double newDist = current.dist + grid.moveCost(current.index, next) / 2.0;
+                if (newDist < distances[next]) {
+                    distances[next] = newDist;
+                    field.update(next, (int) Math.round(newDist * 2), direction.opposite().ordinal());
+                    pq.offer(new Node(newDist, next));
+                }
+            }
+        }
+    }
+}
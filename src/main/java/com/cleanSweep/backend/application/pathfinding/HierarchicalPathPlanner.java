@@ -0,0 +1,518 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hierarchical path planner (HPA*) for very large floors.
+ * The grid is partitioned into square clusters. Every maximal run of free cell pairs
+ * across a cluster border becomes one entrance, whose two cells are nodes of an
+ * abstract graph. Nodes of the same cluster are linked by their precomputed
+ * cluster-local costs. A query searches the small abstract graph first and then
+ * refines each abstract edge with a search bounded to a single cluster.
+ * <p>
+ * Cluster data is rebuilt lazily. A changed cell invalidates its own cluster, and
+ * also the neighbouring cluster when the cell lies on their shared border, because
+ * both sides of an entrance depend on it.
+ */
+public class HierarchicalPathPlanner implements PathPlanner {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Entrance nodes of one cluster and the costs between them.
+     */
+    private static class Cluster {
+        int[] nodes;
+        int[][] partners; // Cells across the border reached from each node
+        int[] costs;      // nodes.length x nodes.length cluster-local costs
+    }
+
+    private final CostGrid grid;
+    private final int clusterSize;
+    private final int clusterRows;
+    private final int clusterCols;
+    private final Cluster[] clusters;
+    private final int[][] rightEntrances; // Pairs of cells across the border to the right of each cluster
+    private final int[][] downEntrances;  // Pairs of cells across the border below each cluster
+    private final boolean[] dirtyCluster;
+    private final boolean[] dirtyRight;
+    private final boolean[] dirtyDown;
+    private boolean dirty = true;
+    private final int minMoveCost;
+    private final LocalSearch local;
+
+    // Abstract search state, indexed by cluster * stride + entrance number
+    private final int stride;
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private final Map<Integer, int[]> goalEdges = new HashMap<>();
+    private int[] g = new int[0];
+    private int[] parent = new int[0];
+    private int[] seen = new int[0];
+    private int[] goalStamp = new int[0];
+    private int epoch;
+
+    public HierarchicalPathPlanner(CostGrid grid, int clusterSize) {
+        this.grid = grid;
+        this.clusterSize = clusterSize;
+        this.clusterRows = (grid.getRows() + clusterSize - 1) / clusterSize;
+        this.clusterCols = (grid.getCols() + clusterSize - 1) / clusterSize;
+        int count = clusterRows * clusterCols;
+        this.clusters = new Cluster[count];
+        this.rightEntrances = new int[count][];
+        this.downEntrances = new int[count][];
+        this.dirtyCluster = new boolean[count];
+        this.dirtyRight = new boolean[count];
+        this.dirtyDown = new boolean[count];
+        Arrays.fill(dirtyCluster, true);
+        Arrays.fill(dirtyRight, true);
+        Arrays.fill(dirtyDown, true);
+
+        int minUnit = Integer.MAX_VALUE;
+        for (int i = 0; i < grid.size(); i++) {
+            minUnit = Math.min(minUnit, grid.getSurfaceUnit(i));
+        }
+        this.minMoveCost = Math.max(0, minUnit * 2);
+        this.local = new LocalSearch();
+        this.stride = 2 * clusterSize + 4; // At most one entrance per two border cells on each side
+    }
+
+    @Override
+    public int[] findPath(int start, int goal) {
+        return findPathToAny(start, new int[] { goal });
+    }
+
+    /**
+     * Returns a route from start to whichever goal is cheapest to reach, such as the
+     * nearest charging station, or null if no goal can be reached.
+     */
+    public int[] findPathToAny(int start, int[] goals) {
+        refresh();
+        if (grid.isBlocked(start)) {
+            return null;
+        }
+        int goalBase = clusters.length * stride;
+        int startNode = goalBase + goals.length;
+        prepareSearch(startNode + 1);
+
+        // Link entrances to the goals of their cluster with virtual edges
+        for (int i = 0; i < goals.length; i++) {
+            if (grid.isBlocked(goals[i])) {
+                continue;
+            }
+            int cluster = clusterOf(goals[i]);
+            int[] nodes = clusters[cluster].nodes;
+            local.run(cluster, goals[i], -1);
+            for (int j = 0; j < nodes.length; j++) {
+                int cost = local.distanceTo(nodes[j]);
+                if (cost != UNREACHABLE) {
+                    int node = cluster * stride + j;
+                    int[] edges = goalStamp[node] == epoch ? goalEdges.get(node) : new int[0];
+                    int[] grown = Arrays.copyOf(edges, edges.length + 2);
+                    grown[edges.length] = goalBase + i;
+                    grown[edges.length + 1] = cost;
+                    goalEdges.put(node, grown);
+                    goalStamp[node] = epoch;
+                }
+            }
+        }
+
+        // Link the start to the entrances and goals of its own cluster
+        int startCluster = clusterOf(start);
+        int[] startNodes = clusters[startCluster].nodes;
+        local.run(startCluster, start, -1);
+        g[startNode] = 0;
+        parent[startNode] = -1;
+        seen[startNode] = epoch;
+        for (int j = 0; j < startNodes.length; j++) {
+            relax(startNode, startCluster * stride + j, local.distanceTo(startNodes[j]), goals);
+        }
+        for (int i = 0; i < goals.length; i++) {
+            if (!grid.isBlocked(goals[i]) && clusterOf(goals[i]) == startCluster) {
+                relax(startNode, goalBase + i, local.distanceTo(goals[i]), goals);
+            }
+        }
+
+        int reached = -1;
+        int current;
+        while ((current = open.poll()) != -1) {
+            if (current >= goalBase) {
+                reached = current;
+                break;
+            }
+            int cluster = current / stride;
+            int i = current % stride;
+            Cluster entry = clusters[cluster];
+            int n = entry.nodes.length;
+            for (int j = 0; j < n; j++) {
+                relax(current, cluster * stride + j, entry.costs[i * n + j], goals);
+            }
+            for (int partner : entry.partners[i]) {
+                int partnerCluster = clusterOf(partner);
+                int partnerNode = partnerCluster * stride + indexOf(clusters[partnerCluster].nodes, partner);
+                relax(current, partnerNode, grid.moveCost(entry.nodes[i], partner), goals);
+            }
+            if (goalStamp[current] == epoch) {
+                int[] edges = goalEdges.get(current);
+                for (int e = 0; e < edges.length; e += 2) {
+                    relax(current, edges[e], edges[e + 1], goals);
+                }
+            }
+        }
+        open.clear();
+        goalEdges.clear();
+        if (reached == -1) {
+            return null;
+        }
+
+        // Refine every abstract edge into grid moves
+        int abstractLength = 0;
+        for (int node = reached; node != -1; node = parent[node]) {
+            abstractLength++;
+        }
+        int[] waypoints = new int[abstractLength];
+        int node = reached;
+        for (int w = abstractLength - 1; w >= 0; w--) {
+            waypoints[w] = cellOf(node, start, goals);
+            node = parent[node];
+        }
+        int[] route = new int[16];
+        int length = 0;
+        route[length++] = start;
+        for (int w = 1; w < waypoints.length; w++) {
+            int from = waypoints[w - 1];
+            int to = waypoints[w];
+            if (clusterOf(from) != clusterOf(to)) {
+                route = append(route, length++, to);
+                continue;
+            }
+            local.run(clusterOf(from), from, to);
+            int[] segment = local.pathTo(from, to);
+            for (int s = 1; s < segment.length; s++) {
+                route = append(route, length++, segment[s]);
+            }
+        }
+        return Arrays.copyOf(route, length);
+    }
+
+    @Override
+    public void onCellChanged(int index) {
+        int x = index / grid.getCols();
+        int y = index % grid.getCols();
+        int clusterX = x / clusterSize;
+        int clusterY = y / clusterSize;
+        int cluster = clusterX * clusterCols + clusterY;
+        dirtyCluster[cluster] = true;
+        if (y % clusterSize == clusterSize - 1 && clusterY + 1 < clusterCols) {
+            dirtyRight[cluster] = true;
+            dirtyCluster[cluster + 1] = true;
+        }
+        if (y % clusterSize == 0 && clusterY > 0) {
+            dirtyRight[cluster - 1] = true;
+            dirtyCluster[cluster - 1] = true;
+        }
+        if (x % clusterSize == clusterSize - 1 && clusterX + 1 < clusterRows) {
+            dirtyDown[cluster] = true;
+            dirtyCluster[cluster + clusterCols] = true;
+        }
+        if (x % clusterSize == 0 && clusterX > 0) {
+            dirtyDown[cluster - clusterCols] = true;
+            dirtyCluster[cluster - clusterCols] = true;
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns the number of clusters the grid is partitioned into.
+     */
+    public int getClusterCount() {
+        return clusters.length;
+    }
+
+    private void prepareSearch(int capacity) {
+        if (g.length < capacity) {
+            g = new int[capacity];
+            parent = new int[capacity];
+            seen = new int[capacity];
+            goalStamp = new int[capacity];
+        }
+        open.ensureCapacity(capacity);
+        open.clear();
+        epoch++;
+    }
+
+    private void relax(int from, int to, int edgeCost, int[] goals) {
+        if (edgeCost == UNREACHABLE || to == from) {
+            return;
+        }
+        int tentative = g[from] + edgeCost;
+        if (seen[to] != epoch || tentative < g[to]) {
+            seen[to] = epoch;
+            g[to] = tentative;
+            parent[to] = from;
+            open.insertOrDecrease(to, tentative + heuristic(to, goals));
+        }
+    }
+
+    /**
+     * Returns the grid cell of an abstract node, including the virtual start and goal nodes.
+     */
+    private int cellOf(int node, int start, int[] goals) {
+        int goalBase = clusters.length * stride;
+        if (node >= goalBase) {
+            return node - goalBase < goals.length ? goals[node - goalBase] : start;
+        }
+        return clusters[node / stride].nodes[node % stride];
+    }
+
+    private int heuristic(int node, int[] goals) {
+        int goalBase = clusters.length * stride;
+        if (node >= goalBase && node - goalBase < goals.length) {
+            return 0;
+        }
+        int from = clusters[node / stride].nodes[node % stride];
+        int cols = grid.getCols();
+        int best = UNREACHABLE;
+        for (int goal : goals) {
+            int manhattan = Math.abs(from / cols - goal / cols) + Math.abs(from % cols - goal % cols);
+            best = Math.min(best, manhattan * minMoveCost);
+        }
+        return best;
+    }
+
+    private int clusterOf(int index) {
+        return (index / grid.getCols() / clusterSize) * clusterCols + (index % grid.getCols()) / clusterSize;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] append(int[] route, int position, int cell) {
+        if (position == route.length) {
+            route = Arrays.copyOf(route, route.length * 2);
+        }
+        route[position] = cell;
+        return route;
+    }
+
+    /**
+     * Rebuilds the entrances and cluster costs invalidated since the last query.
+     */
+    private void refresh() {
+        if (!dirty) {
+            return;
+        }
+        for (int cluster = 0; cluster < clusters.length; cluster++) {
+            if (dirtyRight[cluster]) {
+                rightEntrances[cluster] = buildEntrances(cluster, true);
+                dirtyRight[cluster] = false;
+            }
+            if (dirtyDown[cluster]) {
+                downEntrances[cluster] = buildEntrances(cluster, false);
+                dirtyDown[cluster] = false;
+            }
+        }
+        for (int cluster = 0; cluster < clusters.length; cluster++) {
+            if (dirtyCluster[cluster]) {
+                clusters[cluster] = buildCluster(cluster);
+                dirtyCluster[cluster] = false;
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Finds the entrances on the border to the right of or below the cluster.
+     * Each maximal run of free cell pairs yields one entrance at its middle.
+     */
+    private int[] buildEntrances(int cluster, boolean right) {
+        int clusterX = cluster / clusterCols;
+        int clusterY = cluster % clusterCols;
+        if ((right && clusterY + 1 >= clusterCols) || (!right && clusterX + 1 >= clusterRows)) {
+            return new int[0];
+        }
+        int fixed = right ? (clusterY + 1) * clusterSize - 1 : (clusterX + 1) * clusterSize - 1;
+        int from = right ? clusterX * clusterSize : clusterY * clusterSize;
+        int to = Math.min(from + clusterSize, right ? grid.getRows() : grid.getCols());
+
+        int[] pairs = new int[0];
+        int runStart = -1;
+        for (int along = from; along <= to; along++) {
+            boolean open = false;
+            if (along < to) {
+                int inside = right ? grid.index(along, fixed) : grid.index(fixed, along);
+                int outside = right ? grid.index(along, fixed + 1) : grid.index(fixed + 1, along);
+                open = !grid.isBlocked(inside) && !grid.isBlocked(outside);
+            }
+            if (open && runStart == -1) {
+                runStart = along;
+            } else if (!open && runStart != -1) {
+                int middle = (runStart + along - 1) / 2;
+                pairs = Arrays.copyOf(pairs, pairs.length + 2);
+                pairs[pairs.length - 2] = right ? grid.index(middle, fixed) : grid.index(fixed, middle);
+                pairs[pairs.length - 1] = right ? grid.index(middle, fixed + 1) : grid.index(fixed + 1, middle);
+                runStart = -1;
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Collects the entrance nodes on all four sides of the cluster and computes the
+     * cluster-local cost between every pair of them.
+     */
+    private Cluster buildCluster(int cluster) {
+        Map<Integer, int[]> partners = new LinkedHashMap<>();
+        addSide(partners, rightEntrances[cluster], 0);
+        addSide(partners, downEntrances[cluster], 0);
+        if (cluster % clusterCols > 0) {
+            addSide(partners, rightEntrances[cluster - 1], 1);
+        }
+        if (cluster >= clusterCols) {
+            addSide(partners, downEntrances[cluster - clusterCols], 1);
+        }
+
+        Cluster result = new Cluster();
+        int n = partners.size();
+        result.nodes = new int[n];
+        result.partners = new int[n][];
+        int i = 0;
+        for (Map.Entry<Integer, int[]> entry : partners.entrySet()) {
+            result.nodes[i] = entry.getKey();
+            result.partners[i] = entry.getValue();
+            i++;
+        }
+        result.costs = new int[n * n];
+        for (i = 0; i < n; i++) {
+            local.run(cluster, result.nodes[i], -1);
+            for (int j = 0; j < n; j++) {
+                result.costs[i * n + j] = local.distanceTo(result.nodes[j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds one side of the given entrance pairs as nodes, linked to the cell across the border.
+     */
+    private void addSide(Map<Integer, int[]> partners, int[] pairs, int side) {
+        for (int p = 0; p < pairs.length; p += 2) {
+            int node = pairs[p + side];
+            int partner = pairs[p + 1 - side];
+            int[] existing = partners.getOrDefault(node, new int[0]);
+            int[] grown = Arrays.copyOf(existing, existing.length + 1);
+            grown[existing.length] = partner;
+            partners.put(node, grown);
+        }
+    }
+
+    /**
+     * Dijkstra search confined to one cluster, with scratch buffers sized to a single
+     * cluster and reused between searches. Cells are addressed by their position inside
+     * the cluster, so no bounds arithmetic on global indices is needed per move.
+     */
+    private class LocalSearch {
+
+        private final int[] dist = new int[clusterSize * clusterSize];
+        private final byte[] cameFrom = new byte[clusterSize * clusterSize];
+        private final int[] stamp = new int[clusterSize * clusterSize];
+        private final BucketQueue queue = new BucketQueue(grid.maxMoveCost() + 1);
+        private int epoch;
+        private int x0;
+        private int y0;
+        private int height;
+        private int width;
+
+        /**
+         * Searches from source within the cluster, stopping early once target is settled.
+         * Pass -1 as target to settle the whole cluster.
+         */
+        void run(int cluster, int source, int target) {
+            epoch++;
+            queue.clear();
+            x0 = (cluster / clusterCols) * clusterSize;
+            y0 = (cluster % clusterCols) * clusterSize;
+            height = Math.min(clusterSize, grid.getRows() - x0);
+            width = Math.min(clusterSize, grid.getCols() - y0);
+
+            int sourceLocal = toLocal(source);
+            dist[sourceLocal] = 0;
+            cameFrom[sourceLocal] = -1;
+            stamp[sourceLocal] = epoch;
+            queue.insert(sourceLocal, 0);
+            int targetLocal = target == -1 ? -1 : toLocal(target);
+
+            int current;
+            while ((current = queue.poll()) != -1) {
+                if (queue.currentPriority() > dist[current]) {
+                    continue;
+                }
+                if (current == targetLocal) {
+                    queue.clear();
+                    return;
+                }
+                int localX = current / clusterSize;
+                int localY = current % clusterSize;
+                int cell = grid.index(x0 + localX, y0 + localY);
+                for (Direction direction : DIRECTIONS) {
+                    int nextX = localX + direction.getXOffset();
+                    int nextY = localY + direction.getYOffset();
+                    if (nextX < 0 || nextY < 0 || nextX >= height || nextY >= width) {
+                        continue;
+                    }
+                    int next = grid.index(x0 + nextX, y0 + nextY);
+                    if (grid.isBlocked(next)) {
+                        continue;
+                    }
+                    int nextLocal = nextX * clusterSize + nextY;
+                    int newDist = dist[current] + grid.moveCost(cell, next);
+                    if (stamp[nextLocal] != epoch || newDist < dist[nextLocal]) {
+                        stamp[nextLocal] = epoch;
+                        dist[nextLocal] = newDist;
+                        cameFrom[nextLocal] = (byte) direction.opposite().ordinal();
+                        queue.insert(nextLocal, newDist);
+                    }
+                }
+            }
+        }
+
+        int distanceTo(int cell) {
+            int cellLocal = toLocal(cell);
+            return stamp[cellLocal] == epoch ? dist[cellLocal] : UNREACHABLE;
+        }
+
+        /**
+         * Returns the route found by the last run from source to target, both inclusive.
+         */
+        int[] pathTo(int source, int target) {
+            int length = 1;
+            for (int cell = target; cell != source; cell = grid.neighbor(cell, DIRECTIONS[cameFrom[toLocal(cell)]])) {
+                length++;
+            }
+            int[] path = new int[length];
+            int cell = target;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i] = cell;
+                if (i > 0) {
+                    cell = grid.neighbor(cell, DIRECTIONS[cameFrom[toLocal(cell)]]);
+                }
+            }
+            return path;
+        }
+
+        private int toLocal(int cell) {
+            return (cell / grid.getCols() - x0) * clusterSize + (cell % grid.getCols() - y0);
+        }
+    }
+}
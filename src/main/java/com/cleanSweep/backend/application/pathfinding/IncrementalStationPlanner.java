@@ -0,0 +1,185 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a {@link StationDistanceField} up to date while obstacles appear and disappear.
+ * Instead of recomputing the whole field, each event repairs only the cells whose
+ * shortest route changes, in the spirit of LPA* / D* Lite:
+ * <ul>
+ *   <li>A new obstacle invalidates the subtree of routes passing through it. Those cells
+ *   are re-seeded from their unaffected neighbours and settled with a local Dijkstra.</li>
+ *   <li>A removed obstacle gets a distance from its neighbours, and the decrease is
+ *   propagated only as far as it improves other cells.</li>
+ * </ul>
+ * The cells written by the last update are available through {@link #getTouched(int)}.
+ * Scratch state is kept in pages and growable arrays, so it follows the cells that
+ * repairs actually reach rather than the size of the grid.
+ */
+public class IncrementalStationPlanner {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final CostGrid grid;
+    private final StationDistanceField field;
+    private final int[] sources;
+    private final IndexedMinHeap heap;
+    private final CellInts stamp;
+    private int[] touched = new int[64];
+    private int touchedCount;
+    private int epoch;
+
+    public IncrementalStationPlanner(CostGrid grid, StationDistanceField field, int[] sources) {
+        this.grid = grid;
+        this.field = field;
+        this.sources = sources.clone();
+        Arrays.sort(this.sources);
+        this.heap = new IndexedMinHeap(grid.getMemory());
+        this.stamp = grid.getMemory().ints(grid.size(), 0);
+        heap.ensureCapacity(grid.size());
+    }
+
+    /**
+     * Blocks the cell and repairs the routes that passed through it.
+     * Returns the number of cells whose distance or direction was rewritten.
+     */
+    public int addObstacle(int x, int y) {
+        begin();
+        int blocked = grid.index(x, y);
+        if (grid.isBlocked(blocked)) {
+            return 0;
+        }
+        grid.setBlocked(x, y, true);
+        if (field.getHalfUnits(blocked) == StationDistanceField.UNREACHABLE) {
+            return 0;
+        }
+
+        // Collect every cell whose route to a station passes through the blocked cell
+        markTouched(blocked);
+        for (int i = 0; i < touchedCount; i++) {
+            int parent = touched[i];
+            for (Direction direction : DIRECTIONS) {
+                int child = grid.neighbor(parent, direction);
+                if (child != -1 && stamp.get(child) != epoch && pointsTo(child, parent)) {
+                    markTouched(child);
+                }
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            field.update(touched[i], StationDistanceField.UNREACHABLE, -1);
+        }
+
+        // Re-seed the invalidated cells from the unaffected cells around them
+        for (int i = 0; i < touchedCount; i++) {
+            int cell = touched[i];
+            if (!grid.isBlocked(cell)) {
+                seedFromNeighbors(cell, true);
+            }
+        }
+        propagate();
+        return touchedCount;
+    }
+
+    /**
+     * Unblocks the cell and propagates the routes that become shorter through it.
+     * Returns the number of cells whose distance or direction was rewritten.
+     */
+    public int removeObstacle(int x, int y) {
+        begin();
+        int freed = grid.index(x, y);
+        if (!grid.isBlocked(freed)) {
+            return 0;
+        }
+        grid.setBlocked(x, y, false);
+        seedFromNeighbors(freed, false);
+        if (field.getHalfUnits(freed) != StationDistanceField.UNREACHABLE) {
+            markTouched(freed);
+        }
+        propagate();
+        return touchedCount;
+    }
+
+    public int getTouchedCount() {
+        return touchedCount;
+    }
+
+    /**
+     * Returns the packed index of the i-th cell rewritten by the last update.
+     */
+    public int getTouched(int i) {
+        return touched[i];
+    }
+
+    private void begin() {
+        epoch++;
+        touchedCount = 0;
+    }
+
+    private void markTouched(int cell) {
+        if (stamp.get(cell) != epoch) {
+            stamp.set(cell, epoch);
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = cell;
+        }
+    }
+
+    private boolean pointsTo(int child, int parent) {
+        int ordinal = field.getDirectionOrdinal(child);
+        return ordinal >= 0 && grid.neighbor(child, DIRECTIONS[ordinal]) == parent;
+    }
+
+    /**
+     * Gives the cell the best distance offered by its neighbours and queues it.
+     * When skipAffected is set, neighbours invalidated by the current update are ignored.
+     */
+    private void seedFromNeighbors(int cell, boolean skipAffected) {
+        if (Arrays.binarySearch(sources, cell) >= 0) {
+            field.update(cell, 0, -1);
+            heap.insertOrDecrease(cell, 0);
+            return;
+        }
+        int best = StationDistanceField.UNREACHABLE;
+        int bestDirection = -1;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = grid.neighbor(cell, direction);
+            if (neighbor == -1 || grid.isBlocked(neighbor) || (skipAffected && stamp.get(neighbor) == epoch)) {
+                continue;
+            }
+            int distance = field.getHalfUnits(neighbor);
+            if (distance != StationDistanceField.UNREACHABLE && distance + grid.moveCost(neighbor, cell) < best) {
+                best = distance + grid.moveCost(neighbor, cell);
+                bestDirection = direction.ordinal();
+            }
+        }
+        if (bestDirection != -1) {
+            field.update(cell, best, bestDirection);
+            heap.insertOrDecrease(cell, best);
+        }
+    }
+
+    /**
+     * Settles the queued cells with Dijkstra's algorithm, touching only cells that improve.
+     */
+    private void propagate() {
+        int current;
+        while ((current = heap.poll()) != -1) {
+            int distance = field.getHalfUnits(current);
+            for (Direction direction : DIRECTIONS) {
+                int next = grid.neighbor(current, direction);
+                if (next == -1 || grid.isBlocked(next)) {
+                    continue;
+                }
+                int newDistance = distance + grid.moveCost(current, next);
+                if (newDistance < field.getHalfUnits(next)) {
+                    markTouched(next);
+                    field.update(next, newDistance, direction.opposite().ordinal());
+                    heap.insertOrDecrease(next, newDistance);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of integer items with integer keys and decrease-key support.
+ * Used where priorities are not confined to a small window, so a {@link BucketQueue}
+ * cannot be used. Items and their keys are kept in heap order in arrays that grow with
+ * the number of queued items; only the heap position of each item is kept per item, in
+ * {@link CellInts} pages, so only the part of the item range that is actually queued
+ * takes memory, in the given {@link PlanningMemory}. Both are reused between runs.
+ */
+public class IndexedMinHeap {
+
+    private static final int NONE = -1;
+
+    private int[] heap = new int[16];
+    private int[] key = new int[16]; // key of the item at the same heap position
+    private final PlanningMemory memory;
+    private CellInts position;
+    private int capacity;
+    private int size;
+
+    public IndexedMinHeap() {
+        this(PlanningMemory.heap());
+    }
+
+    public IndexedMinHeap(PlanningMemory memory) {
+        this.memory = memory;
+        this.position = memory.ints(0, NONE);
+    }
+
+    /**
+     * Makes room for item indices below capacity.
+     */
+    public void ensureCapacity(int capacity) {
+        if (this.capacity < capacity) {
+            this.capacity = capacity;
+            position.clear();
+            position = memory.ints(capacity, NONE);
+            size = 0;
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Queues the item with the given key, or lowers its key if it is already queued with a larger one.
+     */
+    public void insertOrDecrease(int item, int itemKey) {
+        int pos = position.get(item);
+        if (pos == NONE) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+                key = Arrays.copyOf(key, size * 2);
+            }
+            pos = size++;
+        } else if (itemKey >= key[pos]) {
+            return;
+        }
+        siftUp(pos, item, itemKey);
+    }
+
+    /**
+     * Returns the key of the smallest item without removing it.
+     */
+    public int peekKey() {
+        return key[0];
+    }
+
+    /**
+     * Removes and returns the item with the smallest key, or -1 if the heap is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            return NONE;
+        }
+        int top = heap[0];
+        position.set(top, NONE);
+        size--;
+        if (size > 0) {
+            siftDown(heap[size], key[size]);
+        }
+        return top;
+    }
+
+    /**
+     * Removes every queued item so the heap can be reused after an early exit.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position.set(heap[i], NONE);
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the item with the given key up from pos to its place in the heap.
+     */
+    private void siftUp(int pos, int item, int itemKey) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (key[parent] <= itemKey) {
+                break;
+            }
+            move(parent, pos);
+            pos = parent;
+        }
+        place(pos, item, itemKey);
+    }
+
+    /**
+     * Moves the item with the given key down from the root to its place in the heap.
+     */
+    private void siftDown(int item, int itemKey) {
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && key[child + 1] < key[child]) {
+                child++;
+            }
+            if (key[child] >= itemKey) {
+                break;
+            }
+            move(child, pos);
+            pos = child;
+        }
+        place(pos, item, itemKey);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        key[to] = key[from];
+        position.set(heap[to], to);
+    }
+
+    private void place(int pos, int item, int itemKey) {
+        heap[pos] = item;
+        key[pos] = itemKey;
+        position.set(item, pos);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+/**
+ * Available shortest-path engines, selected with clean-sweep.navigation.path-engine.
+ */
+public enum PathEngineType {
+    BUCKET_QUEUE,
+    DIJKSTRA;
+
+    /**
+     * Creates a new engine of this type.
+     */
+    public ShortestPathEngine create() {
+        switch (this) {
+            case DIJKSTRA:
+                return new DijkstraEngine();
+            default:
+                return new BucketQueueEngine();
+        }
+    }
+}
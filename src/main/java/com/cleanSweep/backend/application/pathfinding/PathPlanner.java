@@ -0,0 +1,20 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+/**
+ * Answers point-to-point route queries on a {@link CostGrid}.
+ */
+public interface PathPlanner {
+
+    /**
+     * Returns the packed cell indices of a lowest-power route from start to goal,
+     * both inclusive, or null if the goal cannot be reached.
+     */
+    int[] findPath(int start, int goal);
+
+    /**
+     * Notifies the planner that a cell of the grid became blocked or free.
+     * Planners that cache data derived from the grid drop the affected part.
+     */
+    default void onCellChanged(int index) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+/**
+ * Available point-to-point planners, selected with clean-sweep.navigation.path-planner.
+ */
+public enum PathPlannerType {
+    ASTAR,
+    HIERARCHICAL;
+
+    /**
+     * Creates a planner of this type over the given grid. The cluster size is only
+     * used by the hierarchical planner.
+     */
+    public PathPlanner create(CostGrid grid, int clusterSize) {
+        switch (this) {
+            case HIERARCHICAL:
+                return new HierarchicalPathPlanner(grid, clusterSize);
+            default:
+                return new AStarPathPlanner(grid);
+        }
+    }
+}
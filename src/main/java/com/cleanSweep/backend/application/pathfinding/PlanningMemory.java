@@ -0,0 +1,136 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the pages of {@link CellInts} and {@link CellBytes} are kept: on the Java heap,
+ * in direct memory, or in a memory-mapped scratch file. Off the heap, pages of 65536
+ * cells are cut from 64 MiB buffers, so the garbage collector only sees a few objects
+ * however large the floor is, and its pauses stay flat. Direct memory is limited by
+ * -XX:MaxDirectMemorySize; a scratch file is paged by the operating system, so the
+ * planning state of a mission may exceed both the heap and physical memory. Released
+ * pages are reused. Off-heap memory is not thread-safe.
+ */
+public final class PlanningMemory {
+
+    private static final int SLAB_SHIFT = 26;
+    private static final int CHUNK_SHIFT = 30;
+    private static final PlanningMemory HEAP = new PlanningMemory(null);
+
+    private final ByteBuffer[] reserved; // chunks of the scratch file, empty for direct memory
+    private final Map<Integer, ArrayDeque<ByteBuffer>> freePages = new HashMap<>();
+    private int nextChunk;
+    private ByteBuffer slab;
+    private long allocatedBytes;
+
+    private PlanningMemory(ByteBuffer[] reserved) {
+        this.reserved = reserved;
+    }
+
+    /**
+     * Returns the memory that keeps pages in arrays on the Java heap.
+     */
+    public static PlanningMemory heap() {
+        return HEAP;
+    }
+
+    /**
+     * Creates a memory that keeps pages in direct buffers.
+     */
+    public static PlanningMemory direct() {
+        return new PlanningMemory(new ByteBuffer[0]);
+    }
+
+    /**
+     * Creates a memory that keeps pages in a scratch file of the given size, which is
+     * created or overwritten. The file is sparse, so only pages that are written take
+     * disk space, and it is deleted as soon as it is mapped.
+     * Throws IllegalStateException once the file is full.
+     */
+    public static PlanningMemory mapped(Path file, long bytes) {
+        ByteBuffer[] chunks = new ByteBuffer[(int) ((bytes + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                        Math.min(1L << CHUNK_SHIFT, bytes - position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map planning memory to " + file, e);
+        }
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+        return new PlanningMemory(chunks);
+    }
+
+    public boolean isOffHeap() {
+        return this != HEAP;
+    }
+
+    /**
+     * Creates an int per cell for size cells, all set to fill.
+     */
+    public CellInts ints(int size, int fill) {
+        return isOffHeap() ? new CellInts.OffHeap(this, size, fill) : new CellInts.OnHeap(size, fill);
+    }
+
+    /**
+     * Creates a byte per cell for size cells, all set to fill.
+     */
+    public CellBytes bytes(int size, int fill) {
+        return isOffHeap() ? new CellBytes.OffHeap(this, size, fill) : new CellBytes.OnHeap(size, fill);
+    }
+
+    /**
+     * Returns the number of off-heap bytes handed out as pages, including released ones.
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns a page of the given size, reusing a released one if there is one.
+     * Its contents are undefined.
+     */
+    ByteBuffer allocatePage(int bytes) {
+        ArrayDeque<ByteBuffer> free = freePages.get(bytes);
+        if (free != null && !free.isEmpty()) {
+            return free.pop();
+        }
+        if (slab == null || slab.remaining() < bytes) {
+            slab = nextSlab();
+        }
+        ByteBuffer page = slab.slice(slab.position(), bytes).order(ByteOrder.nativeOrder());
+        slab.position(slab.position() + bytes);
+        allocatedBytes += bytes;
+        return page;
+    }
+
+    void releasePage(ByteBuffer page) {
+        freePages.computeIfAbsent(page.capacity(), size -> new ArrayDeque<>()).push(page);
+    }
+
+    private ByteBuffer nextSlab() {
+        if (reserved.length == 0) {
+            return ByteBuffer.allocateDirect(1 << SLAB_SHIFT);
+        }
+        if (nextChunk == reserved.length) {
+            throw new IllegalStateException("Planning scratch file is full");
+        }
+        return reserved[nextChunk++];
+    }
+}
@@ -0,0 +1,13 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+/**
+ * Computes lowest-power distances from a set of source cells to every cell of a grid.
+ */
+public interface ShortestPathEngine {
+
+    /**
+     * Fills the field with the distance from every cell to its nearest source and the
+     * direction of its next step towards that source. Sources are packed cell indices.
+     */
+    void compute(CostGrid grid, int[] sources, StationDistanceField field);
+}
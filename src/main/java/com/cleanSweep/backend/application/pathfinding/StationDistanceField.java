@@ -0,0 +1,131 @@
+package com.cleanSweep.backend.application.pathfinding;
+
+import com.cleanSweep.backend.common.Direction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lowest-power distance from every cell to its nearest charging station, as filled
+ * by a {@link ShortestPathEngine} seeded from all charging stations at once.
+ * Routes are not stored per cell; instead every cell keeps one byte holding the
+ * {@link Direction} of its next step towards the nearest station, and routes are
+ * walked on demand. Distances are kept in integer half power units, in pages that are
+ * only allocated where a station can be reached.
+ */
+public class StationDistanceField {
+
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int rows;
+    private final int cols;
+    private final CellInts halfUnits;
+    private final CellBytes towardStation; // Direction ordinal of the next step, -1 at stations and unreachable cells
+
+    public StationDistanceField(int rows, int cols) {
+        this(rows, cols, PlanningMemory.heap());
+    }
+
+    public StationDistanceField(int rows, int cols, PlanningMemory memory) {
+        this.rows = rows;
+        this.cols = cols;
+        this.halfUnits = memory.ints(rows * cols, UNREACHABLE);
+        this.towardStation = memory.bytes(rows * cols, -1);
+    }
+
+    /**
+     * Marks every cell as unreachable so the field can be filled again.
+     */
+    public void reset() {
+        halfUnits.clear();
+        towardStation.clear();
+    }
+
+    void update(int index, int distance, int directionOrdinal) {
+        halfUnits.set(index, distance);
+        towardStation.set(index, directionOrdinal);
+    }
+
+    int getHalfUnits(int index) {
+        return halfUnits.get(index);
+    }
+
+    int getDirectionOrdinal(int index) {
+        return towardStation.get(index);
+    }
+
+    /**
+     * Returns the number of bytes held by the pages of this field.
+     */
+    public long allocatedBytes() {
+        return halfUnits.allocatedBytes() + towardStation.allocatedBytes();
+    }
+
+    /**
+     * Checks if a charging station can be reached from the specified cell.
+     */
+    public boolean isReachable(int x, int y) {
+        return halfUnits.get(x * cols + y) != UNREACHABLE;
+    }
+
+    /**
+     * Returns the power needed to reach the nearest charging station from the specified cell.
+     */
+    public double getDistance(int x, int y) {
+        int distance = halfUnits.get(x * cols + y);
+        return distance == UNREACHABLE ? Double.POSITIVE_INFINITY : distance / 2.0;
+    }
+
+    /**
+     * Returns the direction of the next step towards the nearest charging station,
+     * or null if the cell is a station or no station is reachable.
+     */
+    public Direction getDirectionToStation(int x, int y) {
+        int ordinal = towardStation.get(x * cols + y);
+        return ordinal < 0 ? null : DIRECTIONS[ordinal];
+    }
+
+    /**
+     * Walks the stored directions from the specified cell to the nearest charging station.
+     * The first entry is the cell itself and the last entry is the station.
+     * Returns null if no station is reachable.
+     */
+    public List<int[]> pathToStation(int x, int y) {
+        if (!isReachable(x, y)) {
+            return null;
+        }
+        List<int[]> path = new ArrayList<>();
+        path.add(new int[] { x, y });
+        for (Direction direction = getDirectionToStation(x, y); direction != null;
+                direction = getDirectionToStation(x, y)) {
+            x += direction.getXOffset();
+            y += direction.getYOffset();
+            path.add(new int[] { x, y });
+        }
+        return path;
+    }
+
+    /**
+     * Builds the route from the nearest charging station to the specified cell.
+     * The first entry is the station and the last entry is the cell itself.
+     * Returns null if no station is reachable.
+     */
+    public List<int[]> pathFromStation(int x, int y) {
+        List<int[]> path = pathToStation(x, y);
+        if (path != null) {
+            Collections.reverse(path);
+        }
+        return path;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
@@ -21,4 +21,20 @@ public enum Direction {
     public int getYOffset() {
         return yOffset;
     }
+
+    /**
+     * Returns the direction pointing the opposite way.
+     */
+    public Direction opposite() {
+        switch (this) {
+            case UP:
+                return DOWN;
+            case DOWN:
+                return UP;
+            case LEFT:
+                return RIGHT;
+            default:
+                return LEFT;
+        }
+    }
 }
@@ -1,29 +1,114 @@
 package com.cleanSweep.backend.controller;
 
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.IngestResult;
 import com.cleanSweep.backend.infrastructure.LogEntry;
-import com.cleanSweep.backend.infrastructure.LogEntryRepository;
+import com.cleanSweep.backend.infrastructure.LogPage;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/logs")
 public class LogEntryController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
-    private LogEntryRepository logEntryRepository;
+    private LogRepoImpl logRepo;
+
+    @Value("${clean-sweep.log-api.default-page-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${clean-sweep.log-api.max-page-size:1000}")
+    private int maxPageSize = 1000;
 
+    /**
+     * Returns one page of log entries after the afterId cursor, optionally filtered by
+     * event type and by a [from, to) timestamp range. Larger limits are capped at the
+     * maximum page size.
+     */
     @GetMapping
-    public List<LogEntry> getAllLogs() {
-        return logEntryRepository.findAll();
+    public LogPage getLogs(@RequestParam(required = false) Long afterId,
+                           @RequestParam(required = false) Integer limit,
+                           @RequestParam(required = false) ActivityEventType type,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return logRepo.findLogs(afterId, Math.min(pageSize, maxPageSize), type, from, to);
+    }
+
+    /**
+     * Returns the newest entries, oldest first, up to the maximum page size.
+     */
+    @GetMapping("/tail")
+    public List<LogEntry> tailLogs(@RequestParam(required = false) Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return logRepo.tailLogs(Math.min(pageSize, maxPageSize));
+    }
+
+    /**
+     * Streams every entry after the afterId cursor as newline-delimited JSON, gzip
+     * compressed if requested. The response is written while rows are read, so
+     * exports of any size run in constant memory.
+     */
+    @GetMapping(path = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportLogs(@RequestParam(defaultValue = "0") long afterId,
+                                                            @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"activity-log.ndjson\"");
+        if (!gzip) {
+            return response.body(out -> logRepo.exportLogs(afterId, out));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+            logRepo.exportLogs(afterId, compressed);
+            compressed.finish();
+        });
+    }
+
+    /**
+     * Stores many entries with their client timestamps in one transaction, from a
+     * JSON array or from newline-delimited JSON. Incomplete entries, and malformed
+     * NDJSON lines, are counted as rejected rather than failing the batch.
+     */
+    @PostMapping(path = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+    public IngestResult ingestLogs(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                   InputStream body) throws IOException {
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return logRepo.ingestJson(body);
+            } catch (JsonProcessingException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        return logRepo.ingestNdjson(body);
     }
 
     @PostMapping
     public LogEntry saveLog(@RequestBody String message) {
-        LogEntry entry = new LogEntry();
-        entry.setMessage(message);
-        entry.setTimestamp(java.time.LocalDateTime.now());
-        return logEntryRepository.save(entry);
+        return logRepo.saveLog(message);
     }
 }
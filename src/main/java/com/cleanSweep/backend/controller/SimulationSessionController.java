@@ -0,0 +1,134 @@
+package com.cleanSweep.backend.controller;
+
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.simulation.CreateSessionRequest;
+import com.cleanSweep.backend.simulation.SessionState;
+import com.cleanSweep.backend.simulation.SimulationSession;
+import com.cleanSweep.backend.simulation.SimulationSessionService;
+import com.cleanSweep.backend.simulation.TelemetrySubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/simulations")
+public class SimulationSessionController {
+
+    @Autowired
+    private SimulationSessionService sessionService;
+
+    @Value("${clean-sweep.sessions.telemetry-timeout-ms:1800000}")
+    private long telemetryTimeout = 1_800_000;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionState createSession(@RequestBody(required = false) CreateSessionRequest request) {
+        try {
+            return sessionService.create(request != null ? request : new CreateSessionRequest()).state();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a session that resumes a mission from a snapshot.
+     */
+    @PostMapping(path = "/restore", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionState restoreSession(@RequestBody byte[] snapshot) {
+        try {
+            return sessionService.restore(snapshot).state();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/fork")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionState forkSession(@PathVariable String id) {
+        SimulationSession session = findSession(id);
+        try {
+            return sessionService.fork(session).state();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/{id}/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] getSnapshot(@PathVariable String id) {
+        return findSession(id).snapshot();
+    }
+
+    @GetMapping("/{id}")
+    public SessionState getState(@PathVariable String id) {
+        return findSession(id).state();
+    }
+
+    /**
+     * Advances the session by a batch of steps in a single call. The request thread is
+     * released while the batch runs.
+     */
+    @PostMapping("/{id}/steps")
+    public CompletableFuture<SessionState> advance(@PathVariable String id,
+                                                   @RequestParam(defaultValue = "1") long count) {
+        SimulationSession session = findSession(id);
+        try {
+            return sessionService.advance(session, count);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the floor with one byte per cell, row by row, encoded in Base64.
+     */
+    @GetMapping("/{id}/cells")
+    public Map<String, Object> getCells(@PathVariable String id) {
+        SimulationSession session = findSession(id);
+        FloorGrid grid = session.getWorld().getFloorMap().getGrid();
+        return Map.of("rows", grid.getRows(), "cols", grid.getCols(),
+                "cells", Base64.getEncoder().encodeToString(session.encodeCells()));
+    }
+
+    /**
+     * Streams the session as server-sent events: a snapshot of the whole floor, then
+     * deltas with the robot state and only the cells that changed. Updates for a slow
+     * client are merged, so it always catches up with the latest state.
+     */
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable String id) {
+        SimulationSession session = findSession(id);
+        SseEmitter emitter = new SseEmitter(telemetryTimeout);
+        TelemetrySubscriber subscriber = sessionService.subscribe(session,
+                (event, data) -> emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON)));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteSession(@PathVariable String id) {
+        if (!sessionService.delete(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown session " + id);
+        }
+    }
+
+    private SimulationSession findSession(String id) {
+        return sessionService.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown session " + id));
+    }
+}
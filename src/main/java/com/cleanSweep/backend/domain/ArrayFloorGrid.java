@@ -0,0 +1,112 @@
+package com.cleanSweep.backend.domain;
+
+import com.cleanSweep.backend.common.FloorType;
+
+import java.util.BitSet;
+
+/**
+ * Struct-of-arrays floor grid: every attribute lives in its own primitive array
+ * indexed by x * cols + y, so a cell costs a few bytes and bits instead of an object.
+ */
+public class ArrayFloorGrid implements FloorGrid {
+
+    private static final FloorType[] FLOOR_TYPES = FloorType.values();
+
+    private final int rows;
+    private final int cols;
+    private final byte[] floorType;
+    private final byte[] dirtLevel;
+    private final BitSet obstacle;
+    private final BitSet chargingStation;
+    private final BitSet stairs;
+    private final BitSet visited;
+
+    public ArrayFloorGrid(int rows, int cols) {
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Grid of %dx%d cells is too large", rows, cols));
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int size = rows * cols;
+        this.floorType = new byte[size];
+        this.dirtLevel = new byte[size];
+        this.obstacle = new BitSet(size);
+        this.chargingStation = new BitSet();
+        this.stairs = new BitSet();
+        this.visited = new BitSet(size);
+    }
+
+    private int index(int x, int y) {
+        return x * cols + y;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public FloorType getFloorType(int x, int y) {
+        return FLOOR_TYPES[floorType[index(x, y)]];
+    }
+
+    @Override
+    public void setFloorType(int x, int y, FloorType type) {
+        floorType[index(x, y)] = (byte) type.ordinal();
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return obstacle.get(index(x, y));
+    }
+
+    @Override
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        obstacle.set(index(x, y), isObstacle);
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return chargingStation.get(index(x, y));
+    }
+
+    @Override
+    public void setChargingStation(int x, int y, boolean isChargingStation) {
+        chargingStation.set(index(x, y), isChargingStation);
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return stairs.get(index(x, y));
+    }
+
+    @Override
+    public void setStairs(int x, int y, boolean isStairs) {
+        stairs.set(index(x, y), isStairs);
+    }
+
+    @Override
+    public boolean isVisited(int x, int y) {
+        return visited.get(index(x, y));
+    }
+
+    @Override
+    public void setVisited(int x, int y, boolean isVisited) {
+        visited.set(index(x, y), isVisited);
+    }
+
+    @Override
+    public int getDirtLevel(int x, int y) {
+        return dirtLevel[index(x, y)];
+    }
+
+    @Override
+    public void setDirtLevel(int x, int y, int level) {
+        dirtLevel[index(x, y)] = (byte) level;
+    }
+}
@@ -1,7 +1,5 @@
 package com.cleanSweep.backend.domain;
 
-import java.util.List;
-
 import com.cleanSweep.backend.common.FloorType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,8 +17,6 @@ public class Cell {
     private boolean isObstacle;
     private boolean isStairs;
     private int dirtLevel;
-    private List<int[]> wayToChargingStation;
-    private double distanceToStation;
 
     public void reduceDirtLevel() {
         if (dirtLevel > 0) {
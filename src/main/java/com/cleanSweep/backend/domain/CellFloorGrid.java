@@ -0,0 +1,98 @@
+package com.cleanSweep.backend.domain;
+
+import com.cleanSweep.backend.common.FloorType;
+
+/**
+ * Floor grid with one {@link Cell} object per cell, the original storage layout.
+ */
+public class CellFloorGrid implements FloorGrid {
+
+    private final Cell[][] cells;
+
+    public CellFloorGrid(Cell[][] cells) {
+        this.cells = cells;
+    }
+
+    public CellFloorGrid(int rows, int cols) {
+        this.cells = new Cell[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0);
+            }
+        }
+    }
+
+    public Cell[][] getCells() {
+        return cells;
+    }
+
+    @Override
+    public int getRows() {
+        return cells.length;
+    }
+
+    @Override
+    public int getCols() {
+        return cells[0].length;
+    }
+
+    @Override
+    public FloorType getFloorType(int x, int y) {
+        return cells[x][y].getFloorType();
+    }
+
+    @Override
+    public void setFloorType(int x, int y, FloorType floorType) {
+        cells[x][y].setFloorType(floorType);
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return cells[x][y].isObstacle();
+    }
+
+    @Override
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        cells[x][y].setObstacle(isObstacle);
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return cells[x][y].isChargingStation();
+    }
+
+    @Override
+    public void setChargingStation(int x, int y, boolean isChargingStation) {
+        cells[x][y].setChargingStation(isChargingStation);
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return cells[x][y].isStairs();
+    }
+
+    @Override
+    public void setStairs(int x, int y, boolean isStairs) {
+        cells[x][y].setStairs(isStairs);
+    }
+
+    @Override
+    public boolean isVisited(int x, int y) {
+        return cells[x][y].isVisited();
+    }
+
+    @Override
+    public void setVisited(int x, int y, boolean isVisited) {
+        cells[x][y].setVisited(isVisited);
+    }
+
+    @Override
+    public int getDirtLevel(int x, int y) {
+        return cells[x][y].getDirtLevel();
+    }
+
+    @Override
+    public void setDirtLevel(int x, int y, int dirtLevel) {
+        cells[x][y].setDirtLevel(dirtLevel);
+    }
+}
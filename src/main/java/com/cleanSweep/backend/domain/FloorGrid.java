@@ -0,0 +1,89 @@
+package com.cleanSweep.backend.domain;
+
+import com.cleanSweep.backend.common.FloorType;
+
+/**
+ * Per-cell state of the floor, addressed by coordinates. Implementations decide how
+ * the state is stored, so that services can read and update cells without holding
+ * {@link Cell} objects. Implementations are not thread-safe.
+ */
+public interface FloorGrid {
+
+    int getRows();
+
+    int getCols();
+
+    FloorType getFloorType(int x, int y);
+
+    void setFloorType(int x, int y, FloorType floorType);
+
+    boolean isObstacle(int x, int y);
+
+    void setObstacle(int x, int y, boolean isObstacle);
+
+    boolean isChargingStation(int x, int y);
+
+    void setChargingStation(int x, int y, boolean isChargingStation);
+
+    boolean isStairs(int x, int y);
+
+    void setStairs(int x, int y, boolean isStairs);
+
+    boolean isVisited(int x, int y);
+
+    void setVisited(int x, int y, boolean isVisited);
+
+    int getDirtLevel(int x, int y);
+
+    void setDirtLevel(int x, int y, int dirtLevel);
+
+    /**
+     * Puts dirt level 1 on about two out of three cells of a floor without dirt, skipping
+     * obstacles and charging stations. Cells are chosen from the seed by their position,
+     * so every storage scatters the same cells. Storages kept in tiles may defer the dirt
+     * of a tile until one of its cells is changed; reads see it either way.
+     * Returns the number of cells that got dirt.
+     */
+    default int scatterDirt(long seed) {
+        int dirtyCells = 0;
+        for (int x = 0; x < getRows(); x++) {
+            for (int y = 0; y < getCols(); y++) {
+                if (!isObstacle(x, y) && !isChargingStation(x, y) && isScatteredDirt(seed, x, y)) {
+                    setDirtLevel(x, y, 1);
+                    dirtyCells++;
+                }
+            }
+        }
+        return dirtyCells;
+    }
+
+    /**
+     * Checks if the block of size x size cells from (x, y) is known to be bare floor
+     * without obstacles, so that state derived from the floor can skip it. Storages that
+     * would have to read every cell to tell return false.
+     */
+    default boolean isOpenBareFloor(int x, int y, int size) {
+        return false;
+    }
+
+    /**
+     * Releases storage that is no longer needed, e.g. after a floor plan was loaded.
+     */
+    default void compact() {
+    }
+
+    default boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < getRows() && y < getCols();
+    }
+
+    /**
+     * Decides whether {@link #scatterDirt} puts dirt on a free cell, with odds of two in three.
+     */
+    static boolean isScatteredDirt(long seed, int x, int y) {
+        long hash = seed + x * 0x9E3779B97F4A7C15L + y * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return Long.remainderUnsigned(hash, 3) != 0;
+    }
+}
@@ -1,11 +1,14 @@
 package com.cleanSweep.backend.domain;
 
 import com.cleanSweep.backend.common.FloorType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.List;
 
 @Getter
@@ -13,29 +16,104 @@ import java.util.List;
 @Component
 public class FloorMap {
 
-    private Cell[][] cells;
+    @Value("${clean-sweep.floor-map.storage:cells}")
+    private FloorStorage storage = FloorStorage.CELLS;
+
+    @Value("${clean-sweep.floor-map.file:}")
+    private String storageFile;
+
+    private FloorGrid grid;
 
     /**
      * Initialize the grid based on the given gridSize.
      * @param size grid size
      */
     public void initializeGrid(int size) {
-        cells = new Cell[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0, null,0);
-            }
+        initializeGrid(size, size);
+    }
+
+    /**
+     * Initialize a rectangular grid of bare floor.
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    public void initializeGrid(int rows, int cols) {
+        grid = storage.create(rows, cols,
+                storageFile == null || storageFile.isBlank() ? null : Path.of(storageFile));
+    }
+
+    /**
+     * Returns the cell objects of the grid. Only available with the cells storage;
+     * prefer the accessors of {@link #getGrid()}, which work with every storage.
+     */
+    public Cell[][] getCells() {
+        if (!(grid instanceof CellFloorGrid cellGrid)) {
+            throw new IllegalStateException("The floor map does not store cell objects");
         }
+        return cellGrid.getCells();
+    }
+
+    public void setCells(Cell[][] cells) {
+        grid = new CellFloorGrid(cells);
     }
 
+    /**
+     * Replaces the grid with the layout of a floor plan. Cells missing from the plan
+     * stay bare floor.
+     */
+    public void applyFloorPlan(FloorPlanData floorPlan) {
+        initializeGrid(floorPlan.getRowCount(), floorPlan.getColCount());
+        for (CellData data : floorPlan.getCells()) {
+            applyCell(data.getX(), data.getY(), data.getFloorType(), data.isChargingStation(), data.isStairs(),
+                    data.isObstacle(), data.getDirtLevel());
+        }
+        grid.compact();
+    }
+
+    /**
+     * Sets the layout of one cell of a floor plan.
+     * Throws IllegalArgumentException if the cell lies outside the grid.
+     */
+    public void applyCell(int x, int y, FloorType floorType, boolean isChargingStation, boolean isStairs,
+                          boolean isObstacle, int dirtLevel) {
+        if (!grid.contains(x, y)) {
+            throw new IllegalArgumentException(String.format("Cell (%d, %d) is outside the floor", x, y));
+        }
+        if (floorType != null) {
+            grid.setFloorType(x, y, floorType);
+        }
+        grid.setChargingStation(x, y, isChargingStation);
+        grid.setStairs(x, y, isStairs);
+        grid.setObstacle(x, y, isObstacle);
+        grid.setDirtLevel(x, y, dirtLevel);
+    }
+
+    /**
+     * Floor plan as stored in JSON. Square plans only give floorSize; rectangular
+     * plans give rows and cols.
+     */
     @Getter
-    static class FloorPlanData {
+    @Setter
+    public static class FloorPlanData {
         private int floorSize;
+        private Integer rows;
+        private Integer cols;
         private List<CellData> cells;
+
+        @JsonIgnore
+        public int getRowCount() {
+            return rows != null ? rows : floorSize;
+        }
+
+        @JsonIgnore
+        public int getColCount() {
+            return cols != null ? cols : floorSize;
+        }
     }
 
     @Getter
-    static class CellData {
+    @Setter
+    public static class CellData {
         private int x;
         private int y;
         private FloorType floorType;
@@ -45,5 +123,10 @@ public class FloorMap {
 
         @JsonProperty("isStairs")
         private boolean isStairs;
+
+        @JsonProperty("isObstacle")
+        private boolean isObstacle;
+
+        private int dirtLevel;
     }
 }
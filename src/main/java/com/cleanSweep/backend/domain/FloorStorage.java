@@ -0,0 +1,40 @@
+package com.cleanSweep.backend.domain;
+
+import java.nio.file.Path;
+
+/**
+ * How a {@link FloorMap} stores its cells, selected with clean-sweep.floor-map.storage.
+ */
+public enum FloorStorage {
+    CELLS,
+    ARRAYS,
+    TILED,
+    OFF_HEAP,
+    MAPPED;
+
+    /**
+     * Creates an empty grid of bare floor with this storage.
+     */
+    public FloorGrid create(int rows, int cols) {
+        return create(rows, cols, null);
+    }
+
+    /**
+     * Creates an empty grid of bare floor with this storage. An off-heap grid is backed
+     * by the given file if there is one; the other storages ignore it. A mapped floor
+     * only reads binary floor plans in place, so an empty one is tiled.
+     */
+    public FloorGrid create(int rows, int cols, Path file) {
+        switch (this) {
+            case ARRAYS:
+                return new ArrayFloorGrid(rows, cols);
+            case TILED:
+            case MAPPED:
+                return new TiledFloorGrid(rows, cols);
+            case OFF_HEAP:
+                return file != null ? new OffHeapFloorGrid(rows, cols, file) : new OffHeapFloorGrid(rows, cols);
+            default:
+                return new CellFloorGrid(rows, cols);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.cleanSweep.backend.domain;
+
+import com.cleanSweep.backend.common.FloorType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Floor grid whose cells live outside the Java heap, either in direct memory or in a
+ * memory-mapped file. The garbage collector only sees a handful of buffer objects, so
+ * its pauses do not grow with the cells. Direct memory is still limited by
+ * -XX:MaxDirectMemorySize, and only a file-backed grid is paged by the operating system.
+ * Navigation keeps the route planning state of a mission on such a floor off the heap
+ * as well, in direct memory or in a scratch file next to the grid's file, so neither
+ * the heap nor the pauses grow with the map.
+ * <p>
+ * Each cell has a state byte (floor type ordinal in bits 0-1, then the obstacle,
+ * charging station, stairs and visited flags) and a dirt byte, kept in two regions.
+ * Regions are split into 1 GiB buffers, since a single buffer is limited to 2 GiB,
+ * and cells are addressed with long offsets.
+ */
+public class OffHeapFloorGrid implements FloorGrid {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private static final int FLOOR_TYPE_MASK = 0x3;
+    private static final int OBSTACLE = 1 << 2;
+    private static final int CHARGING_STATION = 1 << 3;
+    private static final int STAIRS = 1 << 4;
+    private static final int VISITED = 1 << 5;
+    private static final FloorType[] FLOOR_TYPES = FloorType.values();
+
+    private final int rows;
+    private final int cols;
+    private final ByteBuffer[] state;
+    private final ByteBuffer[] dirtLevel;
+
+    /**
+     * Creates a grid of bare floor in direct memory.
+     */
+    public OffHeapFloorGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        long cells = (long) rows * cols;
+        this.state = allocate(cells);
+        this.dirtLevel = allocate(cells);
+    }
+
+    /**
+     * Creates a grid of bare floor backed by a file, which is created or overwritten.
+     * The mapping stays valid after the channel is closed.
+     */
+    public OffHeapFloorGrid(int rows, int cols, Path file) {
+        this.rows = rows;
+        this.cols = cols;
+        long cells = (long) rows * cols;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            this.state = map(channel, 0, cells);
+            this.dirtLevel = map(channel, cells, cells);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map floor grid to " + file, e);
+        }
+    }
+
+    private static ByteBuffer[] allocate(long bytes) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize(bytes, i)).order(ByteOrder.nativeOrder());
+        }
+        return chunks;
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, long position, long bytes) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position + ((long) i << CHUNK_SHIFT),
+                    chunkSize(bytes, i)).order(ByteOrder.nativeOrder());
+        }
+        return chunks;
+    }
+
+    private static int chunkCount(long bytes) {
+        return (int) ((bytes + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkSize(long bytes, int chunk) {
+        return (int) Math.min(1L << CHUNK_SHIFT, bytes - ((long) chunk << CHUNK_SHIFT));
+    }
+
+    private long index(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= cols) {
+            throw new IndexOutOfBoundsException(String.format("Cell (%d, %d) is outside the floor", x, y));
+        }
+        return (long) x * cols + y;
+    }
+
+    private static int getByte(ByteBuffer[] region, long offset) {
+        return region[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+    }
+
+    private static void putByte(ByteBuffer[] region, long offset, int value) {
+        region[(int) (offset >>> CHUNK_SHIFT)].put((int) (offset & CHUNK_MASK), (byte) value);
+    }
+
+    private boolean hasFlag(int x, int y, int flag) {
+        return (getByte(state, index(x, y)) & flag) != 0;
+    }
+
+    private void setFlag(int x, int y, int flag, boolean value) {
+        long index = index(x, y);
+        int bits = getByte(state, index);
+        putByte(state, index, value ? bits | flag : bits & ~flag);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public FloorType getFloorType(int x, int y) {
+        return FLOOR_TYPES[getByte(state, index(x, y)) & FLOOR_TYPE_MASK];
+    }
+
+    @Override
+    public void setFloorType(int x, int y, FloorType floorType) {
+        long index = index(x, y);
+        putByte(state, index, (getByte(state, index) & ~FLOOR_TYPE_MASK) | floorType.ordinal());
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return hasFlag(x, y, OBSTACLE);
+    }
+
+    @Override
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        setFlag(x, y, OBSTACLE, isObstacle);
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return hasFlag(x, y, CHARGING_STATION);
+    }
+
+    @Override
+    public void setChargingStation(int x, int y, boolean isChargingStation) {
+        setFlag(x, y, CHARGING_STATION, isChargingStation);
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return hasFlag(x, y, STAIRS);
+    }
+
+    @Override
+    public void setStairs(int x, int y, boolean isStairs) {
+        setFlag(x, y, STAIRS, isStairs);
+    }
+
+    @Override
+    public boolean isVisited(int x, int y) {
+        return hasFlag(x, y, VISITED);
+    }
+
+    @Override
+    public void setVisited(int x, int y, boolean isVisited) {
+        setFlag(x, y, VISITED, isVisited);
+    }
+
+    @Override
+    public int getDirtLevel(int x, int y) {
+        return getByte(dirtLevel, index(x, y));
+    }
+
+    @Override
+    public void setDirtLevel(int x, int y, int level) {
+        putByte(dirtLevel, index(x, y), level);
+    }
+}
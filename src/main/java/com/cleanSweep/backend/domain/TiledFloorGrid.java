@@ -0,0 +1,298 @@
+package com.cleanSweep.backend.domain;
+
+import com.cleanSweep.backend.common.FloorType;
+
+import java.util.Arrays;
+
+/**
+ * Sparse floor grid split into 64x64 tiles. A tile in which every cell is clean floor
+ * of one type is a shared immutable instance; it is copied into a tile of its own only
+ * when one of its cells is actually changed. Writes that do not change a cell never
+ * copy a tile, so memory grows with the part of the floor that has obstacles, dirt or
+ * stations rather than with its area. Visits are kept apart in one bit per cell,
+ * allocated per tile on the first visit, so a robot covering bare floor does not copy
+ * the tiles it crosses. {@link #compact} shares tiles again that turned out uniform,
+ * e.g. carpeted rooms of a loaded plan. Scattered dirt is computed from its seed when
+ * read and only stored in a tile once the tile is copied for another change.
+ */
+public class TiledFloorGrid implements FloorGrid {
+
+    private static final int TILE_SHIFT = 6;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private static final int OBSTACLE = 1;
+    private static final int CHARGING_STATION = 1 << 1;
+    private static final int STAIRS = 1 << 2;
+
+    private static final FloorType[] FLOOR_TYPES = FloorType.values();
+    private static final Tile[] UNIFORM_TILES = new Tile[FLOOR_TYPES.length];
+
+    static {
+        for (FloorType floorType : FLOOR_TYPES) {
+            UNIFORM_TILES[floorType.ordinal()] = new Tile(floorType);
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int tileCols;
+    private final Tile[] tiles;
+    private final long[][] visited; // per tile, one word per row of the tile
+    private boolean[] pendingDirt; // per tile, whether scattered dirt is not stored yet
+    private long dirtSeed;
+    private int materializedTiles;
+
+    /**
+     * State of the cells of one tile, indexed by (x % 64) * 64 + y % 64.
+     */
+    private static final class Tile {
+        private final boolean shared;
+        private final byte[] floorType;
+        private final byte[] flags;
+        private final byte[] dirtLevel;
+
+        private Tile(FloorType uniformType) {
+            this.shared = true;
+            this.floorType = new byte[TILE_SIZE * TILE_SIZE];
+            this.flags = new byte[TILE_SIZE * TILE_SIZE];
+            this.dirtLevel = new byte[TILE_SIZE * TILE_SIZE];
+            Arrays.fill(floorType, (byte) uniformType.ordinal());
+        }
+
+        private Tile(Tile source) {
+            this.shared = false;
+            this.floorType = source.floorType.clone();
+            this.flags = source.flags.clone();
+            this.dirtLevel = source.dirtLevel.clone();
+        }
+    }
+
+    public TiledFloorGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileCols = (cols + TILE_MASK) >> TILE_SHIFT;
+        int tileRows = (rows + TILE_MASK) >> TILE_SHIFT;
+        this.tiles = new Tile[tileRows * tileCols];
+        this.visited = new long[tiles.length][];
+        Arrays.fill(tiles, UNIFORM_TILES[FloorType.BARE_FLOOR.ordinal()]);
+    }
+
+    /**
+     * Returns the number of tiles that have their own storage.
+     */
+    public int getMaterializedTiles() {
+        return materializedTiles;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    private int tileIndex(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= cols) {
+            throw new IndexOutOfBoundsException(String.format("Cell (%d, %d) is outside the floor", x, y));
+        }
+        return (x >> TILE_SHIFT) * tileCols + (y >> TILE_SHIFT);
+    }
+
+    private static int offset(int x, int y) {
+        return ((x & TILE_MASK) << TILE_SHIFT) | (y & TILE_MASK);
+    }
+
+    private Tile tile(int x, int y) {
+        return tiles[tileIndex(x, y)];
+    }
+
+    /**
+     * Returns the tile of a cell that is about to change, copying it if it is shared and
+     * storing its scattered dirt if that is still pending.
+     */
+    private Tile writableTile(int x, int y) {
+        int index = tileIndex(x, y);
+        Tile tile = tiles[index];
+        if (tile.shared) {
+            tile = new Tile(tile);
+            tiles[index] = tile;
+            materializedTiles++;
+        }
+        if (pendingDirt != null && pendingDirt[index]) {
+            pendingDirt[index] = false;
+            int firstX = x & ~TILE_MASK;
+            int firstY = y & ~TILE_MASK;
+            for (int i = firstX; i < Math.min(firstX + TILE_SIZE, rows); i++) {
+                for (int j = firstY; j < Math.min(firstY + TILE_SIZE, cols); j++) {
+                    tile.dirtLevel[offset(i, j)] = (byte) scatteredDirtLevel(tile, i, j);
+                }
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Returns the dirt level of a cell of a tile whose scattered dirt is pending.
+     */
+    private int scatteredDirtLevel(Tile tile, int x, int y) {
+        int index = offset(x, y);
+        if (tile.dirtLevel[index] == 0 && (tile.flags[index] & (OBSTACLE | CHARGING_STATION)) == 0
+                && FloorGrid.isScatteredDirt(dirtSeed, x, y)) {
+            return 1;
+        }
+        return tile.dirtLevel[index];
+    }
+
+    private boolean hasFlag(int x, int y, int flag) {
+        return (tile(x, y).flags[offset(x, y)] & flag) != 0;
+    }
+
+    private void setFlag(int x, int y, int flag, boolean value) {
+        if (hasFlag(x, y, flag) != value) {
+            Tile tile = writableTile(x, y);
+            int index = offset(x, y);
+            tile.flags[index] = (byte) (tile.flags[index] ^ flag);
+        }
+    }
+
+    /**
+     * Defers the dirt of every tile until the tile is changed, and only counts the
+     * cells that get dirt.
+     */
+    @Override
+    public int scatterDirt(long seed) {
+        dirtSeed = seed;
+        pendingDirt = new boolean[tiles.length];
+        Arrays.fill(pendingDirt, true);
+        int dirtyCells = 0;
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                if (scatteredDirtLevel(tile(x, y), x, y) > 0) {
+                    dirtyCells++;
+                }
+            }
+        }
+        return dirtyCells;
+    }
+
+    @Override
+    public boolean isOpenBareFloor(int x, int y, int size) {
+        return size == TILE_SIZE && (x & TILE_MASK) == 0 && (y & TILE_MASK) == 0
+                && tile(x, y) == UNIFORM_TILES[FloorType.BARE_FLOOR.ordinal()];
+    }
+
+    /**
+     * Replaces every tile whose cells are all clean floor of one type by the shared tile
+     * of that type.
+     */
+    @Override
+    public void compact() {
+        for (int i = 0; i < tiles.length; i++) {
+            Tile tile = tiles[i];
+            if (!tile.shared && isUniform(tile)) {
+                tiles[i] = UNIFORM_TILES[tile.floorType[0]];
+                materializedTiles--;
+            }
+        }
+    }
+
+    private static boolean isUniform(Tile tile) {
+        byte floorType = tile.floorType[0];
+        for (int i = 0; i < TILE_SIZE * TILE_SIZE; i++) {
+            if (tile.floorType[i] != floorType || tile.flags[i] != 0 || tile.dirtLevel[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public FloorType getFloorType(int x, int y) {
+        return FLOOR_TYPES[tile(x, y).floorType[offset(x, y)]];
+    }
+
+    @Override
+    public void setFloorType(int x, int y, FloorType floorType) {
+        if (getFloorType(x, y) != floorType) {
+            writableTile(x, y).floorType[offset(x, y)] = (byte) floorType.ordinal();
+        }
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return hasFlag(x, y, OBSTACLE);
+    }
+
+    @Override
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        setFlag(x, y, OBSTACLE, isObstacle);
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return hasFlag(x, y, CHARGING_STATION);
+    }
+
+    @Override
+    public void setChargingStation(int x, int y, boolean isChargingStation) {
+        setFlag(x, y, CHARGING_STATION, isChargingStation);
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return hasFlag(x, y, STAIRS);
+    }
+
+    @Override
+    public void setStairs(int x, int y, boolean isStairs) {
+        setFlag(x, y, STAIRS, isStairs);
+    }
+
+    @Override
+    public boolean isVisited(int x, int y) {
+        long[] bits = visited[tileIndex(x, y)];
+        return bits != null && (bits[x & TILE_MASK] & 1L << (y & TILE_MASK)) != 0;
+    }
+
+    @Override
+    public void setVisited(int x, int y, boolean isVisited) {
+        int index = tileIndex(x, y);
+        long[] bits = visited[index];
+        if (bits == null) {
+            if (!isVisited) {
+                return;
+            }
+            bits = new long[TILE_SIZE];
+            visited[index] = bits;
+        }
+        if (isVisited) {
+            bits[x & TILE_MASK] |= 1L << (y & TILE_MASK);
+        } else {
+            bits[x & TILE_MASK] &= ~(1L << (y & TILE_MASK));
+        }
+    }
+
+    @Override
+    public int getDirtLevel(int x, int y) {
+        int index = tileIndex(x, y);
+        if (pendingDirt != null && pendingDirt[index]) {
+            return scatteredDirtLevel(tiles[index], x, y);
+        }
+        return tiles[index].dirtLevel[offset(x, y)];
+    }
+
+    @Override
+    public void setDirtLevel(int x, int y, int dirtLevel) {
+        if (getDirtLevel(x, y) != dirtLevel) {
+            writableTile(x, y).dirtLevel[offset(x, y)] = (byte) dirtLevel;
+        }
+    }
+}
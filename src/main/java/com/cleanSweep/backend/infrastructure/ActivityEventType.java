@@ -0,0 +1,83 @@
+package com.cleanSweep.backend.infrastructure;
+
+/**
+ * The kinds of activity the robot logs. Events are stored as typed columns and only
+ * rendered as text when the logs are read.
+ */
+public enum ActivityEventType {
+    /** Free text, as posted to the log API. */
+    MESSAGE,
+    /** The robot moved to (x, y); the detail describes why. */
+    MOVEMENT,
+    /** The battery level after a step, in value. */
+    BATTERY,
+    CLEANED,
+    NO_DIRT,
+    DIRT_FULL,
+    RECHARGE,
+    LOW_BATTERY,
+    OBSTACLE,
+    /** An obstacle was added or removed at (x, y) and value cells were replanned. */
+    OBSTACLE_CHANGE,
+    /**
+     * Roll-up of the expired movement and battery events of one sortie: count moves
+     * from step, using value battery units.
+     */
+    SORTIE_SUMMARY;
+
+    /**
+     * Returns whether the entry has the fields that events of this type render.
+     */
+    public boolean accepts(LogEntry entry) {
+        switch (this) {
+            case MESSAGE:
+                return entry.getDetail() != null;
+            case BATTERY:
+                return entry.getValue() != null;
+            case OBSTACLE_CHANGE:
+                return entry.getX() != null && entry.getY() != null && entry.getValue() != null;
+            case SORTIE_SUMMARY:
+                return entry.getCount() != null && entry.getValue() != null;
+            case MOVEMENT:
+            case CLEANED:
+            case NO_DIRT:
+            case OBSTACLE:
+                return entry.getX() != null && entry.getY() != null;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Renders the human-readable text of an event of this type.
+     */
+    public String render(LogEntry entry) {
+        switch (this) {
+            case MOVEMENT:
+                return String.format("Moved to position (%d, %d) in direction: %s",
+                        entry.getX(), entry.getY(), entry.getDetail());
+            case BATTERY:
+                return String.format("Battery remaining: %.1f units", entry.getValue());
+            case CLEANED:
+                return String.format("Cleaned dirt at (%d, %d)", entry.getX(), entry.getY());
+            case NO_DIRT:
+                return String.format("No dirt found at position (%d, %d)", entry.getX(), entry.getY());
+            case DIRT_FULL:
+                return "Dirt capacity is full";
+            case RECHARGE:
+                return "Battery recharged to full capacity";
+            case LOW_BATTERY:
+                return "Low battery, returning to charging station";
+            case OBSTACLE:
+                return String.format("Encountered obstacle at position (%d, %d)", entry.getX(), entry.getY());
+            case OBSTACLE_CHANGE:
+                return String.format("Obstacle %s at position (%d, %d), replanned %d cells",
+                        entry.getDetail(), entry.getX(), entry.getY(), entry.getValue().intValue());
+            case SORTIE_SUMMARY:
+                return String.format("Sortie from step %d: %d moves, %.1f battery units used",
+                        entry.getStep(), entry.getCount(), entry.getValue());
+            default:
+                return entry.getDetail();
+        }
+    }
+}
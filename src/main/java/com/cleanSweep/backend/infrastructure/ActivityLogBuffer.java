@@ -0,0 +1,178 @@
+package com.cleanSweep.backend.infrastructure;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decouples activity logging from the database. Events are put into a bounded ring
+ * buffer and a single writer thread drains them in batches, which Hibernate sends as
+ * JDBC batch inserts. Producers never wait on the database; with the BLOCK policy
+ * they only wait for room in the buffer. Pending events are written on shutdown.
+ */
+@Service
+public class ActivityLogBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogBuffer.class);
+
+    @Autowired
+    private LogRepoImpl logRepo;
+
+    @Value("${clean-sweep.activity-log.buffer-size:8192}")
+    private int bufferSize = 8192;
+
+    @Value("${clean-sweep.activity-log.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${clean-sweep.activity-log.overflow:drop}")
+    private LogOverflowPolicy overflowPolicy = LogOverflowPolicy.DROP;
+
+    @Value("${clean-sweep.activity-log.sample-rate:10}")
+    private int sampleRate = 10;
+
+    private BlockingQueue<LogEntry> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    /**
+     * Starts the writer thread. Throws IllegalStateException if the buffer is too small
+     * for the sample policy's quarter threshold or the sample rate is not positive, so
+     * that a bad setting fails at startup rather than on the simulation thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (bufferSize < 4) {
+            throw new IllegalStateException("clean-sweep.activity-log.buffer-size must be at least 4, was " + bufferSize);
+        }
+        if (sampleRate < 1) {
+            throw new IllegalStateException("clean-sweep.activity-log.sample-rate must be at least 1, was " + sampleRate);
+        }
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        running = true;
+        writer = new Thread(this::drain, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Hands an event to the writer thread, applying the overflow policy if the buffer
+     * is full. Returns false if the event was dropped.
+     */
+    public boolean submit(LogEntry entry) {
+        boolean queued;
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    buffer.put(entry);
+                    queued = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                break;
+            case SAMPLE:
+                queued = (buffer.remainingCapacity() >= bufferSize / 4
+                        || sampleCounter.incrementAndGet() % sampleRate == 0) && buffer.offer(entry);
+                break;
+            default:
+                queued = buffer.offer(entry);
+        }
+        (queued ? accepted : dropped).incrementAndGet();
+        return queued;
+    }
+
+    private void drain() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                LogEntry first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<LogEntry> batch) {
+        try {
+            logRepo.saveLogs(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.warn("Could not write {} activity log entries", batch.size(), e);
+        }
+    }
+
+    /**
+     * Waits until every accepted event has been written or has failed, or until the
+     * timeout expires. Returns true if the writer caught up.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (written.get() + failed.get() < accepted.get()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer after it has written the events still in the buffer.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        if (dropped.get() > 0) {
+            logger.info("Activity log dropped {} of {} events", dropped.get(), accepted.get() + dropped.get());
+        }
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -3,62 +3,97 @@ package com.cleanSweep.backend.infrastructure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public class ActivityLogger {
 
     private static final Logger logger = LoggerFactory.getLogger(ActivityLogger.class);
 
     @Autowired
-    private LogRepoImpl logRepo;
+    private ActivityLogBuffer logBuffer;
+
+    @Value("${clean-sweep.activity-log.enabled:true}")
+    private boolean enabled = true;
+
+    private volatile long step;
+
+    /**
+     * Returns a logger that drops every message, for simulations that run outside
+     * the Spring context and have no log repository.
+     */
+    public static ActivityLogger silent() {
+        ActivityLogger activityLogger = new ActivityLogger();
+        activityLogger.enabled = false;
+        return activityLogger;
+    }
+
+    /**
+     * Sets the step number attached to the events that follow.
+     */
+    public void setStep(long step) {
+        this.step = step;
+    }
 
     public void logMovement(int x, int y, String direction) {
-        String message = String.format("Moved to position (%d, %d) in direction: %s", x, y, direction);
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.MOVEMENT, x, y, null, direction);
     }
 
     public void logBatteryUsage(double batteryLife) {
-        String message = String.format("Battery remaining: %.1f units", batteryLife);
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.BATTERY, null, null, batteryLife, null);
     }
 
     public void logCleaning(int x, int y) {
-        String message = String.format("Cleaned dirt at (%d, %d)", x, y);
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.CLEANED, x, y, null, null);
     }
 
     public void logDirtFull() {
-        String message = "Dirt capacity is full";
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.DIRT_FULL, null, null, null, null);
     }
 
     public void logRecharge() {
-        String message = "Battery recharged to full capacity";
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.RECHARGE, null, null, null, null);
     }
 
     public void logNoDirtAtPosition(int x, int y) {
-        String message = String.format("No dirt found at position (%d, %d)", x, y);
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.NO_DIRT, x, y, null, null);
     }
 
     public void logObstacle(int x, int y) {
-        String message = String.format("Encountered obstacle at position (%d, %d)", x, y);
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.OBSTACLE, x, y, null, null);
+    }
+
+    public void logObstacleChange(int x, int y, boolean isObstacle, int touchedCells) {
+        record(ActivityEventType.OBSTACLE_CHANGE, x, y, (double) touchedCells, isObstacle ? "added" : "removed");
     }
 
     public void logLowBattery() {
-        String message = "Low battery, returning to charging station";
-        logger.info(message);
-        logRepo.saveLog(message);
+        record(ActivityEventType.LOW_BATTERY, null, null, null, null);
     }
-}
 
+    /**
+     * Hands a typed event to the log buffer, unless activity logging is disabled.
+     * No text is formatted here; it is rendered when the logs are read, or for the
+     * console when debug logging is on.
+     */
+    private void record(ActivityEventType type, Integer x, Integer y, Double value, String detail) {
+        if (!enabled) {
+            return;
+        }
+        LogEntry entry = new LogEntry();
+        entry.setTimestamp(LocalDateTime.now());
+        entry.setType(type);
+        entry.setX(x);
+        entry.setY(y);
+        entry.setValue(value);
+        entry.setStep(step);
+        entry.setDetail(detail);
+        if (logger.isDebugEnabled()) {
+            logger.debug(entry.getMessage());
+        }
+        logBuffer.submit(entry);
+    }
+}
@@ -0,0 +1,250 @@
+package com.cleanSweep.backend.infrastructure;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Floor plan in a compact binary format with one byte per cell, read through a
+ * memory-mapped file so that pages are only loaded when their cells are touched.
+ * <p>
+ * Layout: a 16-byte big-endian header (magic, version, header size, rows, columns)
+ * followed by the cells in row-major order. A cell byte holds the floor type ordinal
+ * in bits 0-1, the obstacle, charging station and stairs flags in bits 2-4, and the
+ * dirt level, capped at 7, in bits 5-7.
+ */
+public final class BinaryFloorPlan {
+
+    public static final int MAGIC = 0x43534650; // "CSFP"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    static final int FLOOR_TYPE_MASK = 0x3;
+    static final int OBSTACLE = 1 << 2;
+    static final int CHARGING_STATION = 1 << 3;
+    static final int STAIRS = 1 << 4;
+    static final int DIRT_SHIFT = 5;
+    static final int MAX_DIRT_LEVEL = 7;
+    private static final FloorType[] FLOOR_TYPES = FloorType.values();
+
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final int cols;
+
+    private BinaryFloorPlan(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary floor plan");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary floor plan version " + buffer.getShort(4));
+        }
+        if (buffer.getShort(6) != HEADER_SIZE) {
+            throw new IllegalArgumentException("Unsupported binary floor plan header size " + buffer.getShort(6));
+        }
+        this.rows = buffer.getInt(8);
+        this.cols = buffer.getInt(12);
+        if (rows <= 0 || cols <= 0 || (long) rows * cols != buffer.capacity() - (long) HEADER_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Binary floor plan of %dx%d cells has %d bytes", rows, cols, buffer.capacity()));
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a binary floor plan read-only. Only the header is read here.
+     */
+    public static BinaryFloorPlan map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BinaryFloorPlan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map floor plan " + path, e);
+        }
+    }
+
+    /**
+     * Wraps a binary floor plan held in memory, e.g. one produced by {@link #encode}.
+     */
+    public static BinaryFloorPlan wrap(byte[] bytes) {
+        return new BinaryFloorPlan(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Returns whether the bytes start like a binary floor plan.
+     */
+    public static boolean isBinary(byte[] head) {
+        return head.length >= 4 && ByteBuffer.wrap(head).getInt() == MAGIC;
+    }
+
+    /**
+     * Encodes a floor plan. Cells missing from the plan are bare floor.
+     */
+    public static byte[] encode(FloorMap.FloorPlanData floorPlan) {
+        int rows = floorPlan.getRowCount();
+        int cols = floorPlan.getColCount();
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Floor plan of %dx%d cells cannot be encoded", rows, cols));
+        }
+        ByteBuffer buffer = header(rows, cols);
+        for (FloorMap.CellData data : floorPlan.getCells()) {
+            if (data.getX() < 0 || data.getY() < 0 || data.getX() >= rows || data.getY() >= cols) {
+                throw new IllegalArgumentException(
+                        String.format("Cell (%d, %d) is outside the floor", data.getX(), data.getY()));
+            }
+            buffer.put(HEADER_SIZE + data.getX() * cols + data.getY(), encode(data.getFloorType(),
+                    data.isObstacle(), data.isChargingStation(), data.isStairs(), data.getDirtLevel()));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Encodes the layout and dirt of the cells of a floor map.
+     */
+    public static byte[] encode(FloorMap floorMap) {
+        FloorGrid grid = floorMap.getGrid();
+        ByteBuffer buffer = header(grid.getRows(), grid.getCols());
+        buffer.position(HEADER_SIZE);
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
+                buffer.put(encode(grid.getFloorType(x, y), grid.isObstacle(x, y), grid.isChargingStation(x, y),
+                        grid.isStairs(x, y), grid.getDirtLevel(x, y)));
+            }
+        }
+        return buffer.array();
+    }
+
+    private static ByteBuffer header(int rows, int cols) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + rows * cols).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) HEADER_SIZE).putInt(rows).putInt(cols);
+        return buffer;
+    }
+
+    private static byte encode(FloorType floorType, boolean isObstacle, boolean isChargingStation, boolean isStairs,
+                               int dirtLevel) {
+        int value = floorType == null ? 0 : floorType.ordinal();
+        if (isObstacle) {
+            value |= OBSTACLE;
+        }
+        if (isChargingStation) {
+            value |= CHARGING_STATION;
+        }
+        if (isStairs) {
+            value |= STAIRS;
+        }
+        value |= Math.min(Math.max(dirtLevel, 0), MAX_DIRT_LEVEL) << DIRT_SHIFT;
+        return (byte) value;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    private int cell(int x, int y) {
+        return buffer.get(HEADER_SIZE + x * cols + y) & 0xff;
+    }
+
+    public FloorType getFloorType(int x, int y) {
+        return floorType(cell(x, y));
+    }
+
+    static FloorType floorType(int cell) {
+        int ordinal = cell & FLOOR_TYPE_MASK;
+        if (ordinal >= FLOOR_TYPES.length) {
+            throw new IllegalArgumentException("Invalid floor type " + ordinal + " in binary floor plan");
+        }
+        return FLOOR_TYPES[ordinal];
+    }
+
+    public boolean isObstacle(int x, int y) {
+        return (cell(x, y) & OBSTACLE) != 0;
+    }
+
+    public boolean isChargingStation(int x, int y) {
+        return (cell(x, y) & CHARGING_STATION) != 0;
+    }
+
+    public boolean isStairs(int x, int y) {
+        return (cell(x, y) & STAIRS) != 0;
+    }
+
+    public int getDirtLevel(int x, int y) {
+        return cell(x, y) >>> DIRT_SHIFT;
+    }
+
+    /**
+     * Returns a grid that reads this plan in place and keeps its changes on the heap.
+     * The plan itself is never written.
+     */
+    public FloorGrid asGrid() {
+        return new MappedFloorGrid(buffer, HEADER_SIZE, rows, cols);
+    }
+
+    /**
+     * Replaces the grid of the floor map with a copy of this plan.
+     */
+    public void applyTo(FloorMap floorMap) {
+        floorMap.initializeGrid(rows, cols);
+        FloorGrid grid = floorMap.getGrid();
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                int value = cell(x, y);
+                if (value != 0) {
+                    grid.setFloorType(x, y, floorType(value));
+                    grid.setObstacle(x, y, (value & OBSTACLE) != 0);
+                    grid.setChargingStation(x, y, (value & CHARGING_STATION) != 0);
+                    grid.setStairs(x, y, (value & STAIRS) != 0);
+                    grid.setDirtLevel(x, y, value >>> DIRT_SHIFT);
+                }
+            }
+        }
+        grid.compact();
+    }
+
+    /**
+     * Converts the plan to the JSON model. Only cells that differ from clean bare floor
+     * are listed, since the rest is the default.
+     */
+    public FloorMap.FloorPlanData toFloorPlan() {
+        FloorMap.FloorPlanData floorPlan = new FloorMap.FloorPlanData();
+        if (rows == cols) {
+            floorPlan.setFloorSize(rows);
+        } else {
+            floorPlan.setRows(rows);
+            floorPlan.setCols(cols);
+        }
+        List<FloorMap.CellData> cells = new ArrayList<>();
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                int value = cell(x, y);
+                if (value == 0) {
+                    continue;
+                }
+                FloorMap.CellData data = new FloorMap.CellData();
+                data.setX(x);
+                data.setY(y);
+                data.setFloorType(floorType(value));
+                data.setObstacle((value & OBSTACLE) != 0);
+                data.setChargingStation((value & CHARGING_STATION) != 0);
+                data.setStairs((value & STAIRS) != 0);
+                data.setDirtLevel(value >>> DIRT_SHIFT);
+                cells.add(data);
+            }
+        }
+        floorPlan.setCells(cells);
+        return floorPlan;
+    }
+}
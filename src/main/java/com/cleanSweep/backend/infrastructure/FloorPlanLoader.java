@@ -0,0 +1,182 @@
+package com.cleanSweep.backend.infrastructure;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Loads floor plans in the {@link FloorMap.FloorPlanData} JSON format with Jackson's
+ * streaming parser. Each cell is written into the grid as soon as it is parsed, so
+ * memory use is bounded by the grid itself, not by the size of the file. The grid
+ * dimensions (floorSize, or rows and cols) must therefore appear before the cells.
+ * Files in the {@link BinaryFloorPlan} format are recognised by their header and
+ * mapped instead of parsed. With the mapped storage the floor map reads the mapping in
+ * place; other storages get a copy of every cell.
+ */
+@Component
+public class FloorPlanLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloorPlanLoader.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Outcome of a load, with the throughput achieved.
+     */
+    @Getter
+    public static class LoadResult {
+        private final int rows;
+        private final int cols;
+        private final long cells;
+        private final long elapsedNanos;
+
+        LoadResult(int rows, int cols, long cells, long elapsedNanos) {
+            this.rows = rows;
+            this.cols = cols;
+            this.cells = cells;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getCellsPerSecond() {
+            return elapsedNanos == 0 ? 0 : cells * 1e9 / elapsedNanos;
+        }
+    }
+
+    public LoadResult load(Path path, FloorMap floorMap) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            in.mark(4);
+            boolean binary = BinaryFloorPlan.isBinary(in.readNBytes(4));
+            in.reset();
+            LoadResult result = binary ? loadBinary(path, floorMap) : load(in, floorMap);
+            logger.info("Loaded floor plan {}: {}x{} grid, {} cells in {} ms ({} cells/s)", path,
+                    result.getRows(), result.getCols(), result.getCells(), result.getElapsedNanos() / 1_000_000,
+                    Math.round(result.getCellsPerSecond()));
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read floor plan " + path, e);
+        }
+    }
+
+    private LoadResult loadBinary(Path path, FloorMap floorMap) {
+        long start = System.nanoTime();
+        BinaryFloorPlan floorPlan = BinaryFloorPlan.map(path);
+        if (floorMap.getStorage() == FloorStorage.MAPPED) {
+            floorMap.setGrid(floorPlan.asGrid());
+        } else {
+            floorPlan.applyTo(floorMap);
+        }
+        return new LoadResult(floorPlan.getRows(), floorPlan.getCols(),
+                (long) floorPlan.getRows() * floorPlan.getCols(), System.nanoTime() - start);
+    }
+
+    /**
+     * Replaces the grid of the floor map with the plan read from the stream.
+     * Throws IllegalArgumentException if the plan is malformed.
+     */
+    public LoadResult load(InputStream in, FloorMap floorMap) throws IOException {
+        long start = System.nanoTime();
+        int floorSize = -1;
+        int rows = -1;
+        int cols = -1;
+        long cellCount = 0;
+        boolean gridReady = false;
+
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "floorSize" -> floorSize = parser.getIntValue();
+                    case "rows" -> rows = parser.getIntValue();
+                    case "cols" -> cols = parser.getIntValue();
+                    case "cells" -> {
+                        if (rows < 0) {
+                            rows = floorSize;
+                        }
+                        if (cols < 0) {
+                            cols = floorSize;
+                        }
+                        if (rows <= 0 || cols <= 0) {
+                            throw new IllegalArgumentException(
+                                    "Floor plan must give floorSize or rows and cols before its cells");
+                        }
+                        if (!gridReady) {
+                            floorMap.initializeGrid(rows, cols);
+                            gridReady = true;
+                        }
+                        expect(value, JsonToken.START_ARRAY, parser);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            readCell(parser, floorMap);
+                            cellCount++;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (!gridReady) {
+            throw new IllegalArgumentException("Floor plan has no cells");
+        }
+        floorMap.getGrid().compact();
+        return new LoadResult(rows, cols, cellCount, System.nanoTime() - start);
+    }
+
+    private void readCell(JsonParser parser, FloorMap floorMap) throws IOException {
+        int x = -1;
+        int y = -1;
+        FloorType floorType = null;
+        boolean isChargingStation = false;
+        boolean isStairs = false;
+        boolean isObstacle = false;
+        int dirtLevel = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "x" -> x = parser.getIntValue();
+                case "y" -> y = parser.getIntValue();
+                case "floorType" -> floorType = value == JsonToken.VALUE_NULL ? null : parseFloorType(parser);
+                case "isChargingStation" -> isChargingStation = parser.getBooleanValue();
+                case "isStairs" -> isStairs = parser.getBooleanValue();
+                case "isObstacle" -> isObstacle = parser.getBooleanValue();
+                case "dirtLevel" -> dirtLevel = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        floorMap.applyCell(x, y, floorType, isChargingStation, isStairs, isObstacle, dirtLevel);
+    }
+
+    private FloorType parseFloorType(JsonParser parser) throws IOException {
+        String name = parser.getText();
+        try {
+            return FloorType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown floor type " + name + " at " + parser.currentLocation());
+        }
+    }
+
+    private void expect(JsonToken actual, JsonToken expected, JsonParser parser) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " but found " + actual
+                    + " at " + parser.currentLocation());
+        }
+    }
+}
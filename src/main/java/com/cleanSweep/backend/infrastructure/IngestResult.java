@@ -0,0 +1,19 @@
+package com.cleanSweep.backend.infrastructure;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a bulk log ingest: how many entries were stored and how many were
+ * skipped because they were malformed or incomplete.
+ */
+@Getter
+public class IngestResult {
+
+    private final long accepted;
+    private final long rejected;
+
+    public IngestResult(long accepted, long rejected) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+}
@@ -1,21 +1,77 @@
 package com.cleanSweep.backend.infrastructure;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
+/**
+ * One activity event. The fields are stored as typed columns, so the logs can be
+ * filtered by type, position or step; the text message is rendered on read.
+ */
 @Entity
 @Data
+@Table(indexes = {
+        @Index(name = "idx_log_entry_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_log_entry_type", columnList = "type, id")
+})
 public class LogEntry {
 
+    /** Ids handed out per round trip to the id sequence. */
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "log_entry_seq")
+    @SequenceGenerator(name = "log_entry_seq", sequenceName = "log_entry_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private LocalDateTime timestamp;
-    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ActivityEventType type = ActivityEventType.MESSAGE;
+
+    private Integer x;
+    private Integer y;
+
+    @Column(name = "event_value")
+    private Double value;
+
+    /** The number of moves the robot had made when the event happened. */
+    private Long step;
+
+    /** The number of events a summary row stands for; null for single events. */
+    @Column(name = "event_count")
+    private Integer count;
+
+    /** Free text for messages, or the qualifier of a typed event such as the movement reason. */
+    private String detail;
+
+    /**
+     * Returns the human-readable text of the event. Clients that post entries send
+     * free text as detail; the message is output only.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getMessage() {
+        return type.render(this);
+    }
+
+    /**
+     * Makes this a free text entry.
+     */
+    public void setMessage(String message) {
+        this.type = ActivityEventType.MESSAGE;
+        this.detail = message;
+    }
 }
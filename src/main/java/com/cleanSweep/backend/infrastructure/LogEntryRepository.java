@@ -1,7 +1,52 @@
 package com.cleanSweep.backend.infrastructure;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface LogEntryRepository extends JpaRepository<LogEntry, Long> {
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
+public interface LogEntryRepository extends JpaRepository<LogEntry, Long>, JpaSpecificationExecutor<LogEntry> {
+
+    /**
+     * Streams the entries after an id through a database cursor, fetching a bounded
+     * number of rows at a time. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from LogEntry e where e.id > :afterId order by e.id")
+    Stream<LogEntry> streamAfter(@Param("afterId") long afterId);
+
+    long countByType(ActivityEventType type);
+
+    /**
+     * Returns the entries after an id in id order, a range scan of the primary key.
+     */
+    @Query("select e from LogEntry e where e.id > :afterId order by e.id")
+    List<LogEntry> findAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Returns entries with a timestamp before the cutoff, oldest first, skipping one type.
+     */
+    @Query("select e from LogEntry e where e.timestamp < :cutoff and e.type <> :excluded order by e.timestamp, e.id")
+    List<LogEntry> findOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("excluded") ActivityEventType excluded,
+                                 Limit limit);
+
+    List<LogEntry> findByOrderByIdDesc(Limit limit);
+
+    List<LogEntry> findByTypeOrderById(ActivityEventType type, Limit limit);
+
+    @Modifying
+    @Query("delete from LogEntry e where e.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
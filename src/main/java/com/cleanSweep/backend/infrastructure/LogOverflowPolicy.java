@@ -0,0 +1,14 @@
+package com.cleanSweep.backend.infrastructure;
+
+/**
+ * What the activity log buffer does with an event when it cannot keep up with the
+ * producers, selected with clean-sweep.activity-log.overflow.
+ */
+public enum LogOverflowPolicy {
+    /** Wait for room in the buffer. Nothing is lost, but the simulation may stall. */
+    BLOCK,
+    /** Discard events that do not fit. */
+    DROP,
+    /** Keep one event in sample-rate once the buffer is three quarters full, and drop the rest. */
+    SAMPLE
+}
@@ -0,0 +1,21 @@
+package com.cleanSweep.backend.infrastructure;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of activity log entries in id order. Pass nextAfterId as afterId to fetch
+ * the following page; it is null on the last page.
+ */
+@Getter
+public class LogPage {
+
+    private final List<LogEntry> entries;
+    private final Long nextAfterId;
+
+    public LogPage(List<LogEntry> entries, Long nextAfterId) {
+        this.entries = entries;
+        this.nextAfterId = nextAfterId;
+    }
+}
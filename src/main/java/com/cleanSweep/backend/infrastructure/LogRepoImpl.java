@@ -1,24 +1,414 @@
 package com.cleanSweep.backend.infrastructure;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Stores and reads the activity log, in the database or, with the segments storage,
+ * in memory-mapped segment files that bypass the database entirely. Methods shared by
+ * both storages open their transactions through templates, only on the database path.
+ */
 @Service
 public class LogRepoImpl {
 
+    private static final String INSERT_SQL = "insert into log_entry "
+            + "(id, timestamp, type, x, y, event_value, step, event_count, detail) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private LogEntryRepository logEntryRepository;
 
-    public void saveLog(String message) {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${clean-sweep.activity-log.storage:database}")
+    private LogStorage storage = LogStorage.DATABASE;
+
+    @Value("${clean-sweep.activity-log.segments.directory:logs/segments}")
+    private String segmentDirectory = "logs/segments";
+
+    @Value("${clean-sweep.activity-log.segments.segment-size:67108864}")
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private SegmentLogStore segmentStore;
+    private TransactionTemplate transaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (storage == LogStorage.SEGMENTS) {
+            segmentStore = SegmentLogStore.open(Path.of(segmentDirectory), segmentSize);
+            return;
+        }
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (segmentStore != null) {
+            segmentStore.close();
+        }
+    }
+
+    public boolean usesSegments() {
+        return segmentStore != null;
+    }
+
+    public LogEntry saveLog(String message) {
         LogEntry entry = new LogEntry();
         entry.setTimestamp(LocalDateTime.now());
         entry.setMessage(message);
-        logEntryRepository.save(entry);
+        if (segmentStore != null) {
+            segmentStore.append(List.of(entry));
+            return entry;
+        }
+        return logEntryRepository.save(entry);
+    }
+
+    /**
+     * Inserts a batch of entries in one transaction, as JDBC batches.
+     */
+    public void saveLogs(List<LogEntry> entries) {
+        if (segmentStore != null) {
+            segmentStore.append(entries);
+            return;
+        }
+        transaction.executeWithoutResult(status -> logEntryRepository.saveAll(entries));
+    }
+
+    /**
+     * Deletes the oldest segments while the rest hold at least maxRows entries, or
+     * while they only hold entries older than the cutoff. Only applies to the
+     * segments storage; returns the number of entries deleted.
+     */
+    public long dropExpiredSegments(long maxRows, LocalDateTime cutoff) {
+        return segmentStore.dropSegments(maxRows, cutoff);
+    }
+
+    /**
+     * Deletes entries by id and stores replacement entries in one transaction.
+     */
+    @Transactional
+    public void replaceLogs(List<Long> ids, List<LogEntry> replacements) {
+        if (!ids.isEmpty()) {
+            logEntryRepository.deleteByIds(ids);
+        }
+        logEntryRepository.saveAll(replacements);
+    }
+
+    /**
+     * Returns up to limit entries with an id above afterId, oldest first, optionally
+     * restricted to one event type and to timestamps in [from, to). Null arguments
+     * are not filtered on. Paging by id keeps every page an index range scan, however
+     * far into the log it is.
+     */
+    public LogPage findLogs(Long afterId, int limit, ActivityEventType type, LocalDateTime from, LocalDateTime to) {
+        if (segmentStore != null) {
+            return segmentStore.findLogs(afterId, limit, type, from, to);
+        }
+        Specification<LogEntry> filter = (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterId != null) {
+                predicates.add(builder.greaterThan(root.get("id"), afterId));
+            }
+            if (type != null) {
+                predicates.add(builder.equal(root.get("type"), type));
+            }
+            if (from != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("timestamp"), from));
+            }
+            if (to != null) {
+                predicates.add(builder.lessThan(root.get("timestamp"), to));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+        // One extra row tells whether there is a next page without a count query
+        List<LogEntry> entries = logEntryRepository.findBy(filter,
+                query -> query.sortBy(Sort.by("id")).limit(limit + 1).all());
+        if (entries.size() <= limit) {
+            return new LogPage(entries, null);
+        }
+        entries = entries.subList(0, limit);
+        return new LogPage(entries, entries.get(limit - 1).getId());
+    }
+
+    /**
+     * Returns the newest limit entries, oldest first.
+     */
+    public List<LogEntry> tailLogs(int limit) {
+        if (segmentStore != null) {
+            return segmentStore.tail(limit);
+        }
+        List<LogEntry> entries = new ArrayList<>(logEntryRepository.findByOrderByIdDesc(Limit.of(limit)));
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Writes every entry after afterId to out as newline-delimited JSON, oldest first.
+     * Rows are read through a cursor and the persistence context is cleared as they
+     * are written, so memory use does not grow with the size of the log. Returns the
+     * number of entries written.
+     */
+    public long exportLogs(long afterId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (segmentStore != null) {
+            return exportSegments(afterId, out, writer);
+        }
+        return inTransaction(readOnlyTransaction, () -> exportDatabase(afterId, out, writer));
+    }
+
+    private long exportDatabase(long afterId, OutputStream out, ObjectWriter writer) throws IOException {
+        long count = 0;
+        try (Stream<LogEntry> entries = logEntryRepository.streamAfter(afterId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<LogEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                LogEntry entry = iterator.next();
+                writer.writeValue(generator, entry);
+                generator.writeRaw('\n');
+                if (++count % 1000 == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long exportSegments(long afterId, OutputStream out, ObjectWriter writer) throws IOException {
+        long[] count = { 0 };
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            segmentStore.scan(afterId, null, null, null, entry -> {
+                try {
+                    writer.writeValue(generator, entry);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+                return true;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    /**
+     * Stores a JSON array of entries in one transaction. Entries that lack a timestamp
+     * or the fields their type renders are rejected; a malformed document rolls the
+     * whole batch back.
+     */
+    public IngestResult ingestJson(InputStream in) throws IOException {
+        if (segmentStore != null) {
+            return parseJson(in);
+        }
+        return inTransaction(transaction, () -> parseJson(in));
+    }
+
+    private IngestResult parseJson(InputStream in) throws IOException {
+        try (MappingIterator<LogEntry> entries = ingestReader().readValues(in)) {
+            return ingest(entries, true);
+        } catch (RuntimeException e) {
+            // MappingIterator wraps parse and binding errors in unchecked exceptions
+            if (e.getCause() instanceof JsonProcessingException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores newline-delimited JSON entries in one transaction. Each line is parsed on
+     * its own, so a malformed line is rejected without affecting the others. Segments
+     * get the entries in batches as they are read, so the body is never held whole.
+     */
+    public IngestResult ingestNdjson(InputStream in) throws IOException {
+        if (segmentStore != null) {
+            return parseNdjson(in);
+        }
+        return inTransaction(transaction, () -> parseNdjson(in));
+    }
+
+    private IngestResult parseNdjson(InputStream in) throws IOException {
+        ObjectReader reader = ingestReader();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return ingest(new Iterator<>() {
+            private String line = nextLine();
+
+            private String nextLine() {
+                try {
+                    String next;
+                    do {
+                        next = lines.readLine();
+                    } while (next != null && next.isBlank());
+                    return next;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public LogEntry next() {
+                String current = line;
+                line = nextLine();
+                try {
+                    return reader.readValue(current);
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+        }, false);
+    }
+
+    /**
+     * Work that may throw IOException, run in a transaction that rolls back on it.
+     */
+    private interface IoWork<T> {
+        T run() throws IOException;
+    }
+
+    private static <T> T inTransaction(TransactionTemplate template, IoWork<T> work) throws IOException {
+        try {
+            return template.execute(status -> {
+                try {
+                    return work.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ObjectReader ingestReader() {
+        return objectMapper.readerFor(LogEntry.class).with(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+    }
+
+    /**
+     * Inserts the valid entries with plain JDBC batches, one block of ids per batch.
+     * Null stands for an entry that could not be parsed. Segments cannot be rolled
+     * back, so if the input must be stored whole the entries are only appended once
+     * all of it has parsed; otherwise they are appended in batches of the same size.
+     */
+    private IngestResult ingest(Iterator<LogEntry> entries, boolean whole) {
+        List<LogEntry> batch = new ArrayList<>(LogEntry.ID_ALLOCATION_SIZE);
+        List<LogEntry> parsed = segmentStore != null && whole ? new ArrayList<>() : null;
+        long accepted = 0;
+        long rejected = 0;
+        while (entries.hasNext()) {
+            LogEntry entry = entries.next();
+            if (entry == null || entry.getTimestamp() == null || entry.getType() == null
+                    || !entry.getType().accepts(entry)) {
+                rejected++;
+                continue;
+            }
+            accepted++;
+            if (parsed != null) {
+                parsed.add(entry);
+                continue;
+            }
+            batch.add(entry);
+            if (batch.size() == LogEntry.ID_ALLOCATION_SIZE) {
+                storeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (parsed != null) {
+            segmentStore.append(parsed);
+        } else if (!batch.isEmpty()) {
+            storeBatch(batch);
+        }
+        return new IngestResult(accepted, rejected);
+    }
+
+    private void storeBatch(List<LogEntry> batch) {
+        if (segmentStore != null) {
+            segmentStore.append(batch);
+        } else {
+            insertBatch(batch);
+        }
     }
 
-    public List<LogEntry> getAllLogs() {
-        return logEntryRepository.findAll();
+    /**
+     * Inserts up to one id block of entries as a single JDBC batch, bypassing the
+     * persistence context. The ids are the block below a value of the id sequence,
+     * the way Hibernate's pooled optimizer assigns them, so they never collide with
+     * entries saved through JPA.
+     */
+    private void insertBatch(List<LogEntry> batch) {
+        long hi;
+        do {
+            // The first value of a fresh sequence has no full block below it
+            hi = jdbcTemplate.queryForObject("select next value for log_entry_seq", Long.class);
+        } while (hi < LogEntry.ID_ALLOCATION_SIZE);
+        long firstId = hi - LogEntry.ID_ALLOCATION_SIZE + 1;
+        int[] index = { 0 };
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+            statement.setLong(1, firstId + index[0]++);
+            statement.setObject(2, entry.getTimestamp());
+            statement.setString(3, entry.getType().name());
+            statement.setObject(4, entry.getX(), Types.INTEGER);
+            statement.setObject(5, entry.getY(), Types.INTEGER);
+            statement.setObject(6, entry.getValue(), Types.DOUBLE);
+            statement.setObject(7, entry.getStep(), Types.BIGINT);
+            statement.setObject(8, entry.getCount(), Types.INTEGER);
+            statement.setString(9, entry.getDetail());
+        });
     }
 }
@@ -0,0 +1,173 @@
+package com.cleanSweep.backend.infrastructure;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the activity log bounded. A background thread periodically deletes the
+ * events older than the maximum age and the oldest events beyond the maximum row
+ * count, one bounded batch per transaction so inserts are never held up for long.
+ * Optionally the expired movement and battery events are first rolled up into one
+ * summary row per sortie; summary rows are capped separately. With the segments
+ * storage whole segments are deleted instead, and nothing is rolled up.
+ */
+@Service
+public class LogRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogRetentionService.class);
+
+    @Autowired
+    private LogEntryRepository logEntryRepository;
+
+    @Autowired
+    private LogRepoImpl logRepo;
+
+    @Value("${clean-sweep.log-retention.max-rows:0}")
+    private long maxRows;
+
+    @Value("${clean-sweep.log-retention.max-age-ms:0}")
+    private long maxAgeMillis;
+
+    @Value("${clean-sweep.log-retention.interval-ms:10000}")
+    private long intervalMillis = 10_000;
+
+    @Value("${clean-sweep.log-retention.batch-size:5000}")
+    private int batchSize = 5000;
+
+    @Value("${clean-sweep.log-retention.rollup:false}")
+    private boolean rollup;
+
+    @Value("${clean-sweep.log-retention.max-summaries:10000}")
+    private long maxSummaries = 10_000;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (maxRows <= 0 && maxAgeMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledPurge, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void scheduledPurge() {
+        try {
+            long deleted = purge();
+            if (deleted > 0) {
+                logger.debug("Log retention deleted {} entries", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Log retention pass failed", e);
+        }
+    }
+
+    /**
+     * Runs one retention pass and returns the number of entries deleted. A sortie
+     * still in progress when the pass ends is summarized as it stands, so a sortie
+     * that expires over several passes leaves one summary row per pass.
+     */
+    public long purge() {
+        if (logRepo.usesSegments()) {
+            // Segments are dropped whole, so the limits hold to within one segment
+            return logRepo.dropExpiredSegments(maxRows, maxAgeMillis > 0
+                    ? LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(maxAgeMillis)) : null);
+        }
+        SortieRollup sortie = rollup ? new SortieRollup() : null;
+        long deleted = 0;
+        if (maxAgeMillis > 0) {
+            LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(maxAgeMillis));
+            List<LogEntry> batch;
+            while (!(batch = logEntryRepository.findOlderThan(cutoff, ActivityEventType.SORTIE_SUMMARY,
+                    Limit.of(batchSize))).isEmpty()) {
+                deleted += expire(batch, sortie);
+            }
+        }
+        if (maxRows > 0) {
+            long excess = logEntryRepository.count()
+                    - logEntryRepository.countByType(ActivityEventType.SORTIE_SUMMARY) - maxRows;
+            // Walk the primary key from the oldest entry, stepping over summary rows
+            long afterId = 0;
+            while (excess > 0) {
+                List<LogEntry> batch = logEntryRepository.findAfter(afterId, Limit.of((int) Math.min(batchSize, excess)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                batch.removeIf(entry -> entry.getType() == ActivityEventType.SORTIE_SUMMARY);
+                // Ids are committed out of order, so only the entries read are deleted: an id
+                // range could include entries committed since that were never rolled up
+                int expired = expire(batch, sortie);
+                excess -= expired;
+                deleted += expired;
+            }
+        }
+        if (sortie != null) {
+            sortie.close();
+            List<LogEntry> summaries = sortie.drain();
+            if (!summaries.isEmpty()) {
+                logRepo.replaceLogs(List.of(), summaries);
+            }
+        }
+        long excessSummaries = logEntryRepository.countByType(ActivityEventType.SORTIE_SUMMARY) - maxSummaries;
+        while (excessSummaries > 0) {
+            List<LogEntry> batch = logEntryRepository.findByTypeOrderById(ActivityEventType.SORTIE_SUMMARY,
+                    Limit.of((int) Math.min(batchSize, excessSummaries)));
+            if (batch.isEmpty()) {
+                break;
+            }
+            excessSummaries -= batch.size();
+            deleted += expire(batch, null);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes one batch, together with saving the summaries of the sorties it closes.
+     */
+    private int expire(List<LogEntry> batch, SortieRollup sortie) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (LogEntry entry : batch) {
+            ids.add(entry.getId());
+        }
+        logRepo.replaceLogs(ids, rollUp(batch, sortie));
+        return ids.size();
+    }
+
+    /**
+     * Feeds a batch to the roll-up and returns the summaries of the sorties it closes.
+     */
+    private List<LogEntry> rollUp(List<LogEntry> batch, SortieRollup sortie) {
+        if (sortie == null) {
+            return List.of();
+        }
+        for (LogEntry entry : batch) {
+            sortie.add(entry);
+        }
+        return sortie.drain();
+    }
+}
@@ -0,0 +1,11 @@
+package com.cleanSweep.backend.infrastructure;
+
+/**
+ * Where the activity log is kept, selected with clean-sweep.activity-log.storage.
+ */
+public enum LogStorage {
+    /** The log_entry table, through JPA and JDBC. */
+    DATABASE,
+    /** Memory-mapped segment files, see {@link SegmentLogStore}. */
+    SEGMENTS
+}
@@ -0,0 +1,241 @@
+package com.cleanSweep.backend.infrastructure;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.FloorGrid;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Floor grid that reads the cells of a mapped binary floor plan in place. The mapping
+ * is never written: the first change to a cell copies its 64x64 tile from the plan into
+ * a tile of its own, so loading a plan costs no more than mapping it, and memory grows
+ * with the part of the floor that is cleaned. Visits are kept apart in one bit per cell,
+ * allocated per tile on the first visit, and scattered dirt is computed from its seed
+ * until a tile is copied, so neither copies a tile on its own.
+ */
+class MappedFloorGrid implements FloorGrid {
+
+    private static final int TILE_SHIFT = 6;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private final ByteBuffer buffer;
+    private final int cellOffset;
+    private final int rows;
+    private final int cols;
+    private final int tileCols;
+    private final Tile[] tiles;
+    private final long[][] visited; // per tile, one word per row of the tile
+    private boolean[] pendingDirt; // per tile, whether scattered dirt is not stored yet
+    private long dirtSeed;
+    private int materializedTiles;
+
+    /**
+     * Cells of one tile that has changed, indexed by (x % 64) * 64 + y % 64. Cells hold
+     * the plan's encoding; cells past the edge of the floor are unused.
+     */
+    private static final class Tile {
+        private final byte[] cells = new byte[TILE_SIZE * TILE_SIZE];
+    }
+
+    MappedFloorGrid(ByteBuffer buffer, int cellOffset, int rows, int cols) {
+        this.buffer = buffer;
+        this.cellOffset = cellOffset;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileCols = (cols + TILE_MASK) >> TILE_SHIFT;
+        this.tiles = new Tile[((rows + TILE_MASK) >> TILE_SHIFT) * tileCols];
+        this.visited = new long[tiles.length][];
+    }
+
+    /**
+     * Returns the number of tiles that have been copied from the plan.
+     */
+    public int getMaterializedTiles() {
+        return materializedTiles;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    private int tileIndex(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= cols) {
+            throw new IndexOutOfBoundsException(String.format("Cell (%d, %d) is outside the floor", x, y));
+        }
+        return (x >> TILE_SHIFT) * tileCols + (y >> TILE_SHIFT);
+    }
+
+    private static int offset(int x, int y) {
+        return ((x & TILE_MASK) << TILE_SHIFT) | (y & TILE_MASK);
+    }
+
+    private int cell(int x, int y) {
+        int index = tileIndex(x, y);
+        Tile tile = tiles[index];
+        int cell = tile != null ? tile.cells[offset(x, y)] & 0xff : buffer.get(cellOffset + x * cols + y) & 0xff;
+        return pendingDirt != null && pendingDirt[index] ? withScatteredDirt(cell, x, y) : cell;
+    }
+
+    /**
+     * Returns the cell with the dirt scattered on it if it is free and clean.
+     */
+    private int withScatteredDirt(int cell, int x, int y) {
+        if ((cell & (BinaryFloorPlan.OBSTACLE | BinaryFloorPlan.CHARGING_STATION)) == 0
+                && cell >>> BinaryFloorPlan.DIRT_SHIFT == 0 && FloorGrid.isScatteredDirt(dirtSeed, x, y)) {
+            return cell | 1 << BinaryFloorPlan.DIRT_SHIFT;
+        }
+        return cell;
+    }
+
+    /**
+     * Returns the tile of a cell that is about to change, copying it from the plan first
+     * and storing its scattered dirt if that is still pending.
+     */
+    private Tile writableTile(int x, int y) {
+        int index = tileIndex(x, y);
+        Tile tile = tiles[index];
+        int firstX = x & ~TILE_MASK;
+        int firstY = y & ~TILE_MASK;
+        if (tile == null) {
+            tile = new Tile();
+            int width = Math.min(TILE_SIZE, cols - firstY);
+            for (int i = 0; i < TILE_SIZE && firstX + i < rows; i++) {
+                buffer.get(cellOffset + (firstX + i) * cols + firstY, tile.cells, i << TILE_SHIFT, width);
+            }
+            tiles[index] = tile;
+            materializedTiles++;
+        }
+        if (pendingDirt != null && pendingDirt[index]) {
+            pendingDirt[index] = false;
+            for (int i = firstX; i < Math.min(firstX + TILE_SIZE, rows); i++) {
+                for (int j = firstY; j < Math.min(firstY + TILE_SIZE, cols); j++) {
+                    int offset = offset(i, j);
+                    tile.cells[offset] = (byte) withScatteredDirt(tile.cells[offset] & 0xff, i, j);
+                }
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Defers the dirt of every tile until the tile is copied, and only counts the cells
+     * that get dirt.
+     */
+    @Override
+    public int scatterDirt(long seed) {
+        dirtSeed = seed;
+        pendingDirt = new boolean[tiles.length];
+        Arrays.fill(pendingDirt, true);
+        int dirtyCells = 0;
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                if (getDirtLevel(x, y) > 0) {
+                    dirtyCells++;
+                }
+            }
+        }
+        return dirtyCells;
+    }
+
+    private void setCell(int x, int y, int value) {
+        if (cell(x, y) != value) {
+            writableTile(x, y).cells[offset(x, y)] = (byte) value;
+        }
+    }
+
+    private void setFlag(int x, int y, int flag, boolean value) {
+        int cell = cell(x, y);
+        setCell(x, y, value ? cell | flag : cell & ~flag);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public FloorType getFloorType(int x, int y) {
+        return BinaryFloorPlan.floorType(cell(x, y));
+    }
+
+    @Override
+    public void setFloorType(int x, int y, FloorType floorType) {
+        setCell(x, y, (cell(x, y) & ~BinaryFloorPlan.FLOOR_TYPE_MASK) | floorType.ordinal());
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return (cell(x, y) & BinaryFloorPlan.OBSTACLE) != 0;
+    }
+
+    @Override
+    public void setObstacle(int x, int y, boolean isObstacle) {
+        setFlag(x, y, BinaryFloorPlan.OBSTACLE, isObstacle);
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return (cell(x, y) & BinaryFloorPlan.CHARGING_STATION) != 0;
+    }
+
+    @Override
+    public void setChargingStation(int x, int y, boolean isChargingStation) {
+        setFlag(x, y, BinaryFloorPlan.CHARGING_STATION, isChargingStation);
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return (cell(x, y) & BinaryFloorPlan.STAIRS) != 0;
+    }
+
+    @Override
+    public void setStairs(int x, int y, boolean isStairs) {
+        setFlag(x, y, BinaryFloorPlan.STAIRS, isStairs);
+    }
+
+    @Override
+    public boolean isVisited(int x, int y) {
+        long[] bits = visited[tileIndex(x, y)];
+        return bits != null && (bits[x & TILE_MASK] & 1L << (y & TILE_MASK)) != 0;
+    }
+
+    @Override
+    public void setVisited(int x, int y, boolean isVisited) {
+        int index = tileIndex(x, y);
+        long[] bits = visited[index];
+        if (bits == null) {
+            if (!isVisited) {
+                return;
+            }
+            bits = new long[TILE_SIZE];
+            visited[index] = bits;
+        }
+        if (isVisited) {
+            bits[x & TILE_MASK] |= 1L << (y & TILE_MASK);
+        } else {
+            bits[x & TILE_MASK] &= ~(1L << (y & TILE_MASK));
+        }
+    }
+
+    @Override
+    public int getDirtLevel(int x, int y) {
+        return cell(x, y) >>> BinaryFloorPlan.DIRT_SHIFT;
+    }
+
+    /**
+     * Sets the dirt level of a cell, capped at the 7 levels the plan's encoding holds.
+     */
+    @Override
+    public void setDirtLevel(int x, int y, int dirtLevel) {
+        int level = Math.min(Math.max(dirtLevel, 0), BinaryFloorPlan.MAX_DIRT_LEVEL);
+        setCell(x, y, (cell(x, y) & ~(BinaryFloorPlan.MAX_DIRT_LEVEL << BinaryFloorPlan.DIRT_SHIFT))
+                | level << BinaryFloorPlan.DIRT_SHIFT);
+    }
+}
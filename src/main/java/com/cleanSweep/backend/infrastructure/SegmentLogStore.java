@@ -0,0 +1,590 @@
+package com.cleanSweep.backend.infrastructure;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only activity log kept in fixed-size memory-mapped segment files instead of
+ * the database. Entries get consecutive ids and are appended as binary records; a
+ * segment that is full is sealed and a new one is started. Each segment keeps a
+ * sparse in-memory index of every 64 KiB of records with their first id and their
+ * timestamp range, so id lookups and time range scans skip most of the data.
+ * <p>
+ * A segment file starts with a 16-byte header (magic, version, first id). A record is
+ * its length, a CRC32C of the rest of the record, the id, the timestamp in nanoseconds
+ * since the epoch in UTC, the type ordinal, a presence flag per nullable field, x, y,
+ * value, step, count, and the detail as length-prefixed UTF-8. The length is written
+ * last, so a record torn by a crash reads as the end of the log. The index of a
+ * sealed segment is saved next to it; on open only the last segment is scanned, and
+ * anything after its last intact record is discarded.
+ * <p>
+ * Writes are serialized; reads run concurrently and see every record whose append
+ * call has returned. Mapped pages reach the file even if the process dies, but only
+ * {@link #close} forces them to disk, so an operating system crash can lose the tail.
+ */
+public class SegmentLogStore implements Closeable {
+
+    private static final int MAGIC = 0x43534c47; // "CSLG"
+    private static final int INDEX_MAGIC = 0x43534c49; // "CSLI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int INDEX_INTERVAL = 64 * 1024;
+
+    private static final int ID = 8;
+    private static final int TIMESTAMP = 16;
+    private static final int TYPE = 24;
+    private static final int FLAGS = 25;
+    private static final int X = 26;
+    private static final int Y = 30;
+    private static final int VALUE = 34;
+    private static final int STEP = 42;
+    private static final int COUNT = 50;
+    private static final int DETAIL_LENGTH = 54;
+    private static final int DETAIL = 58;
+
+    private static final int HAS_TIMESTAMP = 1;
+    private static final int HAS_X = 1 << 1;
+    private static final int HAS_Y = 1 << 2;
+    private static final int HAS_VALUE = 1 << 3;
+    private static final int HAS_STEP = 1 << 4;
+    private static final int HAS_COUNT = 1 << 5;
+    private static final int HAS_DETAIL = 1 << 6;
+
+    private static final ActivityEventType[] TYPES = ActivityEventType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final CRC32C crc = new CRC32C();
+    private Segment active;
+    private ByteBuffer writeView;
+    private int position;
+    private long nextId;
+
+    private SegmentLogStore(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store in a directory, creating it if needed, and recovers the last
+     * segment by scanning it up to its last intact record.
+     */
+    public static SegmentLogStore open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + DETAIL + 1024) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " is too small");
+        }
+        Files.createDirectories(directory);
+        SegmentLogStore store = new SegmentLogStore(directory, segmentSize);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().matches("segment-\\d{20}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+        if (!files.isEmpty() && Files.size(files.get(files.size() - 1)) == 0) {
+            // A crash between creating the newest segment and mapping it leaves it empty
+            Files.delete(files.get(files.size() - 1));
+            files = files.subList(0, files.size() - 1);
+        }
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            Segment segment = Segment.map(files.get(i), last);
+            if (last || !segment.loadIndex()) {
+                segment.scan();
+            }
+            store.segments.add(segment);
+        }
+        if (store.segments.isEmpty()) {
+            store.startSegment(1);
+        } else {
+            store.resume(store.segments.get(store.segments.size() - 1));
+        }
+        return store;
+    }
+
+    private void resume(Segment segment) {
+        if (segment.limit + 4 <= segment.capacity() && segment.buffer.getInt(segment.limit) != 0) {
+            // Clear what is left of a torn record so that it cannot be mistaken for data later
+            for (int offset = segment.limit; offset < segment.capacity(); offset++) {
+                segment.buffer.put(offset, (byte) 0);
+            }
+        }
+        active = segment;
+        writeView = segment.buffer.duplicate();
+        position = segment.limit;
+        nextId = segment.lastId + 1;
+    }
+
+    private void startSegment(long firstId) throws IOException {
+        Path file = directory.resolve(String.format("segment-%020d.log", firstId));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, firstId);
+        Segment segment = new Segment(file, buffer, firstId);
+        segments.add(segment);
+        resume(segment);
+    }
+
+    /**
+     * Appends entries, assigning their ids.
+     */
+    public synchronized void append(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            appendOne(entry);
+        }
+    }
+
+    private void appendOne(LogEntry entry) {
+        String detail = entry.getDetail();
+        byte[] detailBytes = null;
+        int detailLength = 0;
+        if (detail != null) {
+            detailLength = detail.length();
+            for (int i = 0; i < detail.length(); i++) {
+                if (detail.charAt(i) >= 0x80) {
+                    detailBytes = detail.getBytes(StandardCharsets.UTF_8);
+                    detailLength = detailBytes.length;
+                    break;
+                }
+            }
+        }
+        int size = DETAIL + detailLength;
+        if (HEADER_SIZE + size > segmentSize) {
+            throw new IllegalArgumentException("Log entry of " + size + " bytes does not fit in a segment");
+        }
+        if (position + size > active.capacity()) {
+            roll();
+        }
+
+        ByteBuffer buffer = active.buffer;
+        int start = position;
+        long id = nextId;
+        long timestamp = entry.getTimestamp() != null ? toNanos(entry.getTimestamp()) : 0;
+        int flags = (entry.getTimestamp() != null ? HAS_TIMESTAMP : 0)
+                | (entry.getX() != null ? HAS_X : 0)
+                | (entry.getY() != null ? HAS_Y : 0)
+                | (entry.getValue() != null ? HAS_VALUE : 0)
+                | (entry.getStep() != null ? HAS_STEP : 0)
+                | (entry.getCount() != null ? HAS_COUNT : 0)
+                | (detail != null ? HAS_DETAIL : 0);
+        buffer.putLong(start + ID, id);
+        buffer.putLong(start + TIMESTAMP, timestamp);
+        buffer.put(start + TYPE, (byte) entry.getType().ordinal());
+        buffer.put(start + FLAGS, (byte) flags);
+        buffer.putInt(start + X, entry.getX() != null ? entry.getX() : 0);
+        buffer.putInt(start + Y, entry.getY() != null ? entry.getY() : 0);
+        buffer.putDouble(start + VALUE, entry.getValue() != null ? entry.getValue() : 0);
+        buffer.putLong(start + STEP, entry.getStep() != null ? entry.getStep() : 0);
+        buffer.putInt(start + COUNT, entry.getCount() != null ? entry.getCount() : 0);
+        buffer.putInt(start + DETAIL_LENGTH, detailLength);
+        if (detailBytes != null) {
+            buffer.put(start + DETAIL, detailBytes);
+        } else {
+            for (int i = 0; i < detailLength; i++) {
+                buffer.put(start + DETAIL + i, (byte) detail.charAt(i));
+            }
+        }
+        crc.reset();
+        writeView.limit(start + size).position(start + ID);
+        crc.update(writeView);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, size);
+
+        active.index(id, start, timestamp);
+        position = start + size;
+        nextId = id + 1;
+        entry.setId(id);
+        active.lastId = id;
+        active.limit = position;
+    }
+
+    private void roll() {
+        try {
+            active.saveIndex();
+            startSegment(nextId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new log segment", e);
+        }
+    }
+
+    /**
+     * Passes the entries with an id above afterId, oldest first, to the sink until it
+     * returns false. A type or a [from, to) timestamp range narrows the entries; null
+     * arguments are not filtered on.
+     */
+    public void scan(long afterId, ActivityEventType type, LocalDateTime from, LocalDateTime to,
+                     Predicate<LogEntry> sink) {
+        long fromNanos = from != null ? toNanos(from) : Long.MIN_VALUE;
+        long toNanos = to != null ? toNanos(to) : Long.MAX_VALUE;
+        boolean timeFiltered = from != null || to != null;
+        Segment[] snapshot = segments.toArray(new Segment[0]);
+        for (int s = firstSegment(snapshot, afterId + 1); s < snapshot.length; s++) {
+            Segment segment = snapshot[s];
+            int limit = segment.limit;
+            if (segment.lastId <= afterId
+                    || timeFiltered && (segment.maxTimestamp < fromNanos || segment.minTimestamp >= toNanos)) {
+                continue;
+            }
+            int blocks = segment.blockCount;
+            long[] blockIds = segment.blockIds;
+            int[] blockOffsets = segment.blockOffsets;
+            long[] blockMin = segment.blockMin;
+            long[] blockMax = segment.blockMax;
+            int found = Arrays.binarySearch(blockIds, 0, blocks, afterId + 1);
+            for (int block = found >= 0 ? found : Math.max(0, -found - 2); block < blocks; block++) {
+                // Blocks indexed after limit was read are left for the next scan
+                int end = block + 1 < blocks ? Math.min(blockOffsets[block + 1], limit) : limit;
+                if (blockOffsets[block] >= limit) {
+                    break;
+                }
+                if (block + 1 < blocks && timeFiltered
+                        && (blockMax[block] < fromNanos || blockMin[block] >= toNanos)) {
+                    continue;
+                }
+                for (int offset = blockOffsets[block]; offset < end; ) {
+                    int size = segment.buffer.getInt(offset);
+                    if (segment.buffer.getLong(offset + ID) > afterId
+                            && (type == null || segment.buffer.get(offset + TYPE) == type.ordinal())) {
+                        long timestamp = segment.buffer.getLong(offset + TIMESTAMP);
+                        if ((!timeFiltered || timestamp >= fromNanos && timestamp < toNanos)
+                                && !sink.test(decode(segment.buffer, offset))) {
+                            return;
+                        }
+                    }
+                    offset += size;
+                }
+            }
+        }
+    }
+
+    private static int firstSegment(Segment[] snapshot, long id) {
+        int low = 0;
+        int high = snapshot.length - 1;
+        int result = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (snapshot[middle].firstId <= id) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to limit entries after afterId, like the database query behind the
+     * log API.
+     */
+    public LogPage findLogs(Long afterId, int limit, ActivityEventType type, LocalDateTime from, LocalDateTime to) {
+        List<LogEntry> entries = new ArrayList<>();
+        scan(afterId != null ? afterId : 0, type, from, to, entry -> entries.add(entry) && entries.size() <= limit);
+        if (entries.size() <= limit) {
+            return new LogPage(entries, null);
+        }
+        List<LogEntry> page = entries.subList(0, limit);
+        return new LogPage(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Returns the newest entries, oldest first. Ids are consecutive, so this is a
+     * lookup of the id limit entries back rather than a backwards scan.
+     */
+    public List<LogEntry> tail(int limit) {
+        return findLogs(Math.max(0, getLastId() - limit), limit, null, null, null).getEntries();
+    }
+
+    public long getLastId() {
+        Segment[] snapshot = segments.toArray(new Segment[0]);
+        return snapshot[snapshot.length - 1].lastId;
+    }
+
+    /**
+     * Returns the number of entries held, which ids being consecutive is the id range.
+     * Both ends come from one snapshot, since retention may drop the oldest segment meanwhile.
+     */
+    public long size() {
+        Segment[] snapshot = segments.toArray(new Segment[0]);
+        return snapshot[snapshot.length - 1].lastId - snapshot[0].firstId + 1;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Deletes whole sealed segments from the oldest on, while the rest still hold at
+     * least maxRows entries, or while all their entries are older than the cutoff.
+     * A limit of 0 is ignored. Returns the number of entries deleted.
+     */
+    public synchronized long dropSegments(long maxRows, LocalDateTime cutoff) {
+        long cutoffNanos = cutoff != null ? toNanos(cutoff) : Long.MIN_VALUE;
+        long dropped = 0;
+        while (segments.size() > 1) {
+            Segment oldest = segments.get(0);
+            long count = oldest.lastId - oldest.firstId + 1;
+            boolean overRows = maxRows > 0 && size() - count >= maxRows;
+            boolean expired = oldest.maxTimestamp < cutoffNanos;
+            if (!overRows && !expired) {
+                break;
+            }
+            segments.remove(0);
+            try {
+                Files.deleteIfExists(oldest.file);
+                Files.deleteIfExists(oldest.indexFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete log segment " + oldest.file, e);
+            }
+            dropped += count;
+        }
+        return dropped;
+    }
+
+    /**
+     * Forces the active segment to disk. Readers may still use the store's mappings.
+     */
+    @Override
+    public synchronized void close() {
+        active.buffer.force();
+    }
+
+    private static LogEntry decode(ByteBuffer buffer, int offset) {
+        LogEntry entry = new LogEntry();
+        int flags = buffer.get(offset + FLAGS);
+        entry.setId(buffer.getLong(offset + ID));
+        entry.setType(TYPES[buffer.get(offset + TYPE)]);
+        if ((flags & HAS_TIMESTAMP) != 0) {
+            entry.setTimestamp(fromNanos(buffer.getLong(offset + TIMESTAMP)));
+        }
+        if ((flags & HAS_X) != 0) {
+            entry.setX(buffer.getInt(offset + X));
+        }
+        if ((flags & HAS_Y) != 0) {
+            entry.setY(buffer.getInt(offset + Y));
+        }
+        if ((flags & HAS_VALUE) != 0) {
+            entry.setValue(buffer.getDouble(offset + VALUE));
+        }
+        if ((flags & HAS_STEP) != 0) {
+            entry.setStep(buffer.getLong(offset + STEP));
+        }
+        if ((flags & HAS_COUNT) != 0) {
+            entry.setCount(buffer.getInt(offset + COUNT));
+        }
+        if ((flags & HAS_DETAIL) != 0) {
+            byte[] detail = new byte[buffer.getInt(offset + DETAIL_LENGTH)];
+            buffer.get(offset + DETAIL, detail);
+            entry.setDetail(new String(detail, StandardCharsets.UTF_8));
+        }
+        return entry;
+    }
+
+    private static long toNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    private static LocalDateTime fromNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /**
+     * One segment file and its sparse index. The writer publishes a record by updating
+     * limit after the record and its index entry, so readers that read limit first
+     * see consistent data below it.
+     */
+    private static final class Segment {
+
+        final Path file;
+        final MappedByteBuffer buffer;
+        final long firstId;
+        volatile int limit = HEADER_SIZE;
+        volatile long lastId;
+        volatile long minTimestamp = Long.MAX_VALUE;
+        volatile long maxTimestamp = Long.MIN_VALUE;
+
+        volatile long[] blockIds = new long[64];
+        volatile int[] blockOffsets = new int[64];
+        volatile long[] blockMin = new long[64];
+        volatile long[] blockMax = new long[64];
+        volatile int blockCount;
+
+        Segment(Path file, MappedByteBuffer buffer, long firstId) {
+            this.file = file;
+            this.buffer = buffer;
+            this.firstId = firstId;
+            this.lastId = firstId - 1;
+        }
+
+        static Segment map(Path file, boolean writable) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = writable
+                    ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                        0, channel.size());
+            }
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a log segment: " + file);
+            }
+            return new Segment(file, buffer, buffer.getLong(8));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        Path indexFile() {
+            String name = file.getFileName().toString();
+            return file.resolveSibling(name.substring(0, name.length() - 4) + ".idx");
+        }
+
+        void index(long id, int offset, long timestamp) {
+            int count = blockCount;
+            if (count == 0 || offset - blockOffsets[count - 1] >= INDEX_INTERVAL) {
+                if (count == blockIds.length) {
+                    int capacity = count * 2;
+                    blockIds = Arrays.copyOf(blockIds, capacity);
+                    blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+                    blockMin = Arrays.copyOf(blockMin, capacity);
+                    blockMax = Arrays.copyOf(blockMax, capacity);
+                }
+                blockIds[count] = id;
+                blockOffsets[count] = offset;
+                blockMin[count] = timestamp;
+                blockMax[count] = timestamp;
+                blockCount = ++count;
+            } else {
+                blockMin[count - 1] = Math.min(blockMin[count - 1], timestamp);
+                blockMax[count - 1] = Math.max(blockMax[count - 1], timestamp);
+            }
+            if (timestamp < minTimestamp) {
+                minTimestamp = timestamp;
+            }
+            if (timestamp > maxTimestamp) {
+                maxTimestamp = timestamp;
+            }
+        }
+
+        /**
+         * Rebuilds the index by reading the records, stopping at the first one that is
+         * missing, torn or out of sequence.
+         */
+        void scan() {
+            CRC32C crc = new CRC32C();
+            ByteBuffer view = buffer.duplicate();
+            int offset = HEADER_SIZE;
+            long expectedId = firstId;
+            while (offset + DETAIL <= capacity()) {
+                int size = buffer.getInt(offset);
+                if (size < DETAIL || size > capacity() - offset
+                        || buffer.getInt(offset + DETAIL_LENGTH) != size - DETAIL
+                        || buffer.getLong(offset + ID) != expectedId) {
+                    break;
+                }
+                crc.reset();
+                view.limit(offset + size).position(offset + ID);
+                crc.update(view);
+                if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                    break;
+                }
+                index(expectedId, offset, buffer.getLong(offset + TIMESTAMP));
+                offset += size;
+                lastId = expectedId++;
+            }
+            limit = offset;
+        }
+
+        void saveIndex() throws IOException {
+            Path temporary = indexFile().resolveSibling(indexFile().getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(blockCount);
+                out.writeLong(lastId);
+                out.writeInt(limit);
+                out.writeLong(minTimestamp);
+                out.writeLong(maxTimestamp);
+                for (int i = 0; i < blockCount; i++) {
+                    out.writeLong(blockIds[i]);
+                    out.writeInt(blockOffsets[i]);
+                    out.writeLong(blockMin[i]);
+                    out.writeLong(blockMax[i]);
+                }
+            }
+            Files.move(temporary, indexFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * Loads the index saved when the segment was sealed. Returns false if there is
+         * none or it is unreadable, in which case the segment has to be scanned.
+         */
+        boolean loadIndex() {
+            Path indexFile = indexFile();
+            if (!Files.exists(indexFile)) {
+                return false;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                if (in.readInt() != INDEX_MAGIC) {
+                    return false;
+                }
+                int count = in.readInt();
+                long[] ids = new long[Math.max(count, 1)];
+                int[] offsets = new int[ids.length];
+                long[] min = new long[ids.length];
+                long[] max = new long[ids.length];
+                long last = in.readLong();
+                int end = in.readInt();
+                long minTs = in.readLong();
+                long maxTs = in.readLong();
+                for (int i = 0; i < count; i++) {
+                    ids[i] = in.readLong();
+                    offsets[i] = in.readInt();
+                    min[i] = in.readLong();
+                    max[i] = in.readLong();
+                }
+                blockIds = ids;
+                blockOffsets = offsets;
+                blockMin = min;
+                blockMax = max;
+                blockCount = count;
+                minTimestamp = minTs;
+                maxTimestamp = maxTs;
+                lastId = last;
+                limit = end;
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.cleanSweep.backend.infrastructure;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds expired movement and battery events into one summary row per sortie, a
+ * sortie being the run of events between two recharges. Events must be added in
+ * the order they happened.
+ */
+class SortieRollup {
+
+    private LocalDateTime start;
+    private Long startStep;
+    private int moves;
+    private Double firstBattery;
+    private Double lastBattery;
+    private final List<LogEntry> summaries = new ArrayList<>();
+
+    void add(LogEntry entry) {
+        switch (entry.getType()) {
+            case RECHARGE:
+                close();
+                break;
+            case MOVEMENT:
+                begin(entry);
+                moves++;
+                break;
+            case BATTERY:
+                begin(entry);
+                if (firstBattery == null) {
+                    firstBattery = entry.getValue();
+                }
+                lastBattery = entry.getValue();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void begin(LogEntry entry) {
+        if (start == null) {
+            start = entry.getTimestamp();
+            startStep = entry.getStep();
+        }
+    }
+
+    /**
+     * Ends the current sortie and turns it into a summary row, if it has any events.
+     */
+    void close() {
+        if (start == null) {
+            return;
+        }
+        LogEntry summary = new LogEntry();
+        summary.setType(ActivityEventType.SORTIE_SUMMARY);
+        summary.setTimestamp(start);
+        summary.setStep(startStep);
+        summary.setCount(moves);
+        summary.setValue(firstBattery != null ? firstBattery - lastBattery : 0.0);
+        summaries.add(summary);
+        start = null;
+        startStep = null;
+        moves = 0;
+        firstBattery = null;
+        lastBattery = null;
+    }
+
+    /**
+     * Returns the summaries of the sorties closed since the last call.
+     */
+    List<LogEntry> drain() {
+        List<LogEntry> drained = new ArrayList<>(summaries);
+        summaries.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.domain.FloorMap;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Body of a session creation request. A floor plan takes precedence over a generated
+ * floor; the seed drives the generated layout or the dirt scattered over the plan.
+ */
+@Getter
+@Setter
+public class CreateSessionRequest {
+
+    private Long seed;
+    private Integer gridSize;
+    private FloorMap.FloorPlanData floorPlan;
+}
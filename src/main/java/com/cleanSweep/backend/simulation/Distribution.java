@@ -0,0 +1,60 @@
+package com.cleanSweep.backend.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Summary of a sample of values: mean, extremes and nearest-rank percentiles.
+ */
+public class Distribution {
+
+    private final double[] sorted;
+
+    private Distribution(double[] sorted) {
+        this.sorted = sorted;
+    }
+
+    public static Distribution of(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return new Distribution(sorted);
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public double getMean() {
+        double sum = 0;
+        for (double value : sorted) {
+            sum += value;
+        }
+        return sorted.length == 0 ? 0 : sum / sorted.length;
+    }
+
+    public double getMin() {
+        return sorted.length == 0 ? 0 : sorted[0];
+    }
+
+    public double getMax() {
+        return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+    }
+
+    /**
+     * Returns the smallest value that at least the given percentage of the sample does not exceed.
+     */
+    public double getPercentile(double percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Formats the mean and the usual percentiles on one line.
+     */
+    public String format() {
+        return String.format("mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f",
+                getMean(), getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,105 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.application.BatteryService;
+import com.cleanSweep.backend.application.DirtService;
+import com.cleanSweep.backend.application.NavigationService;
+import com.cleanSweep.backend.application.SensorSimulatorService;
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a full cleaning mission without the JavaFX window, stepping the navigation
+ * as fast as the CPU allows instead of once per animation tick.
+ * With clean-sweep.headless.worlds above one, that many seeded worlds are run in
+ * parallel instead and summarized as distributions.
+ * Active with the headless profile, see {@link com.cleanSweep.HeadlessSimulation}.
+ */
+@Component
+@Profile("headless")
+public class HeadlessSimulationRunner implements CommandLineRunner {
+
+    @Autowired
+    private FloorMap floorMap;
+
+    @Autowired
+    private NavigationService navigationService;
+
+    @Autowired
+    private BatteryService batteryService;
+
+    @Autowired
+    private DirtService dirtService;
+
+    @Autowired
+    private SensorSimulatorService sensorSimulatorService;
+
+    @Value("${clean-sweep.headless.max-steps:10000000}")
+    private long maxSteps = 10_000_000;
+
+    @Value("${clean-sweep.headless.worlds:1}")
+    private int worlds = 1;
+
+    @Value("${clean-sweep.headless.base-seed:0}")
+    private long baseSeed;
+
+    @Value("${clean-sweep.headless.parallelism:0}")
+    private int parallelism;
+
+    @Value("${clean-sweep.floor-grid-size}")
+    private int gridSize;
+
+    @Value("${clean-sweep.floor-map.storage:cells}")
+    private FloorStorage storage = FloorStorage.CELLS;
+
+    @Value("${clean-sweep.battery.low-threshold}")
+    private int lowBatteryThreshold;
+
+    @Value("${clean-sweep.battery.full-charge}")
+    private int fullCharge;
+
+    @Value("${clean-sweep.dirt.capacity}")
+    private int dirtCapacity;
+
+    @Getter
+    private SimulationStatistics statistics;
+
+    @Getter
+    private MonteCarloSummary summary;
+
+    @Override
+    public void run(String... args) {
+        if (worlds > 1) {
+            summary = runWorlds();
+            System.out.println(summary.format());
+        } else {
+            statistics = runMission();
+            System.out.println(statistics.format());
+        }
+    }
+
+    /**
+     * Steps the mission of the application context until navigation completes or
+     * the step limit is reached.
+     */
+    public SimulationStatistics runMission() {
+        return new SimulationWorld(floorMap, sensorSimulatorService, batteryService, dirtService, navigationService)
+                .run(maxSteps);
+    }
+
+    /**
+     * Runs the configured number of seeded worlds on all cores, or on the configured
+     * number of threads.
+     */
+    public MonteCarloSummary runWorlds() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new MonteCarloRunner(threads).run(worlds, baseSeed, maxSteps,
+                seed -> SimulationWorld.create(gridSize, lowBatteryThreshold, fullCharge, dirtCapacity, seed, storage));
+    }
+}
@@ -0,0 +1,44 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Runs many seeded worlds in parallel on a fork-join pool and aggregates their outcomes.
+ * Worlds share no mutable state, so throughput grows with the number of cores.
+ */
+public class MonteCarloRunner {
+
+    private final int parallelism;
+
+    public MonteCarloRunner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates one world per seed, from baseSeed to baseSeed + worlds - 1, runs each
+     * mission for at most maxSteps steps and summarizes the results.
+     */
+    public MonteCarloSummary run(int worlds, long baseSeed, long maxSteps, LongFunction<SimulationWorld> factory) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            SimulationStatistics[] runs = pool.submit(() -> IntStream.range(0, worlds)
+                    .parallel()
+                    .mapToObj(i -> factory.apply(baseSeed + i).run(maxSteps))
+                    .toArray(SimulationStatistics[]::new)).get();
+            return new MonteCarloSummary(runs, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated world failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
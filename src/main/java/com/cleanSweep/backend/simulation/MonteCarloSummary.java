@@ -0,0 +1,52 @@
+package com.cleanSweep.backend.simulation;
+
+import lombok.Getter;
+
+/**
+ * Aggregated outcome of a batch of seeded worlds.
+ */
+@Getter
+public class MonteCarloSummary {
+
+    private final int worlds;
+    private final int completed;
+    private final long wallNanos;
+    private final Distribution missionSteps;
+    private final Distribution energy;
+    private final Distribution recharges;
+
+    public MonteCarloSummary(SimulationStatistics[] runs, long wallNanos) {
+        this.worlds = runs.length;
+        this.wallNanos = wallNanos;
+        double[] steps = new double[runs.length];
+        double[] energy = new double[runs.length];
+        double[] recharges = new double[runs.length];
+        int completed = 0;
+        for (int i = 0; i < runs.length; i++) {
+            steps[i] = runs[i].getSteps();
+            energy[i] = runs[i].getEnergy();
+            recharges[i] = runs[i].getRecharges();
+            if (runs[i].isCompleted()) {
+                completed++;
+            }
+        }
+        this.completed = completed;
+        this.missionSteps = Distribution.of(steps);
+        this.energy = Distribution.of(energy);
+        this.recharges = Distribution.of(recharges);
+    }
+
+    public double getWorldsPerSecond() {
+        return wallNanos == 0 ? 0 : worlds * 1e9 / wallNanos;
+    }
+
+    /**
+     * Formats the summary as a short multi-line report.
+     */
+    public String format() {
+        return String.format("%d worlds (%d completed) in %.1f ms (%.1f worlds/s)%n"
+                        + "  mission steps: %s%n  energy: %s%n  recharges: %s",
+                worlds, completed, wallNanos / 1e6, getWorldsPerSecond(),
+                missionSteps.format(), energy.format(), recharges.format());
+    }
+}
@@ -0,0 +1,38 @@
+package com.cleanSweep.backend.simulation;
+
+import lombok.Getter;
+
+/**
+ * Compact state of a simulation session, without the floor cells.
+ */
+@Getter
+public class SessionState {
+
+    private final String id;
+    private final long steps;
+    private final int x;
+    private final int y;
+    private final double battery;
+    private final int dirtLoad;
+    private final long moves;
+    private final double energy;
+    private final int recharges;
+    private final int cellsCleaned;
+    private final int dirtyCells;
+    private final boolean completed;
+
+    public SessionState(String id, SimulationStatistics statistics, int[] position, double battery, int dirtLoad) {
+        this.id = id;
+        this.steps = statistics.getSteps();
+        this.x = position[0];
+        this.y = position[1];
+        this.battery = battery;
+        this.dirtLoad = dirtLoad;
+        this.moves = statistics.getMoves();
+        this.energy = statistics.getEnergy();
+        this.recharges = statistics.getRecharges();
+        this.cellsCleaned = statistics.getCellsCleaned();
+        this.dirtyCells = statistics.getDirtyCells();
+        this.completed = statistics.isCompleted();
+    }
+}
@@ -0,0 +1,101 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorGrid;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Computes per-step cell deltas of a session and fans them out to its subscribers.
+ * A step only changes cells next to the robot (the cleaned cell and the neighbour
+ * marked as visited), so only the 3x3 neighbourhoods of the robot's previous and
+ * current positions are compared with the last published cell bits. The cost per
+ * step is constant, and the whole floor is only encoded when a client subscribes.
+ */
+public class SessionTelemetry {
+
+    private final SimulationWorld world;
+    private final List<TelemetrySubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private byte[] published;
+    private int previousX;
+    private int previousY;
+
+    public SessionTelemetry(SimulationWorld world) {
+        this.world = world;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Adds a subscriber, whose first event is the given snapshot of the full floor.
+     * Must be called while the session is not stepping.
+     */
+    void subscribe(TelemetrySubscriber subscriber, byte[] cells, Map<String, Object> snapshot) {
+        if (subscribers.isEmpty()) {
+            published = cells; // Deltas are only tracked while someone listens
+            int[] position = world.getNavigationService().getCurrentPosition();
+            previousX = position[0];
+            previousY = position[1];
+        }
+        subscribers.add(subscriber);
+        subscriber.offerSnapshot(snapshot);
+    }
+
+    void unsubscribe(TelemetrySubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Publishes the changes of the step that just ran.
+     */
+    void afterStep(long step) {
+        FloorGrid grid = world.getFloorMap().getGrid();
+        int[] position = world.getNavigationService().getCurrentPosition();
+        int[] changed = new int[36];
+        int count = collectChanges(grid, previousX, previousY, changed, 0);
+        if (position[0] != previousX || position[1] != previousY) {
+            count = collectChanges(grid, position[0], position[1], changed, count);
+        }
+        previousX = position[0];
+        previousY = position[1];
+
+        int[] pairs = new int[count];
+        System.arraycopy(changed, 0, pairs, 0, count);
+        StepDelta delta = new StepDelta(step, position[0], position[1], world.getBatteryService().getBattery(),
+                world.getDirtService().getCurrentCapacity(), pairs);
+        for (TelemetrySubscriber subscriber : subscribers) {
+            subscriber.offer(delta);
+        }
+    }
+
+    private int collectChanges(FloorGrid grid, int centerX, int centerY, int[] changed, int count) {
+        int cols = grid.getCols();
+        for (int x = Math.max(0, centerX - 1); x <= Math.min(grid.getRows() - 1, centerX + 1); x++) {
+            for (int y = Math.max(0, centerY - 1); y <= Math.min(cols - 1, centerY + 1); y++) {
+                int index = x * cols + y;
+                byte bits = (byte) SimulationSession.encode(grid, x, y);
+                if (bits != published[index]) {
+                    published[index] = bits;
+                    changed[count++] = index;
+                    changed[count++] = bits;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a subscriber whose sends run on the given executor and that leaves this
+     * telemetry once its client is gone.
+     */
+    TelemetrySubscriber newSubscriber(TelemetrySink sink, Executor sender) {
+        TelemetrySubscriber[] holder = new TelemetrySubscriber[1];
+        holder[0] = new TelemetrySubscriber(sink, sender, () -> unsubscribe(holder[0]));
+        return holder[0];
+    }
+}
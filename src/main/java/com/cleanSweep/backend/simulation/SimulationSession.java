@@ -0,0 +1,113 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorGrid;
+import lombok.Getter;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * A simulation hosted for a remote client. Steps of one session are serialized, while
+ * different sessions advance independently.
+ */
+public class SimulationSession {
+
+    public static final int OBSTACLE = 1;
+    public static final int CHARGING_STATION = 2;
+    public static final int DIRT = 4;
+    public static final int VISITED = 8;
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final SimulationWorld world;
+
+    private final SessionTelemetry telemetry;
+
+    private long steps;
+
+    public SimulationSession(String id, SimulationWorld world) {
+        this(id, world, false);
+    }
+
+    /**
+     * Creates a session around a world. A resumed world, e.g. one restored from a
+     * snapshot, keeps its navigation state instead of starting a new mission.
+     */
+    public SimulationSession(String id, SimulationWorld world, boolean isResumed) {
+        this.id = id;
+        this.world = world;
+        this.telemetry = new SessionTelemetry(world);
+        if (!isResumed) {
+            world.getNavigationService().startNavigation(0, 0);
+        }
+    }
+
+    /**
+     * Advances the session by up to count steps and returns the resulting state.
+     * While clients listen to the telemetry, the deltas of every step are published.
+     */
+    public synchronized SessionState advance(long count) {
+        if (!telemetry.hasSubscribers()) {
+            steps += world.advance(count);
+            return state();
+        }
+        for (long i = 0; i < count && world.advance(1) == 1; i++) {
+            steps++;
+            telemetry.afterStep(steps);
+        }
+        return state();
+    }
+
+    /**
+     * Registers a telemetry client. It first receives a snapshot of the whole floor
+     * and then the merged deltas of the following steps, sent on the given executor.
+     */
+    public synchronized TelemetrySubscriber subscribe(TelemetrySink sink, Executor sender) {
+        FloorGrid grid = world.getFloorMap().getGrid();
+        byte[] encoded = encodeCells();
+        Map<String, Object> snapshot = Map.of("state", state(), "rows", grid.getRows(), "cols", grid.getCols(),
+                "cells", Base64.getEncoder().encodeToString(encoded));
+        TelemetrySubscriber subscriber = telemetry.newSubscriber(sink, sender);
+        telemetry.subscribe(subscriber, encoded, snapshot);
+        return subscriber;
+    }
+
+    public synchronized SessionState state() {
+        return new SessionState(id, world.statistics(steps, 0), world.getNavigationService().getCurrentPosition(),
+                world.getBatteryService().getBattery(), world.getDirtService().getCurrentCapacity());
+    }
+
+    /**
+     * Captures the complete state of the session's world.
+     */
+    public synchronized byte[] snapshot() {
+        return world.snapshot();
+    }
+
+    /**
+     * Encodes every cell in one byte, row by row, as a combination of the OBSTACLE,
+     * CHARGING_STATION, DIRT and VISITED bits.
+     */
+    public synchronized byte[] encodeCells() {
+        FloorGrid grid = world.getFloorMap().getGrid();
+        byte[] encoded = new byte[grid.getRows() * grid.getCols()];
+        int i = 0;
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
+                encoded[i++] = (byte) encode(grid, x, y);
+            }
+        }
+        return encoded;
+    }
+
+    static int encode(FloorGrid grid, int x, int y) {
+        return (grid.isObstacle(x, y) ? OBSTACLE : 0)
+                | (grid.isChargingStation(x, y) ? CHARGING_STATION : 0)
+                | (grid.getDirtLevel(x, y) > 0 ? DIRT : 0)
+                | (grid.isVisited(x, y) ? VISITED : 0);
+    }
+}
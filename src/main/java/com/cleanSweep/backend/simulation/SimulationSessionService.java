@@ -0,0 +1,178 @@
+package com.cleanSweep.backend.simulation;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorMap;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts simulation sessions for the REST API. Sessions hold no thread while idle;
+ * step batches run on a shared pool sized to the cores, so a single instance can keep
+ * hundreds of sessions while the request threads are released during stepping.
+ */
+@Service
+public class SimulationSessionService {
+
+    @Value("${clean-sweep.sessions.max-sessions:500}")
+    private int maxSessions = 500;
+
+    @Value("${clean-sweep.sessions.max-steps-per-call:1000000}")
+    private long maxStepsPerCall = 1_000_000;
+
+    @Value("${clean-sweep.sessions.max-cells:4000000}")
+    private long maxCells = 4_000_000;
+
+    @Value("${clean-sweep.sessions.threads:0}")
+    private int threads;
+
+    @Value("${clean-sweep.floor-grid-size}")
+    private int defaultGridSize;
+
+    @Value("${clean-sweep.battery.low-threshold}")
+    private int lowBatteryThreshold;
+
+    @Value("${clean-sweep.battery.full-charge}")
+    private int fullCharge;
+
+    @Value("${clean-sweep.dirt.capacity}")
+    private int dirtCapacity;
+
+    private final Map<String, SimulationSession> sessions = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+    private final ExecutorService telemetrySender = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "simulation-telemetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a session from a floor plan or from a generated floor.
+     * Throws IllegalArgumentException for floors outside the size limits, and
+     * IllegalStateException when the session limit is reached.
+     */
+    public SimulationSession create(CreateSessionRequest request) {
+        checkCapacity();
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        SimulationWorld world;
+        if (request.getFloorPlan() != null) {
+            FloorMap.FloorPlanData floorPlan = request.getFloorPlan();
+            if (floorPlan.getRowCount() < 1 || floorPlan.getColCount() < 1) {
+                throw new IllegalArgumentException("Floor plan must have at least one row and one column");
+            }
+            checkCellCount((long) floorPlan.getRowCount() * floorPlan.getColCount());
+            world = SimulationWorld.create(floorPlan, lowBatteryThreshold, fullCharge, dirtCapacity, seed);
+        } else {
+            int gridSize = request.getGridSize() != null ? request.getGridSize() : defaultGridSize;
+            if (gridSize < 2) {
+                throw new IllegalArgumentException("Grid size must be at least 2");
+            }
+            checkCellCount((long) gridSize * gridSize);
+            world = SimulationWorld.create(gridSize, lowBatteryThreshold, fullCharge, dirtCapacity, seed);
+        }
+        return register(new SimulationSession(UUID.randomUUID().toString(), world));
+    }
+
+    /**
+     * Creates a session that resumes the mission captured in a snapshot.
+     * Throws IllegalArgumentException if the bytes are not a valid snapshot.
+     */
+    public SimulationSession restore(byte[] snapshot) {
+        checkCapacity();
+        return register(new SimulationSession(UUID.randomUUID().toString(),
+                SimulationWorld.fromSnapshot(snapshot, maxCells), true));
+    }
+
+    /**
+     * Creates an independent copy of a session at its current step.
+     */
+    public SimulationSession fork(SimulationSession session) {
+        return restore(session.snapshot());
+    }
+
+    private SimulationSession register(SimulationSession session) {
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Rejects floors whose grid and planning structures would not fit next to the
+     * other sessions.
+     */
+    private void checkCellCount(long cells) {
+        if (cells > maxCells) {
+            throw new IllegalArgumentException("Floor of " + cells + " cells exceeds the limit of " + maxCells);
+        }
+    }
+
+    private void checkCapacity() {
+        if (sessions.size() >= maxSessions) {
+            throw new IllegalStateException("Session limit of " + maxSessions + " reached");
+        }
+    }
+
+    public Optional<SimulationSession> find(String id) {
+        return Optional.ofNullable(sessions.get(id));
+    }
+
+    /**
+     * Advances the session by a batch of steps on the simulation pool.
+     */
+    public CompletableFuture<SessionState> advance(SimulationSession session, long count) {
+        if (count < 1 || count > maxStepsPerCall) {
+            throw new IllegalArgumentException("Step count must be between 1 and " + maxStepsPerCall);
+        }
+        return CompletableFuture.supplyAsync(() -> session.advance(count), executor());
+    }
+
+    /**
+     * Subscribes a client to the per-step telemetry of the session. Sends to slow
+     * clients block only the telemetry threads, never the simulation.
+     */
+    public TelemetrySubscriber subscribe(SimulationSession session, TelemetrySink sink) {
+        return session.subscribe(sink, telemetrySender);
+    }
+
+    public boolean delete(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        telemetrySender.shutdownNow();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+                    AtomicInteger count = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(size, runnable -> {
+                        Thread thread = new Thread(runnable, "simulation-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cleanSweep.backend.simulation;
+
+import lombok.Getter;
+
+/**
+ * End-of-run statistics of one cleaning mission.
+ */
+@Getter
+public class SimulationStatistics {
+
+    private final long steps;
+    private final long elapsedNanos;
+    private final long moves;
+    private final double energy;
+    private final int recharges;
+    private final int cellsCleaned;
+    private final int dirtyCells;
+    private final boolean completed;
+
+    public SimulationStatistics(long steps, long elapsedNanos, long moves, double energy, int recharges,
+                                int cellsCleaned, int dirtyCells, boolean completed) {
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+        this.moves = moves;
+        this.energy = energy;
+        this.recharges = recharges;
+        this.cellsCleaned = cellsCleaned;
+        this.dirtyCells = dirtyCells;
+        this.completed = completed;
+    }
+
+    public double getStepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Formats the statistics as a short multi-line report.
+     */
+    public String format() {
+        return String.format("Mission %s after %d steps in %.1f ms (%.0f steps/s)%n"
+                        + "  moves: %d, energy: %.1f units, recharges: %d, cells cleaned: %d of %d",
+                completed ? "completed" : "stopped", steps, elapsedNanos / 1e6, getStepsPerSecond(),
+                moves, energy, recharges, cellsCleaned, dirtyCells);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cleanSweep.backend.simulation;
+
+import lombok.Getter;
+
+/**
+ * Changes since the previous event of a telemetry stream. The robot fields hold the
+ * latest values, and cells holds pairs of packed cell index and cell bits as encoded
+ * by {@link SimulationSession#encodeCells}.
+ */
+@Getter
+public class StepDelta {
+
+    private final long step;
+    private final int x;
+    private final int y;
+    private final double battery;
+    private final int dirtLoad;
+    private final int[] cells;
+
+    public StepDelta(long step, int x, int y, double battery, int dirtLoad, int[] cells) {
+        this.step = step;
+        this.x = x;
+        this.y = y;
+        this.battery = battery;
+        this.dirtLoad = dirtLoad;
+        this.cells = cells;
+    }
+}
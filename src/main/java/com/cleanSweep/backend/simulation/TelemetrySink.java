@@ -0,0 +1,15 @@
+package com.cleanSweep.backend.simulation;
+
+import java.io.IOException;
+
+/**
+ * Destination of a telemetry subscriber, such as a server-sent event stream.
+ */
+@FunctionalInterface
+public interface TelemetrySink {
+
+    /**
+     * Delivers one named event. May block while the client is slow.
+     */
+    void send(String event, Object data) throws IOException;
+}
@@ -0,0 +1,119 @@
+package com.cleanSweep.backend.simulation;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * One client of a session's telemetry. Deltas are merged into a pending update instead
+ * of being queued: a later change of a cell overwrites an earlier one, and the robot
+ * fields only keep their latest values. A slow client therefore receives fewer,
+ * larger events that always describe the latest state, and memory stays bounded by
+ * the number of distinct changed cells.
+ */
+public class TelemetrySubscriber {
+
+    private final TelemetrySink sink;
+    private final Executor sender;
+    private final Runnable onClose;
+
+    private final Map<Integer, Integer> pendingCells = new LinkedHashMap<>();
+    private Object pendingSnapshot;
+    private StepDelta latest;
+    private boolean hasPending;
+    private boolean isSending;
+    private volatile boolean isClosed;
+
+    public TelemetrySubscriber(TelemetrySink sink, Executor sender, Runnable onClose) {
+        this.sink = sink;
+        this.sender = sender;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Queues the full state that has to reach the client before any delta.
+     */
+    synchronized void offerSnapshot(Object snapshot) {
+        pendingSnapshot = snapshot;
+        pendingCells.clear();
+        schedule();
+    }
+
+    /**
+     * Merges a step delta into the pending update.
+     */
+    synchronized void offer(StepDelta delta) {
+        if (isClosed) {
+            return;
+        }
+        int[] cells = delta.getCells();
+        for (int i = 0; i < cells.length; i += 2) {
+            pendingCells.put(cells[i], cells[i + 1]);
+        }
+        latest = delta;
+        hasPending = true;
+        schedule();
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    public void close() {
+        isClosed = true;
+        onClose.run();
+    }
+
+    private void schedule() {
+        if (!isSending) {
+            isSending = true;
+            sender.execute(this::drain);
+        }
+    }
+
+    /**
+     * Sends pending updates until none are left. Runs on the sender executor, at most
+     * once per subscriber at a time.
+     */
+    private void drain() {
+        while (true) {
+            Object snapshot;
+            StepDelta delta = null;
+            synchronized (this) {
+                if (isClosed || (pendingSnapshot == null && !hasPending)) {
+                    isSending = false;
+                    return;
+                }
+                snapshot = pendingSnapshot;
+                pendingSnapshot = null;
+                if (hasPending) {
+                    int[] cells = new int[pendingCells.size() * 2];
+                    int i = 0;
+                    for (Map.Entry<Integer, Integer> entry : pendingCells.entrySet()) {
+                        cells[i++] = entry.getKey();
+                        cells[i++] = entry.getValue();
+                    }
+                    delta = new StepDelta(latest.getStep(), latest.getX(), latest.getY(), latest.getBattery(),
+                            latest.getDirtLoad(), cells);
+                    pendingCells.clear();
+                    hasPending = false;
+                }
+            }
+            try {
+                if (snapshot != null) {
+                    sink.send("snapshot", snapshot);
+                }
+                if (delta != null) {
+                    sink.send("delta", delta);
+                }
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    isSending = false;
+                }
+                close();
+                return;
+            }
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.cleanSweep.frontend.visualization;
 import com.cleanSweep.backend.application.BatteryService;
 import com.cleanSweep.backend.application.DirtService;
 import com.cleanSweep.backend.application.SensorSimulatorService;
-import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorGrid;
 import com.cleanSweep.backend.domain.FloorMap;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -34,12 +34,11 @@ public class FloorPlanVisualizer {
      */
     public void render(GraphicsContext gc) {
         // Render the grid
-        for (int x = 0; x < gridSize; x++) {
-            for (int y = 0; y < gridSize; y++) {
-                Cell currentCell = floorMap.getCells()[x][y];
-
+        FloorGrid grid = floorMap.getGrid();
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
                 // First render floor type
-                switch (currentCell.getFloorType()) {
+                switch (grid.getFloorType(x, y)) {
                     case BARE_FLOOR:
                         gc.setFill(Color.LIGHTGRAY);
                         break;
@@ -53,13 +52,13 @@ public class FloorPlanVisualizer {
                 gc.fillRect(y * cellSize, x * cellSize, cellSize, cellSize);
 
                 // Then render charging stations
-                if (currentCell.isChargingStation()) {
+                if (grid.isChargingStation(x, y)) {
                     gc.setFill(Color.GREEN);
                     gc.fillRect(y * cellSize, x * cellSize, cellSize, cellSize);
                 }
 
                 // Then render dirt on top if present
-                if (currentCell.getDirtLevel() > 0) {
+                if (grid.getDirtLevel(x, y) > 0) {
                     gc.setFill(Color.DARKGRAY); // A darker gray for the dirt dots
     
                     // Calculate the center of the cell
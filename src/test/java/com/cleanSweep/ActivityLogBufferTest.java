@@ -0,0 +1,160 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.infrastructure.ActivityLogBuffer;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogOverflowPolicy;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+class ActivityLogBufferTest {
+
+    @Mock
+    private LogRepoImpl logRepo;
+
+    @InjectMocks
+    private ActivityLogBuffer buffer;
+
+    private final List<String> saved = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            List<LogEntry> batch = invocation.getArgument(0);
+            release.await(5, TimeUnit.SECONDS);
+            batchSizes.add(batch.size());
+            batch.forEach(entry -> saved.add(entry.getMessage()));
+            return null;
+        }).when(logRepo).saveLogs(anyList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        buffer.shutdown();
+    }
+
+    private void start(int bufferSize, int batchSize, LogOverflowPolicy policy) {
+        ReflectionTestUtils.setField(buffer, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(buffer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(buffer, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(buffer, "sampleRate", 4);
+        buffer.start();
+    }
+
+    private LogEntry entry(int i) {
+        LogEntry entry = new LogEntry();
+        entry.setMessage("event " + i);
+        return entry;
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        ReflectionTestUtils.setField(buffer, "sampleRate", 0);
+        assertThrows(IllegalStateException.class, () -> buffer.start());
+        ReflectionTestUtils.setField(buffer, "sampleRate", 4);
+        ReflectionTestUtils.setField(buffer, "bufferSize", 3);
+        assertThrows(IllegalStateException.class, () -> buffer.start());
+    }
+
+    @Test
+    void testEntriesAreWrittenInOrderAndInBatches() throws InterruptedException {
+        start(1000, 50, LogOverflowPolicy.DROP);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(buffer.submit(entry(i)));
+        }
+        release.countDown();
+
+        assertTrue(buffer.flush(5, TimeUnit.SECONDS));
+        assertEquals(500, saved.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("event " + i, saved.get(i));
+        }
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+        assertTrue(batchSizes.size() < 500);
+        assertEquals(500, buffer.getWritten());
+    }
+
+    @Test
+    void testShutdownWritesPendingEntries() throws InterruptedException {
+        start(100, 10, LogOverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            buffer.submit(entry(i));
+        }
+        release.countDown();
+        buffer.shutdown();
+
+        assertEquals(100, saved.size());
+        assertEquals(0, buffer.getDropped());
+    }
+
+    @Test
+    void testDropPolicyDiscardsWhenFull() throws InterruptedException {
+        start(16, 4, LogOverflowPolicy.DROP);
+        int queued = 0;
+        for (int i = 0; i < 100; i++) {
+            if (buffer.submit(entry(i))) {
+                queued++;
+            }
+        }
+        release.countDown();
+
+        assertTrue(buffer.flush(5, TimeUnit.SECONDS));
+        assertTrue(buffer.getDropped() > 0);
+        assertEquals(100, queued + buffer.getDropped());
+        assertEquals(queued, saved.size());
+    }
+
+    @Test
+    void testSamplePolicyThinsEventsUnderPressure() throws InterruptedException {
+        start(16, 4, LogOverflowPolicy.SAMPLE);
+        for (int i = 0; i < 16; i++) {
+            buffer.submit(entry(i));
+        }
+        release.countDown();
+
+        assertTrue(buffer.flush(5, TimeUnit.SECONDS));
+        // The writer holds at most one entry, so at least 11 entries crowd the buffer
+        // past three quarters and only every fourth one of the rest gets in
+        assertTrue(buffer.getDropped() > 0);
+        assertEquals(16, buffer.getAccepted() + buffer.getDropped());
+    }
+
+    @Test
+    void testBlockPolicyWaitsForRoom() throws InterruptedException {
+        start(4, 2, LogOverflowPolicy.BLOCK);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                buffer.submit(entry(i));
+            }
+        });
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(buffer.flush(5, TimeUnit.SECONDS));
+        assertEquals(50, saved.size());
+        assertEquals(0, buffer.getDropped());
+    }
+}
@@ -0,0 +1,83 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.ActivityLogBuffer;
+import com.cleanSweep.backend.infrastructure.ActivityLogger;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ActivityLoggerTest {
+
+    @Mock
+    private ActivityLogBuffer logBuffer;
+
+    @InjectMocks
+    private ActivityLogger activityLogger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(activityLogger, "enabled", true);
+    }
+
+    private LogEntry lastEntry() {
+        ArgumentCaptor<LogEntry> captor = ArgumentCaptor.forClass(LogEntry.class);
+        verify(logBuffer, atLeastOnce()).submit(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testMovementIsStoredAsTypedFields() {
+        activityLogger.setStep(42);
+        activityLogger.logMovement(3, 4, "Visiting");
+
+        LogEntry entry = lastEntry();
+        assertEquals(ActivityEventType.MOVEMENT, entry.getType());
+        assertEquals(3, entry.getX());
+        assertEquals(4, entry.getY());
+        assertEquals(42L, entry.getStep());
+        assertEquals("Visiting", entry.getDetail());
+        assertNotNull(entry.getTimestamp());
+        assertEquals("Moved to position (3, 4) in direction: Visiting", entry.getMessage());
+    }
+
+    @Test
+    void testMessagesRenderAsBefore() {
+        activityLogger.logBatteryUsage(187.5);
+        assertEquals(String.format("Battery remaining: %.1f units", 187.5), lastEntry().getMessage());
+
+        activityLogger.logCleaning(1, 2);
+        assertEquals("Cleaned dirt at (1, 2)", lastEntry().getMessage());
+
+        activityLogger.logObstacleChange(5, 6, true, 12);
+        assertEquals("Obstacle added at position (5, 6), replanned 12 cells", lastEntry().getMessage());
+
+        activityLogger.logRecharge();
+        assertEquals("Battery recharged to full capacity", lastEntry().getMessage());
+    }
+
+    @Test
+    void testFreeTextEntry() {
+        LogEntry entry = new LogEntry();
+        entry.setMessage("hello");
+        assertEquals(ActivityEventType.MESSAGE, entry.getType());
+        assertEquals("hello", entry.getMessage());
+    }
+
+    @Test
+    void testSilentLoggerSubmitsNothing() {
+        ActivityLogger silent = ActivityLogger.silent();
+        silent.logMovement(0, 0, "Start");
+        verify(logBuffer, never()).submit(any());
+    }
+}
@@ -0,0 +1,199 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import com.cleanSweep.backend.infrastructure.BinaryFloorPlan;
+import com.cleanSweep.backend.infrastructure.FloorPlanLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFloorPlanTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FloorMap.FloorPlanData randomPlan(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        List<FloorMap.CellData> cells = new ArrayList<>();
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                FloorMap.CellData data = new FloorMap.CellData();
+                data.setX(x);
+                data.setY(y);
+                data.setFloorType(FloorType.values()[random.nextInt(3)]);
+                data.setObstacle(random.nextInt(5) == 0);
+                data.setChargingStation(random.nextInt(20) == 0);
+                data.setStairs(random.nextInt(30) == 0);
+                data.setDirtLevel(random.nextInt(8));
+                cells.add(data);
+            }
+        }
+        FloorMap.FloorPlanData floorPlan = new FloorMap.FloorPlanData();
+        floorPlan.setRows(rows);
+        floorPlan.setCols(cols);
+        floorPlan.setCells(cells);
+        return floorPlan;
+    }
+
+    @Test
+    void testRoundTripThroughJsonModel() {
+        FloorMap.FloorPlanData original = randomPlan(7, 13, 3);
+        BinaryFloorPlan binary = BinaryFloorPlan.wrap(BinaryFloorPlan.encode(original));
+        assertEquals(7, binary.getRows());
+        assertEquals(13, binary.getCols());
+
+        FloorMap expected = new FloorMap();
+        expected.applyFloorPlan(original);
+        FloorMap actual = new FloorMap();
+        actual.applyFloorPlan(binary.toFloorPlan());
+        assertArrayEquals(BinaryFloorPlan.encode(expected), BinaryFloorPlan.encode(actual));
+        assertArrayEquals(BinaryFloorPlan.encode(original), BinaryFloorPlan.encode(binary.toFloorPlan()));
+    }
+
+    @Test
+    void testMappedFileMatchesFloorMap() throws IOException {
+        FloorMap.FloorPlanData original = randomPlan(9, 4, 5);
+        Path path = tempDir.resolve("plan.cfp");
+        Files.write(path, BinaryFloorPlan.encode(original));
+
+        FloorMap expected = new FloorMap();
+        expected.applyFloorPlan(original);
+        BinaryFloorPlan mapped = BinaryFloorPlan.map(path);
+        for (int x = 0; x < 9; x++) {
+            for (int y = 0; y < 4; y++) {
+                var cell = expected.getCells()[x][y];
+                assertEquals(cell.getFloorType(), mapped.getFloorType(x, y));
+                assertEquals(cell.isObstacle(), mapped.isObstacle(x, y));
+                assertEquals(cell.isChargingStation(), mapped.isChargingStation(x, y));
+                assertEquals(cell.isStairs(), mapped.isStairs(x, y));
+                assertEquals(cell.getDirtLevel(), mapped.getDirtLevel(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testLoaderRecognisesBinaryPlans() throws IOException {
+        FloorMap.FloorPlanData original = randomPlan(5, 6, 8);
+        Path path = tempDir.resolve("plan.bin");
+        Files.write(path, BinaryFloorPlan.encode(original));
+
+        FloorMap floorMap = new FloorMap();
+        FloorPlanLoader.LoadResult result = new FloorPlanLoader().load(path, floorMap);
+        assertEquals(30, result.getCells());
+        assertArrayEquals(BinaryFloorPlan.encode(original), BinaryFloorPlan.encode(floorMap));
+    }
+
+    @Test
+    void testMappedStorageReadsPlanInPlace() throws IOException {
+        FloorMap.FloorPlanData original = randomPlan(70, 130, 4);
+        Path path = tempDir.resolve("plan.cfp");
+        byte[] bytes = BinaryFloorPlan.encode(original);
+        Files.write(path, bytes);
+
+        FloorMap mapped = new FloorMap();
+        mapped.setStorage(FloorStorage.MAPPED);
+        new FloorPlanLoader().load(path, mapped);
+        FloorMap copied = new FloorMap();
+        copied.applyFloorPlan(original);
+        assertArrayEquals(bytes, BinaryFloorPlan.encode(mapped));
+
+        // Changes land in copied tiles, including the partial ones at the edges, and not in the file
+        for (FloorMap floorMap : new FloorMap[] { mapped, copied }) {
+            FloorGrid grid = floorMap.getGrid();
+            grid.setDirtLevel(69, 129, 0);
+            grid.setObstacle(3, 64, true);
+            grid.setFloorType(65, 2, FloorType.HIGH_PILE_CARPET);
+            grid.setVisited(10, 100, true);
+        }
+        assertArrayEquals(BinaryFloorPlan.encode(copied), BinaryFloorPlan.encode(mapped));
+        assertTrue(mapped.getGrid().isVisited(10, 100));
+        assertFalse(mapped.getGrid().isVisited(10, 101));
+        assertArrayEquals(bytes, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testMissionOnMappedPlanMatchesCopiedPlan() throws IOException {
+        FloorMap.FloorPlanData original = randomPlan(12, 12, 6);
+        original.getCells().get(0).setChargingStation(true);
+        original.getCells().get(0).setObstacle(false);
+        Path path = tempDir.resolve("plan.cfp");
+        Files.write(path, BinaryFloorPlan.encode(original));
+
+        FloorMap mapped = new FloorMap();
+        mapped.setStorage(FloorStorage.MAPPED);
+        new FloorPlanLoader().load(path, mapped);
+        FloorMap copied = new FloorMap();
+        copied.applyFloorPlan(original);
+        SimulationStatistics expected = SimulationWorld.create(copied, 75, 1000, 20, 1).run(1_000_000);
+        SimulationStatistics actual = SimulationWorld.create(mapped, 75, 1000, 20, 1).run(1_000_000);
+        assertEquals(expected.getMoves(), actual.getMoves());
+        assertEquals(expected.getEnergy(), actual.getEnergy());
+        assertEquals(expected.getCellsCleaned(), actual.getCellsCleaned());
+        assertTrue(actual.isCompleted());
+    }
+
+    @Test
+    void testMissionOnMappedPlanWithoutDirtMatchesCopiedPlan() throws IOException {
+        FloorMap.FloorPlanData original = randomPlan(70, 90, 7);
+        for (FloorMap.CellData cell : original.getCells()) {
+            cell.setDirtLevel(0);
+        }
+        original.getCells().get(0).setChargingStation(true);
+        original.getCells().get(0).setObstacle(false);
+        Path path = tempDir.resolve("plan.cfp");
+        Files.write(path, BinaryFloorPlan.encode(original));
+
+        FloorMap mapped = new FloorMap();
+        mapped.setStorage(FloorStorage.MAPPED);
+        new FloorPlanLoader().load(path, mapped);
+        FloorMap copied = new FloorMap();
+        copied.applyFloorPlan(original);
+        SimulationWorld expected = SimulationWorld.create(copied, 75, 1000, 20, 2);
+        SimulationWorld actual = SimulationWorld.create(mapped, 75, 1000, 20, 2);
+        assertArrayEquals(expected.snapshot(), actual.snapshot());
+
+        SimulationStatistics expectedRun = expected.run(1_000_000);
+        SimulationStatistics actualRun = actual.run(1_000_000);
+        assertEquals(expectedRun.getMoves(), actualRun.getMoves());
+        assertEquals(expectedRun.getCellsCleaned(), actualRun.getCellsCleaned());
+        assertArrayEquals(expected.snapshot(), actual.snapshot());
+    }
+
+    @Test
+    void testDirtLevelIsCapped() {
+        FloorMap.FloorPlanData floorPlan = randomPlan(1, 1, 0);
+        floorPlan.getCells().get(0).setDirtLevel(40);
+        assertEquals(7, BinaryFloorPlan.wrap(BinaryFloorPlan.encode(floorPlan)).getDirtLevel(0, 0));
+    }
+
+    @Test
+    void testRejectsMalformedPlans() {
+        byte[] bytes = BinaryFloorPlan.encode(randomPlan(3, 3, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryFloorPlan.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryFloorPlan.wrap(new byte[] { 1, 2, 3 }));
+        // A larger header size with matching padding would shift every cell
+        byte[] headerSize = Arrays.copyOf(bytes, bytes.length + 4);
+        headerSize[7] = 20;
+        assertThrows(IllegalArgumentException.class, () -> BinaryFloorPlan.wrap(headerSize));
+        byte[] floorType = bytes.clone();
+        floorType[16] = 3;
+        assertThrows(IllegalArgumentException.class, () -> BinaryFloorPlan.wrap(floorType).getFloorType(0, 0));
+        bytes[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> BinaryFloorPlan.wrap(bytes));
+    }
+}
@@ -0,0 +1,32 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+
+import java.util.Random;
+
+/**
+ * Random cost grids shared by the path-planning tests and benchmarks.
+ */
+public final class CostGrids {
+
+    private CostGrids() {
+    }
+
+    /**
+     * Creates a grid with surface costs of 1 to 3 units where about one cell in
+     * blockedOneIn is blocked. The four corners are always free, so stations and
+     * start cells can be placed there.
+     */
+    public static CostGrid random(int rows, int cols, long seed, int blockedOneIn) {
+        Random random = new Random(seed);
+        CostGrid grid = new CostGrid(rows, cols);
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < cols; y++) {
+                boolean corner = (x == 0 || x == rows - 1) && (y == 0 || y == cols - 1);
+                grid.setSurfaceUnit(x, y, 1 + random.nextInt(3));
+                grid.setBlocked(x, y, random.nextInt(blockedOneIn) == 0 && !corner);
+            }
+        }
+        return grid;
+    }
+}
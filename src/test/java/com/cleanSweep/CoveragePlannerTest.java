@@ -0,0 +1,47 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.coverage.BoustrophedonCoveragePlanner;
+import com.cleanSweep.backend.application.coverage.CoverageMetrics;
+import com.cleanSweep.backend.application.coverage.CoveragePlanner;
+import com.cleanSweep.backend.application.coverage.DfsCoveragePlanner;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoveragePlannerTest {
+
+    private void assertValidTour(CostGrid grid, int[] tour, int expectedCells) {
+        assertEquals(0, tour[0]);
+        for (int i = 1; i < tour.length; i++) {
+            int dx = Math.abs(tour[i] / grid.getCols() - tour[i - 1] / grid.getCols());
+            int dy = Math.abs(tour[i] % grid.getCols() - tour[i - 1] % grid.getCols());
+            assertEquals(1, dx + dy, "moves must be between adjacent cells");
+            assertFalse(grid.isBlocked(tour[i]));
+        }
+        assertEquals(expectedCells, CoverageMetrics.of(grid, tour).getCellsCovered());
+    }
+
+    @Test
+    void testBoustrophedonCoversSameCellsAsDfs() {
+        CoveragePlanner dfs = new DfsCoveragePlanner();
+        CoveragePlanner boustrophedon = new BoustrophedonCoveragePlanner();
+        for (long seed = 0; seed < 10; seed++) {
+            CostGrid grid = CostGrids.random(25, 25, seed, 7);
+            int[] dfsTour = dfs.planTour(grid, 0);
+            int reachable = CoverageMetrics.of(grid, dfsTour).getCellsCovered();
+
+            assertValidTour(grid, dfsTour, reachable);
+            assertValidTour(grid, boustrophedon.planTour(grid, 0), reachable);
+        }
+    }
+
+    @Test
+    void testBoustrophedonSweepsOpenFloorWithoutRevisits() {
+        CostGrid grid = new CostGrid(10, 10);
+        CoverageMetrics metrics = CoverageMetrics.of(grid, new BoustrophedonCoveragePlanner().planTour(grid, 0));
+
+        assertEquals(99, metrics.getMoves());
+        assertEquals(0, metrics.getRevisits());
+    }
+}
@@ -0,0 +1,131 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.application.fleet.CellClaims;
+import com.cleanSweep.backend.application.fleet.Fleet;
+import com.cleanSweep.backend.application.fleet.FleetRobot;
+import com.cleanSweep.backend.application.fleet.FleetStatistics;
+import com.cleanSweep.backend.application.fleet.StationQueue;
+import com.cleanSweep.backend.domain.Cell;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetTest {
+
+    private Fleet fleet(int robots, long seed) {
+        SimulationWorld world = SimulationWorld.create(24, 75, 400, 50, seed);
+        return new Fleet(world.getFloorMap(), world.getSensorSimulatorService(), robots, 400, 50, 3);
+    }
+
+    @Test
+    void testEachCellIsClaimedByExactlyOneRobot() {
+        CellClaims claims = new CellClaims(1000);
+        AtomicInteger wins = new AtomicInteger();
+
+        IntStream.range(0, 16).parallel().forEach(robot -> {
+            for (int cell = 0; cell < 1000; cell++) {
+                if (claims.tryClaim(cell, robot) && claims.getOwner(cell) == robot) {
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(1000, claims.getClaimedCount());
+        assertTrue(wins.get() >= 1000);
+        for (int cell = 0; cell < 1000; cell++) {
+            assertTrue(claims.getOwner(cell) >= 0);
+        }
+    }
+
+    @Test
+    void testStationServesInArrivalOrder() {
+        StationQueue queue = new StationQueue();
+        int first = queue.takeTicket();
+        int second = queue.takeTicket();
+
+        assertTrue(queue.isServing(first));
+        assertFalse(queue.isServing(second));
+        queue.leave();
+        assertTrue(queue.isServing(second));
+        assertEquals(1, queue.getLength());
+    }
+
+    @Test
+    void testFleetCleansEveryReachableDirtyCellOnce() {
+        for (int robots : new int[] { 1, 4, 16 }) {
+            Fleet fleet = fleet(robots, 7);
+            int dirtyCells = 0;
+            for (Cell[] row : fleet.getCells()) {
+                for (Cell cell : row) {
+                    if (cell.getDirtLevel() > 0 && fleet.getDistanceField().isReachable(cell.getX(), cell.getY())) {
+                        dirtyCells++;
+                    }
+                }
+            }
+
+            FleetStatistics statistics = fleet.run(1_000_000);
+
+            assertTrue(statistics.isCompleted());
+            assertEquals(dirtyCells, statistics.getCellsCleaned());
+            assertEquals(fleet.getClaims().getClaimedCount(), statistics.getCellsCovered());
+            for (Cell[] row : fleet.getCells()) {
+                for (Cell cell : row) {
+                    if (fleet.getDistanceField().isReachable(cell.getX(), cell.getY())) {
+                        assertEquals(0, cell.getDirtLevel());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRobotStrandsWhenBatteryRunsOut() {
+        Fleet fleet = fleet(1, 7);
+        FleetRobot robot = fleet.getRobots().get(0);
+        // Far from the station and heading back with almost nothing left
+        int far = -1;
+        for (int cell = 0; cell < fleet.getGrid().size(); cell++) {
+            int x = cell / fleet.getGrid().getCols();
+            int y = cell % fleet.getGrid().getCols();
+            if (fleet.getDistanceField().isReachable(x, y) && fleet.getDistanceField().getDistance(x, y) > 10) {
+                far = cell;
+                break;
+            }
+        }
+        ReflectionTestUtils.setField(robot, "position", far);
+        ReflectionTestUtils.setField(robot, "battery", 0.5);
+        ReflectionTestUtils.setField(robot, "mode", FleetRobot.Mode.TO_STATION);
+
+        FleetStatistics statistics = fleet.run(1000);
+
+        assertEquals(FleetRobot.Mode.STRANDED, robot.getMode());
+        assertEquals(0, robot.getBattery());
+        assertEquals(1, robot.getMoves());
+        assertTrue(statistics.isCompleted());
+        assertEquals(1, statistics.getStrandedRobots());
+    }
+
+    @Test
+    void testRobotWithoutReachableStationStrands() {
+        Fleet fleet = fleet(1, 7);
+        FleetRobot robot = fleet.getRobots().get(0);
+        int blocked = -1;
+        for (int cell = 0; blocked == -1; cell++) {
+            if (fleet.getGrid().isBlocked(cell)) {
+                blocked = cell;
+            }
+        }
+        ReflectionTestUtils.setField(robot, "position", blocked);
+        ReflectionTestUtils.setField(robot, "mode", FleetRobot.Mode.TO_STATION);
+
+        fleet.step();
+
+        assertEquals(FleetRobot.Mode.STRANDED, robot.getMode());
+        assertTrue(fleet.isCompleted());
+    }
+}
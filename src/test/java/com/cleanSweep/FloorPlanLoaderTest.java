@@ -0,0 +1,81 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.infrastructure.FloorPlanLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorPlanLoaderTest {
+
+    private final FloorPlanLoader loader = new FloorPlanLoader();
+
+    private FloorPlanLoader.LoadResult load(String json, FloorMap floorMap) throws IOException {
+        return loader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), floorMap);
+    }
+
+    @Test
+    void testLoadsRectangularPlan() throws IOException {
+        FloorMap floorMap = new FloorMap();
+        FloorPlanLoader.LoadResult result = load("""
+                {"rows": 3, "cols": 5, "cells": [
+                  {"x": 0, "y": 0, "floorType": "BARE_FLOOR", "isChargingStation": true},
+                  {"x": 2, "y": 4, "floorType": "HIGH_PILE_CARPET", "dirtLevel": 2},
+                  {"x": 1, "y": 3, "isObstacle": true},
+                  {"x": 2, "y": 0, "floorType": "LOW_PILE_CARPET", "isStairs": true}
+                ]}""", floorMap);
+
+        Cell[][] cells = floorMap.getCells();
+        assertEquals(3, cells.length);
+        assertEquals(5, cells[0].length);
+        assertEquals(3, result.getRows());
+        assertEquals(5, result.getCols());
+        assertEquals(4, result.getCells());
+        assertTrue(cells[0][0].isChargingStation());
+        assertEquals(FloorType.HIGH_PILE_CARPET, cells[2][4].getFloorType());
+        assertEquals(2, cells[2][4].getDirtLevel());
+        assertTrue(cells[1][3].isObstacle());
+        assertTrue(cells[2][0].isStairs());
+        assertEquals(FloorType.BARE_FLOOR, cells[1][1].getFloorType());
+    }
+
+    @Test
+    void testSquarePlanAndUnknownFields() throws IOException {
+        FloorMap floorMap = new FloorMap();
+        load("""
+                {"name": "office", "floorSize": 4, "meta": {"author": "x", "tags": [1, 2]},
+                 "cells": [{"x": 3, "y": 3, "label": {"a": [1]}, "isChargingStation": true}],
+                 "trailer": [1, 2, 3]}""", floorMap);
+
+        assertEquals(4, floorMap.getCells().length);
+        assertEquals(4, floorMap.getCells()[0].length);
+        assertTrue(floorMap.getCells()[3][3].isChargingStation());
+    }
+
+    @Test
+    void testRejectsCellsBeforeDimensions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> load("{\"cells\": [{\"x\": 0, \"y\": 0}], \"floorSize\": 2}", new FloorMap()));
+    }
+
+    @Test
+    void testRejectsCellOutsideFloor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> load("{\"rows\": 2, \"cols\": 6, \"cells\": [{\"x\": 2, \"y\": 1}]}", new FloorMap()));
+        assertThrows(IllegalArgumentException.class,
+                () -> load("{\"rows\": 2, \"cols\": 6, \"cells\": [{\"x\": 1, \"y\": 6}]}", new FloorMap()));
+    }
+
+    @Test
+    void testRejectsUnknownFloorType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> load("{\"floorSize\": 2, \"cells\": [{\"x\": 0, \"y\": 0, \"floorType\": \"TILE\"}]}",
+                        new FloorMap()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.ArrayFloorGrid;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorStorageTest {
+
+    @Test
+    void testArrayGridStoresEveryAttribute() {
+        FloorGrid grid = new ArrayFloorGrid(3, 7);
+        assertEquals(3, grid.getRows());
+        assertEquals(7, grid.getCols());
+        assertEquals(FloorType.BARE_FLOOR, grid.getFloorType(2, 6));
+
+        grid.setFloorType(2, 6, FloorType.HIGH_PILE_CARPET);
+        grid.setObstacle(1, 3, true);
+        grid.setChargingStation(0, 0, true);
+        grid.setStairs(2, 0, true);
+        grid.setVisited(1, 4, true);
+        grid.setDirtLevel(0, 6, 3);
+
+        assertEquals(FloorType.HIGH_PILE_CARPET, grid.getFloorType(2, 6));
+        assertTrue(grid.isObstacle(1, 3));
+        assertFalse(grid.isObstacle(1, 4));
+        assertTrue(grid.isChargingStation(0, 0));
+        assertTrue(grid.isStairs(2, 0));
+        assertTrue(grid.isVisited(1, 4));
+        assertFalse(grid.isVisited(1, 3));
+        assertEquals(3, grid.getDirtLevel(0, 6));
+        assertTrue(grid.contains(2, 6));
+        assertFalse(grid.contains(3, 0));
+        assertFalse(grid.contains(0, 7));
+    }
+
+    @Test
+    void testStoragesRunIdenticalMissions() {
+        for (FloorStorage storage : FloorStorage.values()) {
+            for (long seed = 0; seed < 5; seed++) {
+                SimulationWorld cells = SimulationWorld.create(70, 75, 1000, 20, seed, FloorStorage.CELLS);
+                SimulationWorld other = SimulationWorld.create(70, 75, 1000, 20, seed, storage);
+                assertArrayEquals(cells.snapshot(), other.snapshot());
+
+                SimulationStatistics expected = cells.run(1_000_000);
+                SimulationStatistics actual = other.run(1_000_000);
+                assertEquals(expected.getSteps(), actual.getSteps());
+                assertEquals(expected.getEnergy(), actual.getEnergy());
+                assertEquals(expected.getCellsCleaned(), actual.getCellsCleaned());
+                assertArrayEquals(cells.snapshot(), other.snapshot());
+            }
+        }
+    }
+
+    @Test
+    void testCellObjectsRequireCellStorage() {
+        SimulationWorld world = SimulationWorld.create(4, 75, 250, 20, 1, FloorStorage.ARRAYS);
+        assertThrows(IllegalStateException.class, () -> world.getFloorMap().getCells());
+    }
+}
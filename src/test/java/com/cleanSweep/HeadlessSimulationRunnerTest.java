@@ -0,0 +1,32 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.simulation.HeadlessSimulationRunner;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = { "clean-sweep.floor-grid-size=20", "clean-sweep.seed=1" })
+@ActiveProfiles("headless")
+class HeadlessSimulationRunnerTest {
+
+    @Autowired
+    private HeadlessSimulationRunner runner;
+
+    @Test
+    void testMissionRunsAtStartup() {
+        SimulationStatistics statistics = runner.getStatistics();
+        assertNotNull(statistics);
+        assertTrue(statistics.getSteps() > 0);
+        assertTrue(statistics.getMoves() <= statistics.getSteps());
+        assertTrue(statistics.getEnergy() > 0);
+        assertTrue(statistics.getCellsCleaned() <= statistics.getDirtyCells());
+        if (statistics.isCompleted()) {
+            assertTrue(statistics.getRecharges() > 0);
+        }
+    }
+}
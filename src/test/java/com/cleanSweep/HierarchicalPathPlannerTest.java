@@ -0,0 +1,122 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.pathfinding.AStarPathPlanner;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.HierarchicalPathPlanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalPathPlannerTest {
+
+    private int assertValidRoute(CostGrid grid, int[] path, int start, int goal) {
+        assertEquals(start, path[0]);
+        assertEquals(goal, path[path.length - 1]);
+        int halfUnits = 0;
+        for (int i = 1; i < path.length; i++) {
+            assertFalse(grid.isBlocked(path[i]));
+            int distance = Math.abs(path[i] / grid.getCols() - path[i - 1] / grid.getCols())
+                    + Math.abs(path[i] % grid.getCols() - path[i - 1] % grid.getCols());
+            assertEquals(1, distance);
+            halfUnits += grid.moveCost(path[i - 1], path[i]);
+        }
+        return halfUnits;
+    }
+
+    @Test
+    void testFindsRouteWheneverOneExists() {
+        CostGrid grid = CostGrids.random(40, 29, 3, 5);
+        AStarPathPlanner exact = new AStarPathPlanner(grid);
+        HierarchicalPathPlanner hierarchical = new HierarchicalPathPlanner(grid, 8);
+        Random random = new Random(3);
+
+        for (int query = 0; query < 200; query++) {
+            int start = random.nextInt(grid.size());
+            int goal = random.nextInt(grid.size());
+            int[] expected = exact.findPath(start, goal);
+            int[] actual = hierarchical.findPath(start, goal);
+            if (expected == null) {
+                assertNull(actual);
+                continue;
+            }
+            assertNotNull(actual);
+            int halfUnits = assertValidRoute(grid, actual, start, goal);
+            assertTrue(halfUnits >= exact.getPathCost(goal) * 2);
+        }
+    }
+
+    @Test
+    void testSingleClusterIsOptimal() {
+        CostGrid grid = CostGrids.random(20, 20, 5, 5);
+        AStarPathPlanner exact = new AStarPathPlanner(grid);
+        HierarchicalPathPlanner hierarchical = new HierarchicalPathPlanner(grid, 20);
+        Random random = new Random(5);
+
+        assertEquals(1, hierarchical.getClusterCount());
+        for (int query = 0; query < 100; query++) {
+            int start = random.nextInt(grid.size());
+            int goal = random.nextInt(grid.size());
+            int[] actual = hierarchical.findPath(start, goal);
+            if (exact.findPath(start, goal) == null) {
+                assertNull(actual);
+                continue;
+            }
+            assertEquals(exact.getPathCost(goal) * 2, assertValidRoute(grid, actual, start, goal));
+        }
+    }
+
+    @Test
+    void testChangedCellsAreAvoided() {
+        CostGrid grid = new CostGrid(32, 32);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.setSurfaceUnit(i / 32, i % 32, 1);
+        }
+        HierarchicalPathPlanner planner = new HierarchicalPathPlanner(grid, 8);
+        int start = grid.index(0, 0);
+        int goal = grid.index(31, 31);
+
+        for (int round = 0; round < 5; round++) {
+            int[] path = planner.findPath(start, goal);
+            assertNotNull(path);
+            assertValidRoute(grid, path, start, goal);
+
+            // Block a cell in the middle of the current route, including cluster borders
+            int blocked = path[path.length / 2];
+            grid.setBlocked(blocked / 32, blocked % 32, true);
+            planner.onCellChanged(blocked);
+        }
+
+        // Wall off the goal entirely
+        grid.setBlocked(30, 31, true);
+        planner.onCellChanged(grid.index(30, 31));
+        grid.setBlocked(31, 30, true);
+        planner.onCellChanged(grid.index(31, 30));
+        assertNull(planner.findPath(start, goal));
+    }
+
+    @Test
+    void testFindsNearestOfSeveralGoals() {
+        CostGrid grid = CostGrids.random(30, 30, 9, 5);
+        int[] stations = { grid.index(0, 0), grid.index(0, 29), grid.index(29, 0), grid.index(29, 29) };
+        AStarPathPlanner exact = new AStarPathPlanner(grid);
+        HierarchicalPathPlanner hierarchical = new HierarchicalPathPlanner(grid, 10);
+
+        for (int start = 0; start < grid.size(); start += 7) {
+            int[] path = hierarchical.findPathToAny(start, stations);
+            boolean reachable = false;
+            for (int station : stations) {
+                reachable |= exact.findPath(start, station) != null;
+            }
+            if (!reachable) {
+                assertNull(path);
+                continue;
+            }
+            assertNotNull(path);
+            int goal = path[path.length - 1];
+            assertTrue(goal == stations[0] || goal == stations[1] || goal == stations[2] || goal == stations[3]);
+            assertValidRoute(grid, path, start, goal);
+        }
+    }
+}
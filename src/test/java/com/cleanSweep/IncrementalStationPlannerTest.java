@@ -0,0 +1,76 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.pathfinding.BucketQueueEngine;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.IncrementalStationPlanner;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalStationPlannerTest {
+
+    private static final int SIZE = 40;
+
+    private int[] corners(CostGrid grid) {
+        int[] sources = { grid.index(0, 0), grid.index(0, SIZE - 1), grid.index(SIZE - 1, 0),
+                grid.index(SIZE - 1, SIZE - 1) };
+        for (int source : sources) {
+            grid.setBlocked(source / SIZE, source % SIZE, false);
+        }
+        return sources;
+    }
+
+    private void assertSameDistances(CostGrid grid, int[] sources, StationDistanceField actual) {
+        StationDistanceField expected = new StationDistanceField(SIZE, SIZE);
+        new BucketQueueEngine().compute(grid, sources, expected);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                assertEquals(expected.getDistance(x, y), actual.getDistance(x, y), "cell " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testRandomObstacleEventsMatchFullRecompute() {
+        Random random = new Random(3);
+        CostGrid grid = CostGrids.random(SIZE, SIZE, 3, 7);
+        int[] sources = corners(grid);
+        StationDistanceField field = new StationDistanceField(SIZE, SIZE);
+        new BucketQueueEngine().compute(grid, sources, field);
+        IncrementalStationPlanner planner = new IncrementalStationPlanner(grid, field, sources);
+
+        for (int event = 0; event < 200; event++) {
+            int x = random.nextInt(SIZE);
+            int y = random.nextInt(SIZE);
+            if ((x == 0 || x == SIZE - 1) && (y == 0 || y == SIZE - 1)) {
+                continue;
+            }
+            if (random.nextBoolean()) {
+                planner.addObstacle(x, y);
+            } else {
+                planner.removeObstacle(x, y);
+            }
+            assertSameDistances(grid, sources, field);
+        }
+    }
+
+    @Test
+    void testUpdateTouchesOnlyAffectedCells() {
+        CostGrid grid = new CostGrid(SIZE, SIZE);
+        int[] sources = corners(grid);
+        StationDistanceField field = new StationDistanceField(SIZE, SIZE);
+        new BucketQueueEngine().compute(grid, sources, field);
+        IncrementalStationPlanner planner = new IncrementalStationPlanner(grid, field, sources);
+
+        // A cell next to one corner only carries the routes of a few cells behind it
+        int touched = planner.addObstacle(1, 1);
+
+        assertTrue(touched > 0);
+        assertTrue(touched < SIZE * SIZE / 10);
+        assertFalse(field.isReachable(1, 1));
+        assertSameDistances(grid, sources, field);
+    }
+}
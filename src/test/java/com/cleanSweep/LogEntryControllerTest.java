@@ -0,0 +1,236 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogEntryRepository;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = { "clean-sweep.activity-log.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:logapitest", "clean-sweep.log-api.max-page-size=50" })
+@AutoConfigureMockMvc
+class LogEntryControllerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LogEntryRepository logEntryRepository;
+
+    @Autowired
+    private LogRepoImpl logRepo;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        logEntryRepository.deleteAll();
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            LogEntry entry = new LogEntry();
+            entry.setTimestamp(START.plusSeconds(i));
+            entry.setType(i % 3 == 0 ? ActivityEventType.CLEANED : ActivityEventType.MOVEMENT);
+            entry.setX(i);
+            entry.setY(0);
+            entry.setStep((long) i);
+            entry.setDetail("Visiting");
+            entries.add(entry);
+        }
+        logRepo.saveLogs(entries);
+    }
+
+    private JsonNode page(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/logs?" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void testCursorWalksEveryEntryOnce() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = page("limit=25" + cursor);
+            assertTrue(page.get("entries").size() <= 25);
+            page.get("entries").forEach(entry -> seen.add(entry.get("x").asInt()));
+            cursor = page.get("nextAfterId").isNull() ? null : "&afterId=" + page.get("nextAfterId").asLong();
+        } while (cursor != null);
+
+        assertEquals(120, seen.size());
+        for (int i = 0; i < 120; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void testFiltersByTypeAndTime() throws Exception {
+        JsonNode page = page("type=CLEANED&from=" + START.plusSeconds(30) + "&to=" + START.plusSeconds(60));
+        JsonNode entries = page.get("entries");
+        assertEquals(10, entries.size());
+        for (JsonNode entry : entries) {
+            assertEquals("CLEANED", entry.get("type").asText());
+            int x = entry.get("x").asInt();
+            assertTrue(x >= 30 && x < 60 && x % 3 == 0);
+            assertEquals("Cleaned dirt at (" + x + ", 0)", entry.get("message").asText());
+        }
+        assertTrue(page.get("nextAfterId").isNull());
+    }
+
+    @Test
+    void testTailReturnsNewestEntries() throws Exception {
+        String body = mockMvc.perform(get("/api/logs/tail?limit=3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tail = objectMapper.readTree(body);
+        assertEquals(3, tail.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(117 + i, tail.get(i).get("x").asInt());
+        }
+        assertEquals(50, objectMapper.readTree(mockMvc.perform(get("/api/logs/tail?limit=1000"))
+                .andReturn().getResponse().getContentAsString()).size());
+    }
+
+    @Test
+    void testPageSizeIsCapped() throws Exception {
+        assertEquals(50, page("limit=100000").get("entries").size());
+        mockMvc.perform(get("/api/logs?limit=0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/logs?type=NOPE")).andExpect(status().isBadRequest());
+    }
+
+    private List<JsonNode> export(String query, boolean gzip) throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/logs/export?" + query + "&gzip=" + gzip))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        InputStream in = new ByteArrayInputStream(body);
+        if (gzip) {
+            assertEquals("gzip", result.getResponse().getHeader("Content-Encoding"));
+            in = new GZIPInputStream(in);
+        }
+        List<JsonNode> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    void testExportStreamsEveryEntryAsNdjson() throws Exception {
+        for (boolean gzip : new boolean[] { false, true }) {
+            List<JsonNode> lines = export("", gzip);
+            assertEquals(120, lines.size());
+            for (int i = 0; i < 120; i++) {
+                assertEquals(i, lines.get(i).get("x").asInt());
+            }
+            assertEquals("Moved to position (1, 0) in direction: Visiting", lines.get(1).get("message").asText());
+        }
+    }
+
+    @Test
+    void testExportResumesAfterId() throws Exception {
+        long afterId = page("limit=50").get("nextAfterId").asLong();
+        List<JsonNode> lines = export("afterId=" + afterId, false);
+        assertEquals(70, lines.size());
+        assertEquals(50, lines.get(0).get("x").asInt());
+    }
+
+    private JsonNode ingest(String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/logs/batch").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    @Test
+    void testIngestJsonArray() throws Exception {
+        JsonNode result = ingest("application/json", "["
+                + "{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"CLEANED\", \"x\": 7, \"y\": 8, \"step\": 3},"
+                + "{\"timestamp\": \"2024-02-01T08:00:01\", \"detail\": \"unit 12 docked\", \"id\": 1},"
+                + "{\"timestamp\": \"2024-02-01T08:00:02\", \"type\": \"CLEANED\"},"
+                + "{\"type\": \"RECHARGE\"},"
+                + "{\"timestamp\": \"2024-02-01T08:00:03\", \"type\": \"WARP\"}]");
+        assertEquals(2, result.get("accepted").asLong());
+        assertEquals(3, result.get("rejected").asLong());
+
+        JsonNode entries = page("from=2024-02-01T00:00:00").get("entries");
+        assertEquals(2, entries.size());
+        assertEquals("Cleaned dirt at (7, 8)", entries.get(0).get("message").asText());
+        assertEquals(3, entries.get(0).get("step").asLong());
+        assertEquals("2024-02-01T08:00:00", entries.get(0).get("timestamp").asText());
+        assertEquals("unit 12 docked", entries.get(1).get("message").asText());
+        assertNotEquals(1, entries.get(1).get("id").asLong());
+    }
+
+    @Test
+    void testIngestNdjsonSkipsBadLines() throws Exception {
+        JsonNode result = ingest("application/x-ndjson",
+                "{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"BATTERY\", \"value\": 12.5}\n"
+                        + "{not json\n"
+                        + "\n"
+                        + "{\"timestamp\": \"2024-02-01T08:00:01\", \"type\": \"DIRT_FULL\"}\n");
+        assertEquals(2, result.get("accepted").asLong());
+        assertEquals(1, result.get("rejected").asLong());
+        assertEquals(122, logEntryRepository.count());
+    }
+
+    private String recharges(int count) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            body.append(i > 0 ? "," : "").append("{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"RECHARGE\"}");
+        }
+        return body.toString();
+    }
+
+    @Test
+    void testMalformedArrayRollsBack() throws Exception {
+        // More than one JDBC batch is inserted before the error is found
+        mockMvc.perform(post("/api/logs/batch").contentType("application/json").content(recharges(1200) + ", {oops"))
+                .andExpect(status().isBadRequest());
+        assertEquals(120, logEntryRepository.count());
+    }
+
+    @Test
+    void testIngestedIdsDoNotCollideWithSavedEntries() throws Exception {
+        for (int round = 0; round < 3; round++) {
+            assertEquals(700, ingest("application/json", recharges(700) + "]").get("accepted").asLong());
+            for (int i = 0; i < 10; i++) {
+                logRepo.saveLog("saved " + i);
+            }
+        }
+        assertEquals(120 + 3 * 710, logEntryRepository.count());
+    }
+}
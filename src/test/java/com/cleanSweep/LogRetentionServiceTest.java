@@ -0,0 +1,191 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogEntryRepository;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.cleanSweep.backend.infrastructure.LogRetentionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "clean-sweep.activity-log.enabled=false", "spring.datasource.url=jdbc:h2:mem:logretentiontest",
+        "clean-sweep.log-retention.max-rows=0", "clean-sweep.log-retention.max-age-ms=0" })
+class LogRetentionServiceTest {
+
+    @Autowired
+    private LogRetentionService retentionService;
+
+    @Autowired
+    private LogEntryRepository logEntryRepository;
+
+    @Autowired
+    private LogRepoImpl logRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<LogEntry> pending = new ArrayList<>();
+    private long step;
+
+    @BeforeEach
+    void setUp() {
+        logEntryRepository.deleteAll();
+        ReflectionTestUtils.setField(retentionService, "maxRows", 0L);
+        ReflectionTestUtils.setField(retentionService, "maxAgeMillis", 0L);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 1000);
+        ReflectionTestUtils.setField(retentionService, "rollup", false);
+        ReflectionTestUtils.setField(retentionService, "maxSummaries", 10_000L);
+    }
+
+    private void add(ActivityEventType type, Double value, LocalDateTime timestamp) {
+        LogEntry entry = new LogEntry();
+        entry.setType(type);
+        entry.setTimestamp(timestamp);
+        entry.setX(0);
+        entry.setY(0);
+        entry.setValue(value);
+        entry.setStep(step++);
+        pending.add(entry);
+    }
+
+    private void add(ActivityEventType type, Double value) {
+        add(type, value, LocalDateTime.now());
+    }
+
+    private void save() {
+        logRepo.saveLogs(pending);
+        pending.clear();
+    }
+
+    private List<LogEntry> all() {
+        return logEntryRepository.findAll(Sort.by("id"));
+    }
+
+    @Test
+    void testMaxRowsKeepsTheNewest() {
+        for (int i = 0; i < 12_345; i++) {
+            add(ActivityEventType.CLEANED, null);
+        }
+        save();
+        ReflectionTestUtils.setField(retentionService, "maxRows", 10_000L);
+
+        assertEquals(2_345, retentionService.purge());
+        List<LogEntry> left = all();
+        assertEquals(10_000, left.size());
+        assertEquals(2_345, left.get(0).getStep());
+        assertEquals(0, retentionService.purge());
+    }
+
+    @Test
+    void testMaxRowsKeepsEntriesCommittedDuringThePass() {
+        for (int i = 0; i < 20; i++) {
+            add(ActivityEventType.CLEANED, null);
+        }
+        save();
+        LogEntry late = all().get(4);
+        logEntryRepository.deleteById(late.getId());
+        ReflectionTestUtils.setField(retentionService, "maxRows", 10L);
+
+        // A writer holding a lower id commits it after the pass has read past it
+        LogEntryRepository repository = mock(LogEntryRepository.class, delegatesTo(logEntryRepository));
+        doAnswer(invocation -> {
+            List<LogEntry> batch = logEntryRepository.findAfter(invocation.getArgument(0), invocation.getArgument(1));
+            jdbcTemplate.update("insert into log_entry (id, timestamp, type, x, y, step) values (?, ?, ?, 0, 0, ?)",
+                    late.getId(), late.getTimestamp(), late.getType().name(), late.getStep());
+            return batch;
+        }).when(repository).findAfter(anyLong(), any());
+        ReflectionTestUtils.setField(retentionService, "logEntryRepository", repository);
+        try {
+            assertEquals(9, retentionService.purge());
+        } finally {
+            ReflectionTestUtils.setField(retentionService, "logEntryRepository", logEntryRepository);
+        }
+        List<LogEntry> left = all();
+        assertEquals(11, left.size());
+        assertEquals(late.getId(), left.get(0).getId());
+    }
+
+    @Test
+    void testMaxAgeDeletesOldEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 50; i++) {
+            add(ActivityEventType.CLEANED, null, now.minusHours(2).plusSeconds(i));
+            add(ActivityEventType.CLEANED, null, now.minusMinutes(1));
+        }
+        save();
+        ReflectionTestUtils.setField(retentionService, "maxAgeMillis", 3_600_000L);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 7);
+
+        assertEquals(50, retentionService.purge());
+        assertEquals(50, logEntryRepository.count());
+        assertTrue(all().stream().allMatch(entry -> entry.getTimestamp().isAfter(now.minusHours(1))));
+    }
+
+    @Test
+    void testRollupSummarizesEachSortie() {
+        add(ActivityEventType.MOVEMENT, null);
+        add(ActivityEventType.BATTERY, 100.0);
+        add(ActivityEventType.MOVEMENT, null);
+        add(ActivityEventType.CLEANED, null);
+        add(ActivityEventType.MOVEMENT, null);
+        add(ActivityEventType.BATTERY, 90.0);
+        add(ActivityEventType.RECHARGE, null);
+        add(ActivityEventType.MOVEMENT, null);
+        add(ActivityEventType.BATTERY, 250.0);
+        add(ActivityEventType.MOVEMENT, null);
+        add(ActivityEventType.BATTERY, 246.5);
+        for (int i = 0; i < 5; i++) {
+            add(ActivityEventType.CLEANED, null);
+        }
+        save();
+        ReflectionTestUtils.setField(retentionService, "maxRows", 5L);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 3);
+        ReflectionTestUtils.setField(retentionService, "rollup", true);
+
+        assertEquals(11, retentionService.purge());
+        List<LogEntry> summaries = logEntryRepository.findByTypeOrderById(ActivityEventType.SORTIE_SUMMARY,
+                Limit.unlimited());
+        assertEquals(2, summaries.size());
+        assertEquals(3, summaries.get(0).getCount());
+        assertEquals(10.0, summaries.get(0).getValue());
+        assertEquals(0, summaries.get(0).getStep());
+        assertEquals(2, summaries.get(1).getCount());
+        assertEquals(3.5, summaries.get(1).getValue());
+        assertEquals("Sortie from step 7: 2 moves, 3.5 battery units used", summaries.get(1).getMessage());
+        assertEquals(7, logEntryRepository.count());
+    }
+
+    @Test
+    void testSummariesAreCapped() {
+        for (int i = 0; i < 30; i++) {
+            add(ActivityEventType.MOVEMENT, null);
+            add(ActivityEventType.RECHARGE, null);
+        }
+        save();
+        ReflectionTestUtils.setField(retentionService, "maxRows", 1L);
+        ReflectionTestUtils.setField(retentionService, "rollup", true);
+        ReflectionTestUtils.setField(retentionService, "maxSummaries", 10L);
+
+        retentionService.purge();
+        assertEquals(10, logEntryRepository.countByType(ActivityEventType.SORTIE_SUMMARY));
+        assertEquals(11, logEntryRepository.count());
+    }
+}
@@ -0,0 +1,54 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.simulation.Distribution;
+import com.cleanSweep.backend.simulation.MonteCarloRunner;
+import com.cleanSweep.backend.simulation.MonteCarloSummary;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloRunnerTest {
+
+    private SimulationWorld world(long seed) {
+        return SimulationWorld.create(12, 75, 250, 50, seed);
+    }
+
+    @Test
+    void testSameSeedGivesSameMission() {
+        SimulationStatistics first = world(3).run(100_000);
+        SimulationStatistics second = world(3).run(100_000);
+
+        assertEquals(first.getSteps(), second.getSteps());
+        assertEquals(first.getMoves(), second.getMoves());
+        assertEquals(first.getEnergy(), second.getEnergy());
+        assertEquals(first.getRecharges(), second.getRecharges());
+        assertEquals(first.getCellsCleaned(), second.getCellsCleaned());
+    }
+
+    @Test
+    void testParallelRunMatchesSequentialRuns() {
+        MonteCarloSummary summary = new MonteCarloRunner(4).run(16, 100, 100_000, this::world);
+
+        double[] steps = new double[16];
+        for (int i = 0; i < 16; i++) {
+            steps[i] = world(100 + i).run(100_000).getSteps();
+        }
+        Distribution expected = Distribution.of(steps);
+        assertEquals(16, summary.getWorlds());
+        assertEquals(expected.getMean(), summary.getMissionSteps().getMean());
+        assertEquals(expected.getPercentile(90), summary.getMissionSteps().getPercentile(90));
+    }
+
+    @Test
+    void testPercentiles() {
+        Distribution distribution = Distribution.of(new double[] { 5, 1, 4, 2, 3, 6, 8, 7, 10, 9 });
+
+        assertEquals(5.5, distribution.getMean());
+        assertEquals(5, distribution.getPercentile(50));
+        assertEquals(9, distribution.getPercentile(90));
+        assertEquals(10, distribution.getPercentile(99));
+        assertEquals(1, distribution.getMin());
+    }
+}
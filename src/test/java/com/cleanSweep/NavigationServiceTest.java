@@ -1,8 +1,13 @@
 package com.cleanSweep;
 
 import com.cleanSweep.backend.application.*;
+import com.cleanSweep.backend.application.coverage.CoverageMode;
+import com.cleanSweep.backend.application.pathfinding.BucketQueueEngine;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
 import com.cleanSweep.backend.common.FloorType;
 import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.CellFloorGrid;
 import com.cleanSweep.backend.domain.FloorMap;
 import com.cleanSweep.backend.infrastructure.ActivityLogger;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,15 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 class NavigationServiceTest {
 
     @Mock
@@ -45,10 +51,10 @@ class NavigationServiceTest {
         cells = new Cell[5][5];
         for (int i = 0; i < 5; i++) {
             for (int j = 0; j < 5; j++) {
-                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0, null,0);
+                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0);
             }
         }
-        when(floorMap.getCells()).thenReturn(cells);
+        when(floorMap.getGrid()).thenReturn(new CellFloorGrid(cells));
 
         // Mock batteryService and sensor behaviors
         when(batteryService.hasSufficientPower()).thenReturn(true);
@@ -94,11 +100,6 @@ class NavigationServiceTest {
         when(dirtService.isCleaningActive()).thenReturn(true);  // Return true to allow cleaning
         when(batteryService.isRechargeNeeded(anyInt())).thenReturn(false);
         
-        // Mock the path to charging station
-        List<int[]> path = new ArrayList<>();
-        path.add(new int[]{0, 0});
-        cells[0][0].setWayToChargingStation(path);
-        
         // Start navigation
         navigationService.startNavigation(0, 0);
         
@@ -116,4 +117,147 @@ class NavigationServiceTest {
         assertTrue(navigationService.isNavigationCompleted());
     }
 
+    /**
+     * Creates an open 5x5 floor with a charging station at (0, 0) and dirt on every
+     * other cell. The robot sweeps down the first column, so with a capacity of four
+     * it heads back to the station from (4, 0).
+     */
+    private SimulationWorld openWorld(int dirtCapacity) {
+        List<FloorMap.CellData> cells = new ArrayList<>();
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                FloorMap.CellData cell = new FloorMap.CellData();
+                cell.setX(x);
+                cell.setY(y);
+                cell.setFloorType(FloorType.BARE_FLOOR);
+                cell.setChargingStation(x == 0 && y == 0);
+                cell.setDirtLevel(x == 0 && y == 0 ? 0 : 1);
+                cells.add(cell);
+            }
+        }
+        FloorMap.FloorPlanData floorPlan = new FloorMap.FloorPlanData();
+        floorPlan.setFloorSize(5);
+        floorPlan.setCells(cells);
+        return SimulationWorld.create(floorPlan, 10, 1000, dirtCapacity, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<int[]> stationPath(NavigationService navigation) {
+        return (List<int[]>) ReflectionTestUtils.getField(navigation, "stationPath");
+    }
+
+    /**
+     * Steps until the robot is on its way to a station with at least two cells to go.
+     */
+    private List<int[]> stepUntilStationTrip(NavigationService navigation) {
+        navigation.startNavigation(0, 0);
+        for (int step = 0; step < 100; step++) {
+            navigation.stepNavigation();
+            List<int[]> path = stationPath(navigation);
+            if (path != null && path.size() >= 3) {
+                return path;
+            }
+        }
+        return fail("robot never headed for the station");
+    }
+
+    @Test
+    void testObstacleOnStationPathReroutes() {
+        SimulationWorld world = openWorld(4);
+        NavigationService navigation = world.getNavigationService();
+        List<int[]> path = stepUntilStationTrip(navigation);
+        int[] blocked = path.get(path.size() - 2);
+
+        assertTrue(navigation.updateObstacle(blocked[0], blocked[1], true) > 0);
+
+        List<int[]> rerouted = stationPath(navigation);
+        assertNotNull(rerouted);
+        assertArrayEquals(navigation.getCurrentPosition(), rerouted.get(0));
+        assertArrayEquals(new int[] { 0, 0 }, rerouted.get(rerouted.size() - 1));
+        for (int[] cell : rerouted) {
+            assertFalse(cell[0] == blocked[0] && cell[1] == blocked[1], "route passes the new obstacle");
+        }
+        for (int step = 0; step < 20 && world.getBatteryService().getRechargeCount() == 0; step++) {
+            navigation.stepNavigation();
+            assertFalse(navigation.getCurrentPosition()[0] == blocked[0]
+                    && navigation.getCurrentPosition()[1] == blocked[1]);
+        }
+        assertEquals(1, world.getBatteryService().getRechargeCount());
+    }
+
+    @Test
+    void testObstacleUpdatesStationDistances() {
+        SimulationWorld world = openWorld(4);
+        NavigationService navigation = world.getNavigationService();
+        navigation.startNavigation(0, 0);
+        navigation.updateObstacle(1, 0, true);
+        navigation.updateObstacle(1, 1, true);
+        navigation.updateObstacle(1, 0, false);
+
+        CostGrid costGrid = CostGrid.of(world.getFloorMap(), world.getSensorSimulatorService());
+        StationDistanceField expected = new StationDistanceField(5, 5);
+        new BucketQueueEngine().compute(costGrid, new int[] { 0 }, expected);
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                double distance = expected.isReachable(x, y) ? expected.getDistance(x, y) : 0;
+                assertEquals(distance, navigation.getDistanceToStation(x, y), "cell " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testStationCutOffStopsMission() {
+        SimulationWorld world = openWorld(4);
+        NavigationService navigation = world.getNavigationService();
+        stepUntilStationTrip(navigation);
+
+        navigation.updateObstacle(0, 1, true);
+        navigation.updateObstacle(1, 0, true);
+
+        assertTrue(navigation.isNavigationCompleted());
+        assertNull(stationPath(navigation));
+        assertEquals(0, world.advance(100));
+    }
+
+    @Test
+    void testCleaningPositionCutOffStopsMission() {
+        SimulationWorld world = openWorld(4);
+        NavigationService navigation = world.getNavigationService();
+        stepUntilStationTrip(navigation);
+        while (world.getBatteryService().getRechargeCount() == 0) {
+            navigation.stepNavigation();
+        }
+        assertNotNull(stationPath(navigation));
+
+        // The robot is at the station, about to head back to (4, 0)
+        navigation.updateObstacle(4, 0, true);
+
+        assertTrue(navigation.isNavigationCompleted());
+        assertEquals(0, world.advance(100));
+    }
+
+    @Test
+    void testObstacleOnNextTourCellContinuesTour() {
+        SimulationWorld world = openWorld(100);
+        NavigationService navigation = world.getNavigationService();
+        ReflectionTestUtils.setField(navigation, "coverageMode", CoverageMode.BOUSTROPHEDON);
+        navigation.startNavigation(0, 0);
+        for (int step = 0; step < 6; step++) {
+            navigation.stepNavigation();
+        }
+
+        // The robot has already committed to the next tour cell when it becomes blocked
+        int[] tour = (int[]) ReflectionTestUtils.getField(navigation, "tour");
+        int next = tour[(int) ReflectionTestUtils.getField(navigation, "tourIdx")];
+        navigation.updateObstacle(next / 5, next % 5, true);
+
+        for (int step = 0; step < 200 && !navigation.isNavigationCompleted(); step++) {
+            navigation.stepNavigation();
+            assertNotEquals(next, navigation.getCurrentPosition()[0] * 5 + navigation.getCurrentPosition()[1]);
+        }
+        assertTrue(navigation.isNavigationCompleted());
+        assertEquals(world.getSensorSimulatorService().getNumberOfDirtCell(),
+                world.getDirtService().getCleanedDirtCellCount());
+        assertArrayEquals(new int[] { 0, 0 }, navigation.getCurrentPosition());
+    }
 }
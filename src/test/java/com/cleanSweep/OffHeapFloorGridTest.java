@@ -0,0 +1,123 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.ArrayFloorGrid;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.domain.OffHeapFloorGrid;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapFloorGridTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void assertMatchesArrayGrid(FloorGrid grid, long seed) {
+        Random random = new Random(seed);
+        FloorGrid expected = new ArrayFloorGrid(grid.getRows(), grid.getCols());
+        for (int i = 0; i < 10_000; i++) {
+            int x = random.nextInt(grid.getRows());
+            int y = random.nextInt(grid.getCols());
+            FloorType floorType = FloorType.values()[random.nextInt(3)];
+            boolean flag = random.nextBoolean();
+            int dirtLevel = random.nextInt(4);
+            grid.setFloorType(x, y, floorType);
+            expected.setFloorType(x, y, floorType);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    grid.setObstacle(x, y, flag);
+                    expected.setObstacle(x, y, flag);
+                }
+                case 1 -> {
+                    grid.setChargingStation(x, y, flag);
+                    expected.setChargingStation(x, y, flag);
+                }
+                case 2 -> {
+                    grid.setStairs(x, y, flag);
+                    expected.setStairs(x, y, flag);
+                }
+                default -> {
+                    grid.setVisited(x, y, flag);
+                    expected.setVisited(x, y, flag);
+                }
+            }
+            grid.setDirtLevel(x, y, dirtLevel);
+            expected.setDirtLevel(x, y, dirtLevel);
+        }
+        for (int x = 0; x < grid.getRows(); x++) {
+            for (int y = 0; y < grid.getCols(); y++) {
+                assertEquals(expected.getFloorType(x, y), grid.getFloorType(x, y));
+                assertEquals(expected.isObstacle(x, y), grid.isObstacle(x, y));
+                assertEquals(expected.isChargingStation(x, y), grid.isChargingStation(x, y));
+                assertEquals(expected.isStairs(x, y), grid.isStairs(x, y));
+                assertEquals(expected.isVisited(x, y), grid.isVisited(x, y));
+                assertEquals(expected.getDirtLevel(x, y), grid.getDirtLevel(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testDirectMemoryGrid() {
+        assertMatchesArrayGrid(new OffHeapFloorGrid(61, 37), 1);
+    }
+
+    @Test
+    void testFileBackedGrid() throws IOException {
+        Path file = tempDir.resolve("floor.bin");
+        OffHeapFloorGrid grid = new OffHeapFloorGrid(40, 90, file);
+        assertEquals(40 * 90 * 2, Files.size(file));
+        assertMatchesArrayGrid(grid, 2);
+    }
+
+    @Test
+    void testRejectsCellsOutsideTheFloor() {
+        OffHeapFloorGrid grid = new OffHeapFloorGrid(3, 4);
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.getDirtLevel(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.setVisited(0, -1, true));
+    }
+
+    @Test
+    void testFileBackedFloorRunsMissionWithPlanningStateOffTheHeap() {
+        FloorGrid layout = SimulationWorld.create(40, 75, 1000, 20, 3).getFloorMap().getGrid();
+        SimulationWorld onHeap = SimulationWorld.create(copy(layout, FloorStorage.ARRAYS, null), 75, 1000, 20, 3);
+        Path file = tempDir.resolve("floor.bin");
+        SimulationWorld offHeap = SimulationWorld.create(copy(layout, FloorStorage.OFF_HEAP, file), 75, 1000, 20, 3);
+
+        SimulationStatistics expected = onHeap.run(1_000_000);
+        SimulationStatistics actual = offHeap.run(1_000_000);
+        assertEquals(expected.getSteps(), actual.getSteps());
+        assertEquals(expected.getEnergy(), actual.getEnergy());
+        assertEquals(expected.getCellsCleaned(), actual.getCellsCleaned());
+        // The planning scratch file is removed as soon as it is mapped
+        assertFalse(Files.exists(tempDir.resolve("floor.bin.planning")));
+    }
+
+    private FloorMap copy(FloorGrid layout, FloorStorage storage, Path file) {
+        FloorMap floorMap = new FloorMap();
+        floorMap.setStorage(storage);
+        floorMap.setStorageFile(file == null ? null : file.toString());
+        floorMap.initializeGrid(layout.getRows(), layout.getCols());
+        FloorGrid grid = floorMap.getGrid();
+        for (int x = 0; x < layout.getRows(); x++) {
+            for (int y = 0; y < layout.getCols(); y++) {
+                grid.setFloorType(x, y, layout.getFloorType(x, y));
+                grid.setObstacle(x, y, layout.isObstacle(x, y));
+                grid.setChargingStation(x, y, layout.isChargingStation(x, y));
+                grid.setStairs(x, y, layout.isStairs(x, y));
+                grid.setDirtLevel(x, y, layout.getDirtLevel(x, y));
+            }
+        }
+        return floorMap;
+    }
+}
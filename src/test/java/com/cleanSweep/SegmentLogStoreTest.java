@@ -0,0 +1,241 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.IngestResult;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogPage;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.cleanSweep.backend.infrastructure.LogStorage;
+import com.cleanSweep.backend.infrastructure.SegmentLogStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 8, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private LogEntry movement(int i) {
+        LogEntry entry = new LogEntry();
+        entry.setTimestamp(START.plusSeconds(i));
+        entry.setType(ActivityEventType.MOVEMENT);
+        entry.setX(i);
+        entry.setY(-i);
+        entry.setStep((long) i);
+        return entry;
+    }
+
+    private List<LogEntry> entries(int count) {
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 10 == 0) {
+                LogEntry entry = new LogEntry();
+                entry.setTimestamp(START.plusSeconds(i));
+                entry.setMessage("Stopped at cell " + i + " – ünïcode");
+                entries.add(entry);
+            } else {
+                entries.add(movement(i));
+            }
+        }
+        return entries;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    /**
+     * A log repository on segments with no database behind it: the JPA repository,
+     * JDBC template and transaction manager are all left unset.
+     */
+    private LogRepoImpl segmentRepo() throws IOException {
+        LogRepoImpl logRepo = new LogRepoImpl();
+        ReflectionTestUtils.setField(logRepo, "storage", LogStorage.SEGMENTS);
+        ReflectionTestUtils.setField(logRepo, "segmentDirectory", tempDir.toString());
+        ReflectionTestUtils.setField(logRepo, "segmentSize", 1024 * 1024);
+        ReflectionTestUtils.setField(logRepo, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        logRepo.open();
+        return logRepo;
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAppendAndPage() throws IOException {
+        SegmentLogStore store = SegmentLogStore.open(tempDir, 4096);
+        List<LogEntry> written = entries(1000);
+        store.append(written);
+
+        assertEquals(1000, store.getLastId());
+        assertTrue(store.getSegmentCount() > 10);
+        List<LogEntry> read = new ArrayList<>();
+        Long afterId = null;
+        do {
+            LogPage page = store.findLogs(afterId, 77, null, null, null);
+            read.addAll(page.getEntries());
+            afterId = page.getNextAfterId();
+        } while (afterId != null);
+
+        assertEquals(1000, read.size());
+        for (int i = 0; i < 1000; i++) {
+            LogEntry expected = written.get(i);
+            LogEntry actual = read.get(i);
+            assertEquals(i + 1, actual.getId());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getStep(), actual.getStep());
+            assertEquals(expected.getValue(), actual.getValue());
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    @Test
+    void testFiltersAndTail() throws IOException {
+        SegmentLogStore store = SegmentLogStore.open(tempDir, 1024 * 1024);
+        store.append(entries(5000));
+
+        LogPage messages = store.findLogs(null, 1000, ActivityEventType.MESSAGE, null, null);
+        assertEquals(500, messages.getEntries().size());
+        assertNull(messages.getNextAfterId());
+
+        LogPage range = store.findLogs(100L, 1000, ActivityEventType.MOVEMENT,
+                START.plusSeconds(2000), START.plusSeconds(2100));
+        assertEquals(90, range.getEntries().size());
+        assertEquals(2002, range.getEntries().get(0).getId());
+        assertEquals(2100, range.getEntries().get(89).getId());
+
+        List<LogEntry> tail = store.tail(3);
+        assertEquals(List.of(4998L, 4999L, 5000L), tail.stream().map(LogEntry::getId).toList());
+    }
+
+    @Test
+    void testReopenDiscardsTornRecord() throws IOException {
+        SegmentLogStore store = SegmentLogStore.open(tempDir, 4096);
+        List<LogEntry> written = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            written.add(movement(i));
+        }
+        store.append(written);
+        store.close();
+
+        // Movement records are 58 bytes after a 16-byte header; damage the last one
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), 16 + 9 * 58 + 30);
+        }
+
+        SegmentLogStore reopened = SegmentLogStore.open(tempDir, 4096);
+        assertEquals(9, reopened.getLastId());
+        LogEntry next = movement(100);
+        reopened.append(List.of(next));
+        assertEquals(10, next.getId());
+        reopened.close();
+
+        SegmentLogStore again = SegmentLogStore.open(tempDir, 4096);
+        List<LogEntry> entries = again.findLogs(null, 100, null, null, null).getEntries();
+        assertEquals(10, entries.size());
+        assertEquals(100, entries.get(9).getX());
+    }
+
+    @Test
+    void testReopenUsesSealedIndexes() throws IOException {
+        SegmentLogStore store = SegmentLogStore.open(tempDir, 4096);
+        store.append(entries(1000));
+        int segments = store.getSegmentCount();
+        store.close();
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(segments - 1, files.filter(file -> file.toString().endsWith(".idx")).count());
+        }
+        SegmentLogStore reopened = SegmentLogStore.open(tempDir, 4096);
+        assertEquals(segments, reopened.getSegmentCount());
+        assertEquals(1000, reopened.getLastId());
+        assertEquals(50, reopened.findLogs(null, 1000, null, START.plusSeconds(500), START.plusSeconds(550))
+                .getEntries().size());
+        LogEntry next = movement(1000);
+        reopened.append(List.of(next));
+        assertEquals(1001, next.getId());
+    }
+
+    @Test
+    void testDropSegments() throws IOException {
+        SegmentLogStore store = SegmentLogStore.open(tempDir, 4096);
+        store.append(entries(1000));
+        int segments = store.getSegmentCount();
+
+        long dropped = store.dropSegments(400, null);
+        assertTrue(dropped > 0);
+        assertTrue(store.size() >= 400);
+        assertEquals(1000 - dropped, store.size());
+        assertEquals(store.getSegmentCount(), segmentFiles().size());
+        assertTrue(store.getSegmentCount() < segments);
+        assertEquals(dropped + 1, store.findLogs(null, 1, null, null, null).getEntries().get(0).getId());
+
+        // The active segment is kept even when everything has expired
+        store.dropSegments(0, START.plusDays(1));
+        assertEquals(1, store.getSegmentCount());
+        assertEquals(1000, store.getLastId());
+    }
+
+    @Test
+    void testIngestWithoutDatabase() throws IOException {
+        LogRepoImpl logRepo = segmentRepo();
+        String line = "{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"RECHARGE\"}\n";
+        IngestResult result = logRepo.ingestNdjson(body(line.repeat(1200) + "{not json\n"));
+        assertEquals(1200, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        logRepo.saveLogs(List.of(movement(1)));
+        assertEquals(1201, logRepo.tailLogs(1).get(0).getId());
+
+        // A malformed array appends nothing
+        String entry = "{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"RECHARGE\"},";
+        assertThrows(IOException.class, () -> logRepo.ingestJson(body("[" + entry.repeat(1200) + "{oops")));
+        assertEquals(1201, logRepo.tailLogs(1).get(0).getId());
+        logRepo.close();
+    }
+
+    @Test
+    void testNdjsonIngestAppendsAsItReads() throws IOException {
+        LogRepoImpl logRepo = segmentRepo();
+        String line = "{\"timestamp\": \"2024-02-01T08:00:00\", \"type\": \"RECHARGE\"}\n";
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        // The two full batches read before the upload broke off are already stored
+        assertThrows(UncheckedIOException.class,
+                () -> logRepo.ingestNdjson(new SequenceInputStream(body(line.repeat(1200)), broken)));
+        assertEquals(1000, logRepo.tailLogs(1).get(0).getId());
+        logRepo.close();
+    }
+}
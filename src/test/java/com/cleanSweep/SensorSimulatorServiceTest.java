@@ -3,6 +3,7 @@ package com.cleanSweep;
 import com.cleanSweep.backend.application.SensorSimulatorService;
 import com.cleanSweep.backend.common.FloorType;
 import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.CellFloorGrid;
 import com.cleanSweep.backend.domain.FloorMap;
 import com.cleanSweep.backend.infrastructure.ActivityLogger;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,10 +44,10 @@ class SensorSimulatorServiceTest {
         cells = new Cell[5][5];
         for (int i = 0; i < 5; i++) {
             for (int j = 0; j < 5; j++) {
-                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0, null,0);
+                cells[i][j] = new Cell(i, j, FloorType.BARE_FLOOR, false, false, false, false, 0);
             }
         }
-        when(floorMap.getCells()).thenReturn(cells);
+        when(floorMap.getGrid()).thenReturn(new CellFloorGrid(cells));
 
         // Now initialize the service
         sensorSimulatorService.initializeObstacleAndDirt();
@@ -0,0 +1,96 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.simulation.SimulationSession;
+import com.cleanSweep.backend.simulation.StepDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTelemetryTest {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Object> events = new ArrayList<>();
+
+    private SimulationSession session() {
+        return new SimulationSession("test", SimulationWorld.create(16, 75, 250, 50, 4));
+    }
+
+    private byte[] replay() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> snapshot = (Map<String, Object>) events.get(0);
+        byte[] cells = Base64.getDecoder().decode((String) snapshot.get("cells"));
+        for (int i = 1; i < events.size(); i++) {
+            int[] changes = ((StepDelta) events.get(i)).getCells();
+            for (int c = 0; c < changes.length; c += 2) {
+                cells[changes[c]] = (byte) changes[c + 1];
+            }
+        }
+        return cells;
+    }
+
+    @Test
+    void testDeltasReproduceTheFloor() {
+        SimulationSession session = session();
+        session.advance(20);
+        session.subscribe((name, data) -> {
+            names.add(name);
+            events.add(data);
+        }, Runnable::run);
+
+        for (int i = 0; i < 300; i++) {
+            session.advance(1);
+        }
+
+        assertEquals("snapshot", names.get(0));
+        assertTrue(events.size() > 1);
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals("delta", names.get(i));
+            assertTrue(((StepDelta) events.get(i)).getCells().length <= 36);
+        }
+        StepDelta last = (StepDelta) events.get(events.size() - 1);
+        assertEquals(session.state().getSteps(), last.getStep());
+        assertEquals(session.state().getX(), last.getX());
+        assertArrayEquals(session.encodeCells(), replay());
+    }
+
+    @Test
+    void testSlowClientReceivesMergedLatestState() {
+        SimulationSession session = session();
+        Deque<Runnable> pending = new ArrayDeque<>();
+        session.subscribe((name, data) -> {
+            names.add(name);
+            events.add(data);
+        }, pending::add);
+
+        session.advance(200);
+        assertEquals(1, pending.size()); // One send in flight, no queue of 200 deltas
+        pending.poll().run();
+
+        assertEquals(List.of("snapshot", "delta"), names);
+        StepDelta merged = (StepDelta) events.get(1);
+        assertEquals(session.state().getSteps(), merged.getStep());
+        assertEquals(session.state().getBattery(), merged.getBattery());
+        assertArrayEquals(session.encodeCells(), replay());
+    }
+
+    @Test
+    void testClosedClientIsDropped() {
+        SimulationSession session = session();
+        session.subscribe((name, data) -> {
+            throw new java.io.IOException("Client went away");
+        }, Runnable::run);
+
+        session.advance(10);
+        session.subscribe((name, data) -> events.add(data), Runnable::run).close();
+        session.advance(10);
+        assertEquals(1, events.size()); // Only the snapshot, sent before the close
+    }
+}
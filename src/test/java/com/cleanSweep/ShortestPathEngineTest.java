@@ -0,0 +1,125 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.pathfinding.AStarPathPlanner;
+import com.cleanSweep.backend.application.pathfinding.BucketQueueEngine;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.DijkstraEngine;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathEngineTest {
+
+    @Test
+    void testBucketQueueMatchesDijkstra() {
+        for (long seed = 0; seed < 20; seed++) {
+            CostGrid grid = CostGrids.random(23, 17, seed, 5);
+            int[] sources = { grid.index(0, 0), grid.index(22, 16) };
+
+            StationDistanceField expected = new StationDistanceField(23, 17);
+            new DijkstraEngine().compute(grid, sources, expected);
+            StationDistanceField actual = new StationDistanceField(23, 17);
+            new BucketQueueEngine().compute(grid, sources, actual);
+
+            for (int x = 0; x < 23; x++) {
+                for (int y = 0; y < 17; y++) {
+                    assertEquals(expected.isReachable(x, y), actual.isReachable(x, y));
+                    assertEquals(expected.getDistance(x, y), actual.getDistance(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPathCostMatchesDistance() {
+        CostGrid grid = CostGrids.random(30, 30, 42, 5);
+        StationDistanceField field = new StationDistanceField(30, 30);
+        new BucketQueueEngine().compute(grid, new int[] { grid.index(0, 0) }, field);
+
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 30; y++) {
+                List<int[]> path = field.pathToStation(x, y);
+                if (path == null) {
+                    continue;
+                }
+                int halfUnits = 0;
+                for (int i = 1; i < path.size(); i++) {
+                    halfUnits += grid.moveCost(grid.index(path.get(i - 1)[0], path.get(i - 1)[1]),
+                            grid.index(path.get(i)[0], path.get(i)[1]));
+                }
+                assertArrayEquals(new int[] { 0, 0 }, path.get(path.size() - 1));
+                assertEquals(field.getDistance(x, y), halfUnits / 2.0);
+            }
+        }
+    }
+
+    @Test
+    void testEngineIsReusable() {
+        BucketQueueEngine engine = new BucketQueueEngine();
+        CostGrid grid = CostGrids.random(12, 12, 7, 5);
+        StationDistanceField first = new StationDistanceField(12, 12);
+        StationDistanceField second = new StationDistanceField(12, 12);
+        int[] sources = { grid.index(0, 0) };
+
+        engine.compute(grid, sources, first);
+        engine.compute(grid, sources, second);
+
+        for (int x = 0; x < 12; x++) {
+            for (int y = 0; y < 12; y++) {
+                assertEquals(first.getDistance(x, y), second.getDistance(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testAStarMatchesFieldDistance() {
+        CostGrid grid = CostGrids.random(35, 25, 11, 5);
+        AStarPathPlanner planner = new AStarPathPlanner(grid);
+        Random random = new Random(11);
+
+        for (int query = 0; query < 100; query++) {
+            int start = random.nextInt(grid.size());
+            int goal = random.nextInt(grid.size());
+            StationDistanceField field = new StationDistanceField(35, 25);
+            new BucketQueueEngine().compute(grid, new int[] { goal }, field);
+
+            int[] path = planner.findPath(start, goal);
+            if (!field.isReachable(start / 25, start % 25)) {
+                assertNull(path);
+                continue;
+            }
+            assertNotNull(path);
+            assertEquals(start, path[0]);
+            assertEquals(goal, path[path.length - 1]);
+            int halfUnits = 0;
+            for (int i = 1; i < path.length; i++) {
+                halfUnits += grid.moveCost(path[i - 1], path[i]);
+            }
+            assertEquals(field.getDistance(start / 25, start % 25), halfUnits / 2.0);
+            assertEquals(halfUnits / 2.0, planner.getPathCost(goal));
+        }
+    }
+
+    @Test
+    void testFieldOnlyTakesMemoryWhereStationsAreReachable() {
+        // A station in a walled-off 20x20 room in the corner of a large bare floor
+        CostGrid grid = new CostGrid(2048, 2048);
+        for (int i = 0; i <= 20; i++) {
+            grid.setBlocked(20, i, true);
+            grid.setBlocked(i, 20, true);
+        }
+        StationDistanceField field = new StationDistanceField(2048, 2048);
+        new BucketQueueEngine().compute(grid, new int[] { grid.index(0, 0) }, field);
+
+        assertEquals(38, field.getDistance(19, 19));
+        assertFalse(field.isReachable(21, 21));
+        assertFalse(field.isReachable(2047, 2047));
+        long denseBytes = 2048L * 2048 * 5;
+        assertTrue(field.allocatedBytes() < denseBytes / 50, "field holds " + field.allocatedBytes() + " bytes");
+        assertTrue(grid.allocatedBytes() < 2048L * 2048 / 50, "grid holds " + grid.allocatedBytes() + " bytes");
+    }
+}
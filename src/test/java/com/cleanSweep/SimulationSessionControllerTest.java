@@ -0,0 +1,163 @@
+package com.cleanSweep;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "clean-sweep.activity-log.enabled=false")
+@AutoConfigureMockMvc
+class SimulationSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode createSession(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/simulations")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode advance(String id, long count) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/simulations/" + id + "/steps").param("count", "" + count))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testBatchedStepping() throws Exception {
+        JsonNode created = createSession("{\"seed\": 5, \"gridSize\": 12}");
+        String id = created.get("id").asText();
+        assertEquals(0, created.get("steps").asLong());
+
+        JsonNode state = advance(id, 50);
+        assertEquals(50, state.get("steps").asLong());
+        assertTrue(state.get("moves").asLong() > 0);
+
+        JsonNode finished = advance(id, 1_000_000);
+        assertTrue(finished.get("completed").asBoolean());
+        assertTrue(finished.get("cellsCleaned").asInt() <= finished.get("dirtyCells").asInt());
+
+        mockMvc.perform(get("/api/simulations/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.steps").value(finished.get("steps").asLong()));
+    }
+
+    @Test
+    void testOversizedFloorsAreRejected() throws Exception {
+        mockMvc.perform(post("/api/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"gridSize\": 100000}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"floorPlan\": {\"rows\": 3000, \"cols\": 3000, \"cells\": []}}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/simulations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"floorPlan\": {\"rows\": -1, \"cols\": 4, \"cells\": []}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSameSeedGivesSameSession() throws Exception {
+        String first = createSession("{\"seed\": 9, \"gridSize\": 10}").get("id").asText();
+        String second = createSession("{\"seed\": 9, \"gridSize\": 10}").get("id").asText();
+
+        assertEquals(advance(first, 200).toString().replace(first, ""),
+                advance(second, 200).toString().replace(second, ""));
+    }
+
+    @Test
+    void testSessionFromFloorPlan() throws Exception {
+        String plan = "{\"seed\": 1, \"floorPlan\": {\"floorSize\": 4, \"cells\": ["
+                + "{\"x\": 0, \"y\": 0, \"floorType\": \"BARE_FLOOR\", \"isChargingStation\": true},"
+                + "{\"x\": 1, \"y\": 1, \"floorType\": \"BARE_FLOOR\", \"isStairs\": true},"
+                + "{\"x\": 2, \"y\": 3, \"floorType\": \"HIGH_PILE_CARPET\"}]}}";
+        String id = createSession(plan).get("id").asText();
+
+        MvcResult result = mockMvc.perform(get("/api/simulations/" + id + "/cells"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(4))
+                .andReturn();
+        byte[] cells = Base64.getDecoder().decode(
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("cells").asText());
+        assertEquals(16, cells.length);
+        assertEquals(2, cells[0] & 2);  // Charging station
+        assertEquals(1, cells[5] & 1);  // Stairs are an obstacle
+    }
+
+    @Test
+    void testEventStreamStartsWithSnapshot() throws Exception {
+        String id = createSession("{\"seed\": 2, \"gridSize\": 8}").get("id").asText();
+
+        MvcResult stream = mockMvc.perform(get("/api/simulations/" + id + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        advance(id, 5);
+
+        // Events are sent by the telemetry threads, so wait for the last delta to arrive
+        String body = stream.getResponse().getContentAsString();
+        for (int i = 0; i < 100 && !body.contains("\"step\":5"); i++) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.startsWith("event:snapshot"));
+        assertTrue(body.contains("event:delta"));
+        assertTrue(body.contains("\"step\":5"));
+    }
+
+    @Test
+    void testForkAndRestoreFromSnapshot() throws Exception {
+        String id = createSession("{\"seed\": 6, \"gridSize\": 10}").get("id").asText();
+        advance(id, 40);
+        String fork = objectMapper.readTree(mockMvc.perform(post("/api/simulations/" + id + "/fork"))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString()).get("id").asText();
+        byte[] snapshot = mockMvc.perform(get("/api/simulations/" + id + "/snapshot"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+        String restored = objectMapper.readTree(mockMvc.perform(post("/api/simulations/restore")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(snapshot))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        JsonNode original = advance(id, 100);
+        JsonNode forked = advance(fork, 100);
+        JsonNode resumed = advance(restored, 100);
+        assertEquals(original.get("moves"), forked.get("moves"));
+        assertEquals(original.get("energy"), resumed.get("energy"));
+        assertEquals(original.get("x"), resumed.get("x"));
+
+        mockMvc.perform(post("/api/simulations/restore")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(new byte[] { 1, 2 }))
+                .andExpect(status().isBadRequest());
+        byte[] header = java.nio.ByteBuffer.wrap(java.util.Arrays.copyOf(snapshot, 14))
+                .putInt(6, 50_000).putInt(10, 50_000).array();
+        mockMvc.perform(post("/api/simulations/restore")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(header))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUnknownAndDeletedSessions() throws Exception {
+        String id = createSession("{\"seed\": 3, \"gridSize\": 6}").get("id").asText();
+
+        mockMvc.perform(post("/api/simulations/" + id + "/steps").param("count", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/simulations/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/simulations/" + id)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/simulations/" + id)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,124 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.simulation.SimulationStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationSnapshotTest {
+
+    private SimulationWorld world(long seed) {
+        return SimulationWorld.create(14, 75, 250, 20, seed);
+    }
+
+    @Test
+    void testSeedMakesGenerationDeterministic() {
+        assertArrayEquals(world(8).snapshot(), world(8).snapshot());
+        assertFalse(java.util.Arrays.equals(world(8).snapshot(), world(9).snapshot()));
+    }
+
+    @Test
+    void testForkedWorldContinuesIdentically() {
+        for (long forkStep : new long[] { 0, 1, 137, 400 }) {
+            SimulationWorld original = world(21);
+            original.getNavigationService().startNavigation(0, 0);
+            original.advance(forkStep);
+
+            SimulationWorld fork = SimulationWorld.fromSnapshot(original.snapshot());
+            assertArrayEquals(original.snapshot(), fork.snapshot());
+
+            long originalSteps = original.advance(1_000_000);
+            long forkSteps = fork.advance(1_000_000);
+            assertEquals(originalSteps, forkSteps);
+            SimulationStatistics expected = original.statistics(originalSteps, 0);
+            SimulationStatistics actual = fork.statistics(forkSteps, 0);
+            assertEquals(expected.getMoves(), actual.getMoves());
+            assertEquals(expected.getEnergy(), actual.getEnergy());
+            assertEquals(expected.getRecharges(), actual.getRecharges());
+            assertEquals(expected.getCellsCleaned(), actual.getCellsCleaned());
+            assertTrue(actual.isCompleted());
+            assertArrayEquals(original.snapshot(), fork.snapshot());
+        }
+    }
+
+    @Test
+    void testRestoreReplacesState() {
+        SimulationWorld source = world(2);
+        source.getNavigationService().startNavigation(0, 0);
+        source.advance(50);
+        SimulationWorld target = world(3);
+
+        target.restore(source.snapshot());
+
+        assertArrayEquals(source.snapshot(), target.snapshot());
+        assertArrayEquals(source.getNavigationService().getCurrentPosition(),
+                target.getNavigationService().getCurrentPosition());
+        assertEquals(source.getBatteryService().getBattery(), target.getBatteryService().getBattery());
+    }
+
+    @Test
+    void testDirtLevelsSurviveRestore() {
+        FloorMap.FloorPlanData floorPlan = new FloorMap.FloorPlanData();
+        floorPlan.setFloorSize(4);
+        List<FloorMap.CellData> cells = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            FloorMap.CellData cell = new FloorMap.CellData();
+            cell.setX(i / 4);
+            cell.setY(i % 4);
+            cell.setChargingStation(i == 0);
+            cell.setDirtLevel(i == 0 ? 0 : i % 8);
+            cells.add(cell);
+        }
+        floorPlan.setCells(cells);
+        SimulationWorld original = SimulationWorld.create(floorPlan, 75, 250, 20, 1);
+
+        SimulationWorld fork = SimulationWorld.fromSnapshot(original.snapshot());
+        assertEquals(7, fork.getFloorMap().getGrid().getDirtLevel(1, 3));
+        assertArrayEquals(original.snapshot(), fork.snapshot());
+    }
+
+    @Test
+    void testRejectsInvalidSnapshot() {
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(new byte[] { 1, 2, 3 }));
+        byte[] truncated = java.util.Arrays.copyOf(world(1).snapshot(), 40);
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(truncated));
+    }
+
+    @Test
+    void testRejectsSizesTheSnapshotCannotHold() {
+        // A bare header claiming a huge or negative floor must fail before anything is allocated
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(header(100_000, 100_000)));
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(header(-5, 10)));
+        byte[] snapshot = world(1).snapshot();
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(snapshot, 14 * 14 - 1));
+        assertNotNull(SimulationWorld.fromSnapshot(snapshot, 14 * 14));
+
+        SimulationWorld started = world(1);
+        started.getNavigationService().startNavigation(0, 0);
+        started.advance(20);
+        // Header, cells, dirt count, battery, dirt and navigation scalars precede the move stack
+        int stackOffset = 14 + 2 * 14 * 14 + 4 + 28 + 16 + 27;
+        byte[] longStack = started.snapshot();
+        java.nio.ByteBuffer.wrap(longStack).putInt(stackOffset, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(longStack));
+        byte[] negativeStack = started.snapshot();
+        java.nio.ByteBuffer.wrap(negativeStack).putInt(stackOffset, -1);
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(negativeStack));
+        byte[] outsideCell = started.snapshot();
+        java.nio.ByteBuffer.wrap(outsideCell).putInt(stackOffset + 8, 14 * 14);
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(outsideCell));
+        byte[] badFloorType = started.snapshot();
+        badFloorType[14] = 3;
+        assertThrows(IllegalArgumentException.class, () -> SimulationWorld.fromSnapshot(badFloorType));
+    }
+
+    private byte[] header(int rows, int cols) {
+        byte[] snapshot = world(1).snapshot();
+        return java.nio.ByteBuffer.wrap(java.util.Arrays.copyOf(snapshot, 14)).putInt(6, rows).putInt(10, cols).array();
+    }
+}
@@ -0,0 +1,158 @@
+package com.cleanSweep;
+
+import com.cleanSweep.backend.common.FloorType;
+import com.cleanSweep.backend.domain.ArrayFloorGrid;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.TiledFloorGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledFloorGridTest {
+
+    @Test
+    void testMatchesArrayGrid() {
+        Random random = new Random(4);
+        TiledFloorGrid tiled = new TiledFloorGrid(150, 97);
+        FloorGrid expected = new ArrayFloorGrid(150, 97);
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(150);
+            int y = random.nextInt(97);
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    FloorType floorType = FloorType.values()[random.nextInt(3)];
+                    tiled.setFloorType(x, y, floorType);
+                    expected.setFloorType(x, y, floorType);
+                }
+                case 1 -> {
+                    boolean value = random.nextBoolean();
+                    tiled.setObstacle(x, y, value);
+                    expected.setObstacle(x, y, value);
+                }
+                case 2 -> {
+                    boolean value = random.nextBoolean();
+                    tiled.setChargingStation(x, y, value);
+                    expected.setChargingStation(x, y, value);
+                }
+                case 3 -> {
+                    boolean value = random.nextBoolean();
+                    tiled.setStairs(x, y, value);
+                    expected.setStairs(x, y, value);
+                }
+                case 4 -> {
+                    boolean value = random.nextBoolean();
+                    tiled.setVisited(x, y, value);
+                    expected.setVisited(x, y, value);
+                }
+                default -> {
+                    int value = random.nextInt(4);
+                    tiled.setDirtLevel(x, y, value);
+                    expected.setDirtLevel(x, y, value);
+                }
+            }
+        }
+        for (int x = 0; x < 150; x++) {
+            for (int y = 0; y < 97; y++) {
+                assertEquals(expected.getFloorType(x, y), tiled.getFloorType(x, y));
+                assertEquals(expected.isObstacle(x, y), tiled.isObstacle(x, y));
+                assertEquals(expected.isChargingStation(x, y), tiled.isChargingStation(x, y));
+                assertEquals(expected.isStairs(x, y), tiled.isStairs(x, y));
+                assertEquals(expected.isVisited(x, y), tiled.isVisited(x, y));
+                assertEquals(expected.getDirtLevel(x, y), tiled.getDirtLevel(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testOnlyChangedTilesAreMaterialized() {
+        TiledFloorGrid grid = new TiledFloorGrid(20_000, 20_000);
+        assertEquals(313 * 313, grid.getTileCount());
+        assertEquals(0, grid.getMaterializedTiles());
+
+        // Writes that keep the value do not copy a tile
+        grid.setFloorType(5, 5, FloorType.BARE_FLOOR);
+        grid.setObstacle(5, 5, false);
+        grid.setDirtLevel(19_999, 19_999, 0);
+        assertEquals(0, grid.getMaterializedTiles());
+
+        grid.setObstacle(5, 5, true);
+        grid.setDirtLevel(64, 0, 1);
+        grid.setChargingStation(19_999, 19_999, true);
+        assertEquals(3, grid.getMaterializedTiles());
+        assertTrue(grid.isObstacle(5, 5));
+        assertFalse(grid.isObstacle(5, 6));
+        assertEquals(0, grid.getDirtLevel(128, 0));
+        assertTrue(grid.isChargingStation(19_999, 19_999));
+
+        // Visits are kept apart and do not copy a tile
+        grid.setVisited(63, 63, true);
+        grid.setVisited(200, 200, false);
+        assertEquals(3, grid.getMaterializedTiles());
+        assertTrue(grid.isVisited(63, 63));
+        assertFalse(grid.isVisited(63, 62));
+        assertFalse(grid.isVisited(64, 63));
+    }
+
+    @Test
+    void testScatteredDirtIsDeferredUntilATileChanges() {
+        TiledFloorGrid tiled = new TiledFloorGrid(150, 97);
+        FloorGrid expected = new ArrayFloorGrid(150, 97);
+        for (FloorGrid grid : new FloorGrid[] { tiled, expected }) {
+            grid.setObstacle(3, 4, true);
+            grid.setChargingStation(0, 0, true);
+        }
+        int materialized = tiled.getMaterializedTiles();
+
+        int dirtyCells = tiled.scatterDirt(9);
+        assertEquals(expected.scatterDirt(9), dirtyCells);
+        assertEquals(materialized, tiled.getMaterializedTiles());
+        assertTrue(dirtyCells > 150 * 97 / 2 && dirtyCells < 150 * 97 * 5 / 6, dirtyCells + " dirty cells");
+        assertEquals(0, tiled.getDirtLevel(3, 4));
+        assertEquals(0, tiled.getDirtLevel(0, 0));
+
+        // The first change to a tile stores the dirt of its other cells
+        for (FloorGrid grid : new FloorGrid[] { tiled, expected }) {
+            grid.setDirtLevel(140, 90, 0);
+            grid.setObstacle(70, 20, true);
+        }
+        for (int x = 0; x < 150; x++) {
+            for (int y = 0; y < 97; y++) {
+                assertEquals(expected.getDirtLevel(x, y), tiled.getDirtLevel(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testCompactSharesUniformTilesAgain() {
+        TiledFloorGrid grid = new TiledFloorGrid(128, 128);
+        for (int x = 0; x < 64; x++) {
+            for (int y = 0; y < 64; y++) {
+                grid.setFloorType(x, y, FloorType.LOW_PILE_CARPET);
+            }
+        }
+        grid.setObstacle(100, 100, true);
+        grid.setDirtLevel(10, 100, 1);
+        grid.setDirtLevel(10, 100, 0);
+        assertEquals(3, grid.getMaterializedTiles());
+
+        grid.compact();
+        assertEquals(1, grid.getMaterializedTiles());
+        assertEquals(FloorType.LOW_PILE_CARPET, grid.getFloorType(63, 63));
+        assertEquals(FloorType.BARE_FLOOR, grid.getFloorType(64, 63));
+        assertTrue(grid.isObstacle(100, 100));
+
+        // A shared carpet tile is copied again when it changes
+        grid.setDirtLevel(0, 0, 1);
+        assertEquals(2, grid.getMaterializedTiles());
+        assertEquals(0, grid.getDirtLevel(0, 1));
+    }
+
+    @Test
+    void testRejectsCellsOutsideTheFloor() {
+        TiledFloorGrid grid = new TiledFloorGrid(10, 70);
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.isObstacle(10, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.setDirtLevel(0, 70, 1));
+    }
+}
@@ -0,0 +1,68 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CleanSweepApplication;
+import com.cleanSweep.backend.infrastructure.ActivityLogBuffer;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing activity events one insert at a time with handing them to the
+ * buffered writer, against the in-memory H2 database.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class ActivityLogBenchmark {
+
+    private static final int EVENTS = 50_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanSweepApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--clean-sweep.activity-log.overflow=block", "--logging.level.root=warn")) {
+            LogRepoImpl logRepo = context.getBean(LogRepoImpl.class);
+            ActivityLogBuffer buffer = context.getBean(ActivityLogBuffer.class);
+
+            // Warm up both paths
+            for (int i = 0; i < 5_000; i++) {
+                logRepo.saveLog("warm up " + i);
+                buffer.submit(entry(i));
+            }
+            buffer.flush(1, TimeUnit.MINUTES);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                logRepo.saveLog("event " + i);
+            }
+            long direct = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                buffer.submit(entry(i));
+            }
+            long submitted = System.nanoTime() - start;
+            buffer.flush(1, TimeUnit.MINUTES);
+            long buffered = System.nanoTime() - start;
+
+            System.out.printf("%-24s %12s %14s%n", "mode", "time (ms)", "events/s");
+            print("insert per event", direct);
+            print("buffered (submit only)", submitted);
+            print("buffered (written)", buffered);
+        }
+    }
+
+    private static LogEntry entry(int i) {
+        LogEntry entry = new LogEntry();
+        entry.setTimestamp(LocalDateTime.now());
+        entry.setMessage("event " + i);
+        return entry;
+    }
+
+    private static void print(String mode, long nanos) {
+        System.out.printf("%-24s %12.1f %14.0f%n", mode, nanos / 1e6, EVENTS / (nanos / 1e9));
+    }
+}
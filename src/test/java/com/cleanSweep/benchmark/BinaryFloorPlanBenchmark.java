@@ -0,0 +1,93 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.infrastructure.BinaryFloorPlan;
+import com.cleanSweep.backend.infrastructure.FloorPlanLoader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures how quickly a 100M-cell binary floor plan becomes usable when mapped, and
+ * the cost of random cell reads while its pages are loaded lazily. Then loads it into
+ * a floor map through the loader with the storages that can hold it, and reports the
+ * time and the heap retained by the floor map. The arrays storage needs a heap of
+ * about 2 GB. Run the main method directly; it is not part of the unit test suite.
+ */
+public class BinaryFloorPlanBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int COLS = 10_000;
+    private static final int READS = 10_000_000;
+
+    public static void main(String[] args) throws IOException {
+        Path plan = Files.createTempFile("floor-plan", ".cfp");
+        try {
+            generate(plan);
+            System.out.printf("plan: %dx%d, %.1f MB%n", ROWS, COLS, Files.size(plan) / 1e6);
+
+            long start = System.nanoTime();
+            BinaryFloorPlan floorPlan = BinaryFloorPlan.map(plan);
+            System.out.printf("map: %.2f ms%n", (System.nanoTime() - start) / 1e6);
+
+            for (int round = 0; round < 3; round++) {
+                Random random = new Random(round);
+                int obstacles = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < READS; i++) {
+                    if (floorPlan.isObstacle(random.nextInt(ROWS), random.nextInt(COLS))) {
+                        obstacles++;
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("random reads: %.1f M cells/s (%d obstacles)%n",
+                        READS * 1e3 / elapsed, obstacles);
+            }
+
+            FloorPlanLoader loader = new FloorPlanLoader();
+            for (FloorStorage storage : new FloorStorage[] { FloorStorage.MAPPED, FloorStorage.TILED,
+                    FloorStorage.ARRAYS }) {
+                long before = usedHeap();
+                FloorMap floorMap = new FloorMap();
+                floorMap.setStorage(storage);
+                start = System.nanoTime();
+                loader.load(plan, floorMap);
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("load %s: %.0f ms, %.1f MB%n", storage, elapsed / 1e6,
+                        (usedHeap() - before) / 1e6);
+                floorMap.setGrid(null);
+            }
+        } finally {
+            Files.deleteIfExists(plan);
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Writes the header and cells directly, since a plan this large does not fit the JSON model.
+     */
+    private static void generate(Path plan) throws IOException {
+        Random random = new Random(1);
+        try (OutputStream out = Files.newOutputStream(plan)) {
+            out.write(ByteBuffer.allocate(16).putInt(BinaryFloorPlan.MAGIC).putShort((short) 1)
+                    .putShort((short) 16).putInt(ROWS).putInt(COLS).array());
+            byte[] row = new byte[COLS];
+            for (int x = 0; x < ROWS; x++) {
+                for (int y = 0; y < COLS; y++) {
+                    row[y] = (byte) (random.nextInt(3) | (random.nextInt(7) == 0 ? 1 << 2 : 0));
+                }
+                out.write(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CostGrids;
+import com.cleanSweep.backend.application.coverage.CoverageMetrics;
+import com.cleanSweep.backend.application.coverage.CoverageMode;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+
+/**
+ * Compares total moves, revisits and moving energy of the coverage modes on seeded
+ * random floors with the obstacle density of SensorSimulatorService.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class CoverageBenchmark {
+
+    private static final int[] GRID_SIZES = { 11, 64, 256 };
+    private static final int SEEDS = 5;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %6s %-14s %10s %10s %12s %10s%n", "grid", "seed", "mode", "moves", "revisits",
+                "energy", "plan (ms)");
+        for (int size : GRID_SIZES) {
+            for (int seed = 0; seed < SEEDS; seed++) {
+                CostGrid grid = CostGrids.random(size, size, seed, 7);
+                for (CoverageMode mode : CoverageMode.values()) {
+                    long start = System.nanoTime();
+                    int[] tour = mode.createPlanner().planTour(grid, 0);
+                    double planMillis = (System.nanoTime() - start) / 1e6;
+                    CoverageMetrics metrics = CoverageMetrics.of(grid, tour);
+                    System.out.printf("%8s %6d %-14s %10d %10d %12.1f %10.1f%n", size + "x" + size, seed, mode,
+                            metrics.getMoves(), metrics.getRevisits(), metrics.getEnergy(), planMillis);
+                }
+            }
+        }
+    }
+}
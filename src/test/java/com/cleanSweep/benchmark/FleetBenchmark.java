@@ -0,0 +1,38 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.application.fleet.Fleet;
+import com.cleanSweep.backend.application.fleet.FleetStatistics;
+
+/**
+ * Measures fleet step throughput and mission length as the number of robots sharing
+ * one seeded floor grows from 1 to 64.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class FleetBenchmark {
+
+    private static final int GRID_SIZE = 128;
+    private static final int FULL_CHARGE = 2000;
+    private static final long MAX_STEPS = 2_000_000;
+
+    public static void main(String[] args) {
+        // Warm up the JIT before measuring
+        for (int robots = 1; robots <= 64; robots *= 4) {
+            fleet(robots).run(MAX_STEPS);
+        }
+
+        System.out.printf("%8s %12s %12s %16s %12s %12s%n", "robots", "steps", "time (ms)", "robot steps/s",
+                "wait steps", "recharges");
+        for (int robots = 1; robots <= 64; robots *= 2) {
+            FleetStatistics statistics = fleet(robots).run(MAX_STEPS);
+            System.out.printf("%8d %12d %12.1f %16.0f %12d %12d%n", robots, statistics.getSteps(),
+                    statistics.getElapsedNanos() / 1e6, statistics.getRobotStepsPerSecond(),
+                    statistics.getWaitSteps(), statistics.getRecharges());
+        }
+    }
+
+    private static Fleet fleet(int robots) {
+        SimulationWorld world = SimulationWorld.create(GRID_SIZE, 75, FULL_CHARGE, 50, 1);
+        return new Fleet(world.getFloorMap(), world.getSensorSimulatorService(), robots, FULL_CHARGE, 50, 5);
+    }
+}
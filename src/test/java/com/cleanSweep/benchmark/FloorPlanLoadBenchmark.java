@@ -0,0 +1,81 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.infrastructure.FloorPlanLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares loading a generated floor plan with the streaming loader against binding
+ * the whole plan to {@link FloorMap.FloorPlanData} with an ObjectMapper, reporting
+ * cells per second and the heap in use at the end of each load, i.e. the grid plus
+ * whatever the loader still holds.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class FloorPlanLoadBenchmark {
+
+    private static final int ROWS = 1500;
+    private static final int COLS = 1000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws IOException {
+        Path plan = Files.createTempFile("floor-plan", ".json");
+        try {
+            generate(plan);
+            System.out.printf("plan: %dx%d, %.1f MB%n", ROWS, COLS, Files.size(plan) / 1e6);
+            System.out.printf("%10s %12s %14s %12s%n", "loader", "time (ms)", "cells/s", "heap (MB)");
+            for (int round = 0; round < ROUNDS; round++) {
+                FloorMap floorMap = new FloorMap();
+                FloorPlanLoader.LoadResult result = new FloorPlanLoader().load(plan, floorMap);
+                System.out.printf("%10s %12.1f %14.0f %12.1f%n", "streaming", result.getElapsedNanos() / 1e6,
+                        result.getCellsPerSecond(), usedHeapMb());
+
+                floorMap = new FloorMap();
+                long start = System.nanoTime();
+                FloorMap.FloorPlanData data;
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(plan), 1 << 16)) {
+                    data = new ObjectMapper().readValue(in, FloorMap.FloorPlanData.class);
+                }
+                floorMap.applyFloorPlan(data);
+                long elapsed = System.nanoTime() - start;
+                double heap = usedHeapMb();
+                System.out.printf("%10s %12.1f %14.0f %12.1f%n", "databind", elapsed / 1e6,
+                        data.getCells().size() * 1e9 / elapsed, heap);
+            }
+        } finally {
+            Files.deleteIfExists(plan);
+        }
+    }
+
+    private static void generate(Path plan) throws IOException {
+        Random random = new Random(1);
+        String[] floorTypes = { "BARE_FLOOR", "LOW_PILE_CARPET", "HIGH_PILE_CARPET" };
+        try (BufferedWriter out = Files.newBufferedWriter(plan)) {
+            out.write("{\"rows\":" + ROWS + ",\"cols\":" + COLS + ",\"cells\":[");
+            for (int x = 0; x < ROWS; x++) {
+                for (int y = 0; y < COLS; y++) {
+                    if (x + y > 0) {
+                        out.write(',');
+                    }
+                    out.write("{\"x\":" + x + ",\"y\":" + y + ",\"floorType\":\""
+                            + floorTypes[random.nextInt(3)] + "\",\"isObstacle\":" + (random.nextInt(7) == 0)
+                            + ",\"dirtLevel\":" + random.nextInt(2) + "}");
+                }
+            }
+            out.write("]}");
+        }
+    }
+
+    private static double usedHeapMb() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1e6;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.domain.FloorMap;
+
+/**
+ * Compares the cells and arrays storage of the floor map: heap retained by a bare
+ * grid, and the step throughput of a mission on a large floor.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class FloorStorageBenchmark {
+
+    private static final int GRID_SIZE = 2048;
+    private static final int WORLD_SIZE = 512;
+    private static final long STEPS = 2_000_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %14s %14s%n", "storage", "grid (MB)", "steps/s");
+        for (int round = 0; round < 2; round++) {
+            for (FloorStorage storage : FloorStorage.values()) {
+                double heap = gridHeapMb(storage);
+                SimulationWorld world = SimulationWorld.create(WORLD_SIZE, 75, 1_000_000, 1_000_000, 1, storage);
+                world.getNavigationService().startNavigation(0, 0);
+                long start = System.nanoTime();
+                long steps = world.advance(STEPS);
+                double stepsPerSecond = steps * 1e9 / (System.nanoTime() - start);
+                System.out.printf("%8s %14.1f %14.0f%n", storage, heap, stepsPerSecond);
+            }
+        }
+    }
+
+    private static double gridHeapMb(FloorStorage storage) {
+        long before = usedHeap();
+        FloorMap floorMap = new FloorMap();
+        floorMap.setStorage(storage);
+        floorMap.initializeGrid(GRID_SIZE);
+        long after = usedHeap();
+        if (floorMap.getGrid().getRows() != GRID_SIZE) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / 1e6;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
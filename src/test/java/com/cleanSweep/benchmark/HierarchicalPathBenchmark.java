@@ -0,0 +1,76 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CostGrids;
+import com.cleanSweep.backend.application.pathfinding.AStarPathPlanner;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.HierarchicalPathPlanner;
+
+import java.util.Random;
+
+/**
+ * Compares query time and route cost of flat A* and the hierarchical planner on seeded
+ * random floors, plus the cost of repairing the hierarchy after single obstacle changes.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class HierarchicalPathBenchmark {
+
+    private static final int[] GRID_SIZES = { 256, 1024, 2048 };
+    private static final int CLUSTER_SIZE = 32;
+    private static final int QUERIES = 200;
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %12s %12s %12s %12s %14s%n", "grid", "build (ms)", "A* (us)", "HPA* (us)",
+                "cost ratio", "repair (us)");
+        for (int size : GRID_SIZES) {
+            CostGrid grid = CostGrids.random(size, size, size, 7);
+            AStarPathPlanner exact = new AStarPathPlanner(grid);
+            HierarchicalPathPlanner hierarchical = new HierarchicalPathPlanner(grid, CLUSTER_SIZE);
+
+            long start = System.nanoTime();
+            hierarchical.findPath(0, 0);
+            double buildMillis = (System.nanoTime() - start) / 1e6;
+
+            Random random = new Random(size);
+            long exactNanos = 0;
+            long hierarchicalNanos = 0;
+            double exactCost = 0;
+            double hierarchicalCost = 0;
+            for (int query = 0; query < QUERIES; query++) {
+                int from = random.nextInt(grid.size());
+                int to = random.nextInt(grid.size());
+                start = System.nanoTime();
+                int[] exactPath = exact.findPath(from, to);
+                exactNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                int[] path = hierarchical.findPath(from, to);
+                hierarchicalNanos += System.nanoTime() - start;
+                if (exactPath != null && path != null) {
+                    exactCost += cost(grid, exactPath);
+                    hierarchicalCost += cost(grid, path);
+                }
+            }
+
+            // Toggle single cells and repair the affected clusters with the next query
+            start = System.nanoTime();
+            for (int change = 0; change < QUERIES; change++) {
+                int cell = random.nextInt(grid.size());
+                grid.setBlocked(cell / size, cell % size, !grid.isBlocked(cell));
+                hierarchical.onCellChanged(cell);
+                hierarchical.findPath(0, 0);
+            }
+            double repairMicros = (System.nanoTime() - start) / 1e3 / QUERIES;
+
+            System.out.printf("%10s %12.1f %12.1f %12.1f %12.3f %14.1f%n", size + "x" + size, buildMillis,
+                    exactNanos / 1e3 / QUERIES, hierarchicalNanos / 1e3 / QUERIES, hierarchicalCost / exactCost,
+                    repairMicros);
+        }
+    }
+
+    private static int cost(CostGrid grid, int[] path) {
+        int halfUnits = 0;
+        for (int i = 1; i < path.length; i++) {
+            halfUnits += grid.moveCost(path[i - 1], path[i]);
+        }
+        return halfUnits;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CleanSweepApplication;
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogEntryRepository;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the peak live heap of dumping the activity log with findAll against the
+ * streaming NDJSON export, for a log of 200,000 entries in in-memory H2.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class LogExportBenchmark {
+
+    private static final int ENTRIES = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanSweepApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--clean-sweep.activity-log.enabled=false", "--logging.level.root=warn")) {
+            LogRepoImpl logRepo = context.getBean(LogRepoImpl.class);
+            LogEntryRepository repository = context.getBean(LogEntryRepository.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+            List<LogEntry> batch = new ArrayList<>();
+            for (int i = 0; i < ENTRIES; i++) {
+                LogEntry entry = new LogEntry();
+                entry.setTimestamp(LocalDateTime.now());
+                entry.setType(ActivityEventType.MOVEMENT);
+                entry.setX(i % 1000);
+                entry.setY(i / 1000);
+                entry.setStep((long) i);
+                entry.setDetail("Visiting");
+                batch.add(entry);
+                if (batch.size() == 5000) {
+                    logRepo.saveLogs(batch);
+                    batch.clear();
+                }
+            }
+
+            // Warm up both paths
+            logRepo.exportLogs(0, OutputStream.nullOutputStream());
+            objectMapper.writeValue(OutputStream.nullOutputStream(), repository.findAll());
+
+            System.out.printf("%-10s %12s %16s%n", "mode", "time (ms)", "live heap (MB)");
+            measure("stream", () -> logRepo.exportLogs(0, OutputStream.nullOutputStream()));
+            measure("findAll", () -> objectMapper.writeValue(OutputStream.nullOutputStream(), repository.findAll()));
+        }
+    }
+
+    private interface Export {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the export once for timing, then once more while a sampler forces
+     * collections, so that the peak reflects live objects rather than garbage.
+     */
+    private static void measure(String mode, Export export) throws Exception {
+        long start = System.nanoTime();
+        export.run();
+        long elapsed = System.nanoTime() - start;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                System.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+        export.run();
+        sampler.interrupt();
+        sampler.join();
+        System.out.printf("%-10s %12.1f %16.1f%n", mode, elapsed / 1e6, (peak.get() - baseline) / 1e6);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CleanSweepApplication;
+import com.cleanSweep.backend.infrastructure.IngestResult;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Measures bulk ingest throughput into the in-memory H2 database for an NDJSON body
+ * and a JSON array of 200,000 entries, against one insert per message.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class LogIngestBenchmark {
+
+    private static final int ENTRIES = 200_000;
+    private static final int SINGLE_ENTRIES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanSweepApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--clean-sweep.activity-log.enabled=false", "--logging.level.root=warn")) {
+            LogRepoImpl logRepo = context.getBean(LogRepoImpl.class);
+            byte[] ndjson = body(ENTRIES, "", "\n", "\n");
+            byte[] array = body(ENTRIES, "[", ",\n", "]");
+
+            // Warm up both paths
+            logRepo.ingestNdjson(new ByteArrayInputStream(ndjson));
+            logRepo.ingestJson(new ByteArrayInputStream(array));
+
+            System.out.printf("%-18s %12s %14s%n", "mode", "time (ms)", "entries/s");
+            long start = System.nanoTime();
+            for (int i = 0; i < SINGLE_ENTRIES; i++) {
+                logRepo.saveLog("unit " + i);
+            }
+            print("insert per entry", SINGLE_ENTRIES, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            IngestResult result = logRepo.ingestNdjson(new ByteArrayInputStream(ndjson));
+            print("batch ndjson", result.getAccepted(), System.nanoTime() - start);
+
+            start = System.nanoTime();
+            result = logRepo.ingestJson(new ByteArrayInputStream(array));
+            print("batch json array", result.getAccepted(), System.nanoTime() - start);
+        }
+    }
+
+    private static byte[] body(int entries, String open, String separator, String close) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 0, 0);
+        StringBuilder body = new StringBuilder(open);
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                body.append(separator);
+            }
+            body.append("{\"timestamp\":\"").append(timestamp.plusNanos(i * 1000L))
+                    .append("\",\"type\":\"MOVEMENT\",\"x\":").append(i % 500)
+                    .append(",\"y\":").append(i / 500)
+                    .append(",\"step\":").append(i)
+                    .append(",\"detail\":\"Visiting\"}");
+        }
+        return body.append(close).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void print(String mode, long entries, long nanos) {
+        System.out.printf("%-18s %12.1f %14.0f%n", mode, nanos / 1e6, entries / (nanos / 1e9));
+    }
+}
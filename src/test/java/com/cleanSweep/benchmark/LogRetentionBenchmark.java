@@ -0,0 +1,75 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CleanSweepApplication;
+import com.cleanSweep.backend.infrastructure.LogEntryRepository;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.cleanSweep.backend.infrastructure.LogRetentionService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Ingests the activity log of a long-running robot in rounds of 100,000 events and
+ * prints the row count and live heap after each round, first without retention and
+ * then with a 200,000 row limit and sortie roll-up.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class LogRetentionBenchmark {
+
+    private static final int EVENTS_PER_ROUND = 100_000;
+    private static final int ROUNDS = 6;
+
+    public static void main(String[] args) throws Exception {
+        for (boolean retention : new boolean[] { false, true }) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanSweepApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--clean-sweep.activity-log.enabled=false", "--logging.level.root=warn",
+                            "--spring.datasource.url=jdbc:h2:mem:retention" + retention,
+                            "--clean-sweep.log-retention.max-rows=" + (retention ? 200_000 : 0),
+                            "--clean-sweep.log-retention.rollup=true",
+                            "--clean-sweep.log-retention.interval-ms=3600000")) {
+                LogRepoImpl logRepo = context.getBean(LogRepoImpl.class);
+                LogEntryRepository repository = context.getBean(LogEntryRepository.class);
+                LogRetentionService retentionService = context.getBean(LogRetentionService.class);
+
+                System.out.printf("%nretention %s%n%8s %12s %14s %16s%n", retention ? "on" : "off",
+                        "round", "rows", "purge (ms)", "live heap (MB)");
+                for (int round = 1; round <= ROUNDS; round++) {
+                    logRepo.ingestNdjson(new ByteArrayInputStream(round(round)));
+                    long start = System.nanoTime();
+                    retentionService.purge();
+                    long elapsed = System.nanoTime() - start;
+                    System.gc();
+                    long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+                    System.out.printf("%8d %12d %14.1f %16.1f%n", round, repository.count(), elapsed / 1e6, heap / 1e6);
+                }
+            }
+        }
+    }
+
+    /**
+     * One round of a sortie pattern: moves with battery readings, and a recharge every
+     * 2,000 events.
+     */
+    private static byte[] round(int round) {
+        LocalDateTime timestamp = LocalDateTime.now();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < EVENTS_PER_ROUND; i++) {
+            long step = (long) round * EVENTS_PER_ROUND + i;
+            body.append("{\"timestamp\":\"").append(timestamp).append("\",\"step\":").append(step);
+            if (i % 2000 == 1999) {
+                body.append(",\"type\":\"RECHARGE\"}\n");
+            } else if (i % 2 == 0) {
+                body.append(",\"type\":\"MOVEMENT\",\"x\":").append(i % 100).append(",\"y\":0,\"detail\":\"Visiting\"}\n");
+            } else {
+                body.append(",\"type\":\"BATTERY\",\"value\":").append(250 - (i % 2000) / 10.0).append("}\n");
+            }
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.simulation.MonteCarloRunner;
+import com.cleanSweep.backend.simulation.MonteCarloSummary;
+
+/**
+ * Measures world throughput of the Monte Carlo runner for a growing number of threads,
+ * up to the number of available cores, to check that it scales close to linearly.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class MonteCarloBenchmark {
+
+    private static final int WORLDS = 256;
+    private static final int GRID_SIZE = 32;
+    private static final long MAX_STEPS = 1_000_000;
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Warm up the JIT before measuring
+        new MonteCarloRunner(cores).run(WORLDS / 4, 0, MAX_STEPS, MonteCarloBenchmark::world);
+
+        System.out.printf("%8s %12s %12s %10s%n", "threads", "time (ms)", "worlds/s", "speedup");
+        double baseline = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            MonteCarloSummary summary = new MonteCarloRunner(threads).run(WORLDS, 0, MAX_STEPS,
+                    MonteCarloBenchmark::world);
+            if (threads == 1) {
+                baseline = summary.getWorldsPerSecond();
+            }
+            System.out.printf("%8d %12.1f %12.1f %10.2f%n", threads, summary.getWallNanos() / 1e6,
+                    summary.getWorldsPerSecond(), summary.getWorldsPerSecond() / baseline);
+        }
+    }
+
+    private static SimulationWorld world(long seed) {
+        return SimulationWorld.create(GRID_SIZE, 75, 1000, 50, seed);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorStorage;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs the same mission on a large floor with each storage and reports the heap in
+ * use, the number of collections and the total collection time. With the off-heap
+ * storage the cells leave the heap, while the route planning arrays stay on it.
+ * Run the main method directly, with enough heap for the cells storage (-Xmx3g);
+ * it is not part of the unit test suite.
+ */
+public class OffHeapFloorBenchmark {
+
+    private static final int GRID_SIZE = 3000;
+    private static final long STEPS = 3_000_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%9s %12s %12s %14s %12s%n", "storage", "heap (MB)", "collections", "gc time (ms)",
+                "steps/s");
+        for (FloorStorage storage : FloorStorage.values()) {
+            System.gc();
+            long collections = collections();
+            long gcMillis = gcMillis();
+            SimulationWorld world = SimulationWorld.create(GRID_SIZE, 75, 100_000_000, 1_000_000, 1, storage);
+            world.getNavigationService().startNavigation(0, 0);
+            long start = System.nanoTime();
+            long steps = world.advance(STEPS);
+            double stepsPerSecond = steps * 1e9 / (System.nanoTime() - start);
+            Runtime runtime = Runtime.getRuntime();
+            double heap = (runtime.totalMemory() - runtime.freeMemory()) / 1e6;
+            System.out.printf("%9s %12.1f %12d %14d %12.0f%n", storage, heap, collections() - collections,
+                    gcMillis() - gcMillis, stepsPerSecond);
+        }
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += bean.getCollectionTime();
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,111 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.CleanSweepApplication;
+import com.cleanSweep.backend.infrastructure.ActivityEventType;
+import com.cleanSweep.backend.infrastructure.LogEntry;
+import com.cleanSweep.backend.infrastructure.LogRepoImpl;
+import com.cleanSweep.backend.infrastructure.SegmentLogStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares the activity log backends: appends in batches of 1,000 as the log buffer's
+ * writer thread does, then the tail, a one-second range scan, a full export and, for
+ * segments, reopening the store. Segments are written to a temporary directory.
+ * Run the main method directly; it is not part of the unit test suite.
+ */
+public class SegmentLogStoreBenchmark {
+
+    private static final int SEGMENT_EVENTS = 5_000_000;
+    private static final int DATABASE_EVENTS = 200_000;
+    private static final int BATCH = 1000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("segment-log-benchmark");
+        try {
+            System.out.printf("%-10s %-12s %10s %14s%n", "storage", "operation", "time (ms)", "entries/s");
+            run("database", DATABASE_EVENTS, "--clean-sweep.activity-log.storage=database");
+            run("segments", SEGMENT_EVENTS, "--clean-sweep.activity-log.storage=segments",
+                    "--clean-sweep.activity-log.segments.directory=" + directory);
+
+            long start = System.nanoTime();
+            SegmentLogStore store = SegmentLogStore.open(directory, 64 * 1024 * 1024);
+            print("segments", "reopen", store.getLastId(), System.nanoTime() - start);
+            store.close();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(String storage, int events, String... properties) throws Exception {
+        List<String> args = new ArrayList<>(List.of(properties));
+        args.add("--clean-sweep.activity-log.enabled=false");
+        args.add("--clean-sweep.log-retention.max-rows=0");
+        args.add("--logging.level.root=warn");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CleanSweepApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]))) {
+            LogRepoImpl logRepo = context.getBean(LogRepoImpl.class);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i += BATCH) {
+                logRepo.saveLogs(batch(i));
+            }
+            print(storage, "append", events, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int tailed = 0;
+            for (int i = 0; i < 1000; i++) {
+                tailed += logRepo.tailLogs(100).size();
+            }
+            print(storage, "tail 100", tailed, System.nanoTime() - start);
+
+            // The last second of movements, which the timestamp index narrows to a few blocks
+            LocalDateTime to = START.plusNanos(events * 100_000L);
+            start = System.nanoTime();
+            int scanned = logRepo.findLogs(null, 1_000_000, ActivityEventType.MOVEMENT, to.minusSeconds(1), to)
+                    .getEntries().size();
+            print(storage, "range scan", scanned, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            long exported = logRepo.exportLogs(0, OutputStream.nullOutputStream());
+            print(storage, "export", exported, System.nanoTime() - start);
+        }
+    }
+
+    private static List<LogEntry> batch(int first) {
+        List<LogEntry> batch = new ArrayList<>(BATCH);
+        for (int i = first; i < first + BATCH; i++) {
+            LogEntry entry = new LogEntry();
+            entry.setTimestamp(START.plusNanos(i * 100_000L));
+            if (i % 50 == 0) {
+                entry.setType(ActivityEventType.BATTERY);
+                entry.setValue(250.0 - i % 250);
+            } else {
+                entry.setType(ActivityEventType.MOVEMENT);
+                entry.setX(i % 500);
+                entry.setY(i / 500 % 500);
+            }
+            entry.setStep((long) i);
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    private static void print(String storage, String operation, long entries, long nanos) {
+        System.out.printf("%-10s %-12s %10.1f %14.0f%n", storage, operation, nanos / 1e6, entries / (nanos / 1e9));
+    }
+}
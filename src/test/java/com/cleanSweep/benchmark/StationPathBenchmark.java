@@ -0,0 +1,132 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SensorSimulatorService;
+import com.cleanSweep.backend.application.pathfinding.BucketQueueEngine;
+import com.cleanSweep.backend.application.pathfinding.CostGrid;
+import com.cleanSweep.backend.application.pathfinding.DijkstraEngine;
+import com.cleanSweep.backend.application.pathfinding.ShortestPathEngine;
+import com.cleanSweep.backend.application.pathfinding.StationDistanceField;
+import com.cleanSweep.backend.common.Direction;
+import com.cleanSweep.backend.domain.Cell;
+import com.cleanSweep.backend.domain.FloorMap;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Compares the multi-source station distance field, computed by the reference Dijkstra
+ * engine and by the bucket-queue engine, against the previous per-cell, per-station
+ * Dijkstra searches of NavigationService.initializeAllPaths.
+ * Run the main method directly; it is not part of the unit test suite.
+ * On large grids the per-cell searches take hours, so they are timed on a random
+ * sample of cells and extrapolated to the full grid.
+ */
+public class StationPathBenchmark {
+
+    private static final int[] GRID_SIZES = { 11, 128, 512, 2048 };
+    private static final int LEGACY_SAMPLE_CELLS = 64;
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %16s %14s %14s %10s%n", "grid", "per-cell (ms)", "dijkstra (ms)", "bucket (ms)",
+                "speedup");
+        for (int size : GRID_SIZES) {
+            SensorSimulatorService sensor = createWorld(size);
+            FloorMap floorMap = (FloorMap) ReflectionTestUtils.getField(sensor, "floorMap");
+            List<int[]> stations = corners(size);
+            CostGrid grid = CostGrid.of(floorMap, sensor);
+            int[] sources = stations.stream().mapToInt(s -> grid.index(s[0], s[1])).toArray();
+
+            double dijkstraMillis = timeField(new DijkstraEngine(), grid, sources);
+            double bucketMillis = timeField(new BucketQueueEngine(), grid, sources);
+
+            int totalCells = size * size;
+            int sampled = Math.min(totalCells, LEGACY_SAMPLE_CELLS);
+            Random random = new Random(size);
+            long start = System.nanoTime();
+            for (int i = 0; i < sampled; i++) {
+                int index = sampled == totalCells ? i : random.nextInt(totalCells);
+                for (int[] station : stations) {
+                    legacyLowestPower(floorMap, sensor, station[0], station[1], index / size, index % size);
+                }
+            }
+            double legacyMillis = (System.nanoTime() - start) / 1e6 * totalCells / sampled;
+
+            System.out.printf("%10s %16.1f %14.1f %14.1f %9.0fx%n", size + "x" + size, legacyMillis, dijkstraMillis,
+                    bucketMillis, legacyMillis / bucketMillis);
+        }
+    }
+
+    private static double timeField(ShortestPathEngine engine, CostGrid grid, int[] sources) {
+        StationDistanceField field = new StationDistanceField(grid.getRows(), grid.getCols());
+        // Warm up once so the JIT compiles the hot loop before timing
+        engine.compute(grid, sources, field);
+        long start = System.nanoTime();
+        engine.compute(grid, sources, field);
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static SensorSimulatorService createWorld(int size) {
+        SensorSimulatorService sensor = new SensorSimulatorService();
+        ReflectionTestUtils.setField(sensor, "floorMap", new FloorMap());
+        ReflectionTestUtils.setField(sensor, "gridSize", size);
+        sensor.initializeObstacleAndDirt();
+        return sensor;
+    }
+
+    private static List<int[]> corners(int size) {
+        List<int[]> stations = new ArrayList<>();
+        stations.add(new int[] { 0, 0 });
+        stations.add(new int[] { 0, size - 1 });
+        stations.add(new int[] { size - 1, 0 });
+        stations.add(new int[] { size - 1, size - 1 });
+        return stations;
+    }
+
+    /**
+     * The single-pair Dijkstra search that used to run once per cell and station.
+     */
+    private static double legacyLowestPower(FloorMap floorMap, SensorSimulatorService sensor,
+                                            int startX, int startY, int targetX, int targetY) {
+        Cell[][] cells = floorMap.getCells();
+        int rows = cells.length;
+        int cols = cells[0].length;
+        double[][] distances = new double[rows][cols];
+        boolean[][] visited = new boolean[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            Arrays.fill(distances[i], Integer.MAX_VALUE);
+        }
+
+        PriorityQueue<double[]> pq = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        distances[startX][startY] = 0;
+        pq.offer(new double[] { 0, startX, startY });
+        while (!pq.isEmpty()) {
+            double[] current = pq.poll();
+            int x = (int) current[1];
+            int y = (int) current[2];
+            if (visited[x][y]) {
+                continue;
+            }
+            visited[x][y] = true;
+            if (x == targetX && y == targetY) {
+                return current[0];
+            }
+            for (Direction direction : Direction.values()) {
+                int newX = x + direction.getXOffset();
+                int newY = y + direction.getYOffset();
+                if (newX >= 0 && newY >= 0 && newX < rows && newY < cols && !visited[newX][newY]
+                        && !sensor.isObstacle(newX, newY)) {
+                    double newDist = current[0] + sensor.getMovingPowerCost(cells[x][y], cells[newX][newY]);
+                    if (newDist < distances[newX][newY]) {
+                        distances[newX][newY] = newDist;
+                        pq.offer(new double[] { newDist, newX, newY });
+                    }
+                }
+            }
+        }
+        return Double.MAX_VALUE;
+    }
+}
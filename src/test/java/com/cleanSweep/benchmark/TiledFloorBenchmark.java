@@ -0,0 +1,86 @@
+package com.cleanSweep.benchmark;
+
+import com.cleanSweep.backend.application.SimulationWorld;
+import com.cleanSweep.backend.domain.FloorGrid;
+import com.cleanSweep.backend.domain.FloorMap;
+import com.cleanSweep.backend.domain.FloorStorage;
+import com.cleanSweep.backend.domain.TiledFloorGrid;
+
+import java.util.Random;
+
+/**
+ * Heap retained by a site that is bare floor except for the walls of a coarse room
+ * layout with doorways, some furniture and a few dirty patches, with the tiled grid,
+ * with flat arrays and off the heap, once built and again after navigation has started
+ * and planned its routes. The side length defaults to 20,000 and can be passed as the
+ * first argument. Run the main method directly; it is not part of the unit test suite.
+ * Route planning keeps about six bytes per reachable cell, in pages allocated as its
+ * searches reach them, on the heap for the first two storages and in direct memory for
+ * the last, so the default size needs about 4 GB of either; pass a smaller size on
+ * smaller machines.
+ */
+public class TiledFloorBenchmark {
+
+    private static final int ROOM = 1_000;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        FloorStorage[] storages = { FloorStorage.TILED, FloorStorage.ARRAYS, FloorStorage.OFF_HEAP };
+        for (FloorStorage storage : storages) {
+            long before = usedHeap();
+            long start = System.nanoTime();
+            FloorMap floorMap = new FloorMap();
+            floorMap.setStorage(storage);
+            floorMap.initializeGrid(size);
+            populate(floorMap.getGrid(), size);
+            long elapsed = System.nanoTime() - start;
+            print(storage + " built", floorMap.getGrid(), usedHeap() - before, elapsed);
+
+            start = System.nanoTime();
+            SimulationWorld world = SimulationWorld.create(floorMap, 75, 250, 50, 1);
+            world.getNavigationService().startNavigation(0, 0);
+            elapsed = System.nanoTime() - start;
+            print(storage + " started", floorMap.getGrid(), usedHeap() - before, elapsed);
+            world = null;
+            floorMap = null;
+        }
+    }
+
+    private static void populate(FloorGrid grid, int size) {
+        grid.setChargingStation(0, 0, true);
+        for (int line = ROOM; line < size; line += ROOM) {
+            for (int i = 0; i < size; i++) {
+                if (i % ROOM != ROOM / 2) {
+                    grid.setObstacle(line, i, true);
+                    grid.setObstacle(i, line, true);
+                }
+            }
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < 2_000; i++) {
+            grid.setObstacle(1 + random.nextInt(size - 1), 1 + random.nextInt(size - 1), true);
+        }
+        for (int patch = 0; patch < 50; patch++) {
+            int x = random.nextInt(size - 64);
+            int y = random.nextInt(size - 64);
+            for (int i = 0; i < 64; i++) {
+                grid.setDirtLevel(x + i, y + random.nextInt(64), 1);
+            }
+        }
+    }
+
+    private static void print(String label, FloorGrid grid, long heap, long nanos) {
+        System.out.printf("%14s: %8.1f MB, %6.0f ms", label, heap / 1e6, nanos / 1e6);
+        if (grid instanceof TiledFloorGrid tiledGrid) {
+            System.out.printf(", %d of %d tiles materialized", tiledGrid.getMaterializedTiles(),
+                    tiledGrid.getTileCount());
+        }
+        System.out.println();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}